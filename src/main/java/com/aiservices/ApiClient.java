@@ -1,215 +1,567 @@
 package com.aiservices;
+import kong.unirest.HttpRequest;
 import kong.unirest.HttpResponse;
-import kong.unirest.JsonNode;
-import kong.unirest.Unirest;
+import kong.unirest.UnirestInstance;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
 
-import com.utils.JsonFileReader;
+import com.aiservices.stub.StubServer;
+import com.utils.EnvironmentConfig;
 
+/**
+ * HTTP client for the AI platform services. Every endpoint has a blocking method and
+ * an {@code ...Async} twin; both go through the circuit breaker, rate limiter, retry
+ * policy, optional hedging, response cache and cassettes. A {@link #raw()} client
+ * skips all of these and makes exactly one exchange per call.
+ */
 public class ApiClient {
-    private static final String CONFIG_PATH = "/config/app_config.json";
     private final String baseUrl;
     private final String experienceServiceUrl;
     private final String aiServicesUrl;
+    private final String flightRecommendationUrl;
+    private final RetryPolicy retryPolicy;
+    private final ResponseCache responseCache;
+    private final CassetteStore cassettes;
+    private final boolean raw;
 
     public ApiClient() throws IOException {
-        this.baseUrl = JsonFileReader.getEnvBaseUrl(CONFIG_PATH);
-        this.experienceServiceUrl = JsonFileReader.getExperienceServiceURL(CONFIG_PATH);
-        this.aiServicesUrl = JsonFileReader.getAiServicesURL(CONFIG_PATH);
+        this(EnvironmentConfig.get());
     }
 
-    public JsonNode getApiData(String endpoint) {
+    public ApiClient(EnvironmentConfig config) {
+        this(config, RetryPolicy.fromConfig(config));
+    }
+
+    public ApiClient(EnvironmentConfig config, RetryPolicy retryPolicy) {
+        StubServer.startIfConfigured(config);
+        this.retryPolicy = retryPolicy;
+        this.baseUrl = config.getBaseUrl();
+        this.experienceServiceUrl = config.getExperienceServiceUrl();
+        this.aiServicesUrl = config.getAiServicesUrl();
+        this.flightRecommendationUrl = config.getFlightRecommendationUrl();
+        this.responseCache = config.getBoolean("response_cache.enabled", false) ? sharedResponseCache() : null;
+        this.cassettes = sharedCassettes();
+        this.raw = false;
+    }
+
+    private ApiClient(ApiClient source, RetryPolicy retryPolicy, ResponseCache responseCache, CassetteStore cassettes,
+                      boolean raw) {
+        this.retryPolicy = retryPolicy;
+        this.baseUrl = source.baseUrl;
+        this.experienceServiceUrl = source.experienceServiceUrl;
+        this.aiServicesUrl = source.aiServicesUrl;
+        this.flightRecommendationUrl = source.flightRecommendationUrl;
+        this.responseCache = responseCache;
+        this.cassettes = cassettes;
+        this.raw = raw;
+    }
+
+    /**
+     * A client that always calls the service, for tests that must not see a cached
+     * or shared response.
+     */
+    public ApiClient withoutResponseCache() {
+        return new ApiClient(this, retryPolicy, null, cassettes, raw);
+    }
+
+    /**
+     * A client that sends each call once, straight to the connection pool: no retries,
+     * rate limiter, circuit breaker, hedging, response cache or cassettes, and no
+     * per-call logging. Load engines use it so they measure the service, not this client.
+     */
+    public ApiClient raw() {
+        return new ApiClient(this, RetryPolicy.none(), null, null, true);
+    }
+
+    private static CassetteStore sharedCassettes() {
         try {
-            String fullUrl = baseUrl + endpoint;
-            HttpResponse<JsonNode> response = Unirest.get(fullUrl)
-                    .header("accept", "application/json")
-                    .asJson();
-            JsonNode body = response.getBody();
-            return body;
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to get API data: " + e.getMessage(), e);
+            CassetteStore store = CassetteStore.shared();
+            return store.getMode() == CassetteStore.Mode.OFF ? null : store;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load cassettes: " + e.getMessage(), e);
         }
     }
 
-    public JsonNode postApiData(String endpoint, String jsonBody) {
+    private static ResponseCache sharedResponseCache() {
         try {
-            String fullUrl = baseUrl + endpoint;
-            HttpResponse<JsonNode> response = Unirest.post(fullUrl)
-                    .header("Content-Type", "application/json")
-                    .body(jsonBody)
-                    .asJson();
-            JsonNode body = response.getBody();
-            System.out.println(body.getObject().toString());
-            return body;
+            return ResponseCache.shared();
+        } catch (IOException e) {
+            System.err.println("Response cache disabled, configuration could not be read: " + e.getMessage());
+            return null;
+        }
+    }
+
+    public ApiResponse getApiData(String endpoint) {
+        return await(send(getApiDataRequest(endpoint), true));
+    }
+
+    public CompletableFuture<ApiResponse> getApiDataAsync(String endpoint) {
+        return send(getApiDataRequest(endpoint), false);
+    }
+
+    private ApiRequest getApiDataRequest(String endpoint) {
+        return ApiRequest.get(baseUrl + endpoint)
+                .service(baseUrl, endpoint)
+                .header("accept", "application/json")
+                .failureMessage("Failed to get API data");
+    }
+
+    public ApiResponse postApiData(String endpoint, String jsonBody) {
+        return await(send(postApiDataRequest(endpoint, jsonBody), true));
+    }
+
+    public CompletableFuture<ApiResponse> postApiDataAsync(String endpoint, String jsonBody) {
+        return send(postApiDataRequest(endpoint, jsonBody), false);
+    }
+
+    private ApiRequest postApiDataRequest(String endpoint, String jsonBody) {
+        return ApiRequest.post(baseUrl + endpoint, jsonBody)
+                .service(baseUrl, endpoint)
+                .failureMessage("Failed to post API data")
+                .responseLabel("Response");
+    }
+
+    /**
+     * Generates a video synchronously and streams the MP4 to videos/{millis}.mp4.
+     * Goes through the same retry, circuit breaker and rate limit pipeline as the
+     * other calls; each attempt streams into a fresh file. Videos are neither cached
+     * nor recorded to cassettes.
+     */
+    public VideoDownload postApiDataForVideo(String endpoint, String jsonBody) {
+        System.out.println("Posting API data for video: " + jsonBody);
+        ApiRequest request = ApiRequest.post(baseUrl + endpoint, jsonBody)
+                .service(baseUrl, endpoint)
+                .header("Content-Type", "application/json")
+                .failureMessage("Failed to post API data");
+        AtomicReference<VideoDownload> download = new AtomicReference<>();
+        ApiResponse response = await(attempt(request, 1, true, video -> videoExchange(video, download)));
+        if (response.getStatus() < 200 || response.getStatus() >= 300) {
+            throw new RuntimeException("Failed to post API data: Video generation returned status "
+                    + response.getStatus() + ": " + response.getBody());
+        }
+        System.out.println("Saved video to: " + download.get());
+        return download.get();
+    }
+
+    /**
+     * Sends the video request on the calling thread. A 2xx body is streamed to disk and
+     * the response returned without it; any other status is returned with its body for
+     * the retry policy to judge.
+     */
+    private static CompletableFuture<ApiResponse> videoExchange(ApiRequest request,
+                                                                AtomicReference<VideoDownload> download) {
+        Path videoPath = Paths.get("videos", System.currentTimeMillis() + ".mp4");
+        long start = System.nanoTime();
+        try (HttpClientPool.Timing timing = HttpClientPool.timing()) {
+            HttpResponse<ApiResponse> response = HttpClientPool.forUrl(request.getUrl()).post(request.getUrl())
+                    .headers(request.getHeaders())
+                    .header(HttpClientPool.TIMING_TAG_HEADER, timing.getTag())
+                    .body(request.getBody())
+                    .asObject(raw -> {
+                        if (raw.getStatus() < 200 || raw.getStatus() >= 300) {
+                            return new ApiResponse(raw.getStatus(), raw.getStatusText(), raw.getHeaders(),
+                                    raw.getContentAsBytes());
+                        }
+                        try {
+                            download.set(VideoDownload.stream(raw.getContent(), videoPath, start));
+                        } catch (IOException e) {
+                            try {
+                                Files.deleteIfExists(videoPath);
+                            } catch (IOException ignored) {
+                                // The next attempt writes a new file
+                            }
+                            throw new UncheckedIOException(e);
+                        }
+                        return new ApiResponse(raw.getStatus(), raw.getStatusText(), raw.getHeaders(), (byte[]) null);
+                    });
+            HttpTimings.record(request.getEndpoint(), timing.finish());
+            if (response.getParsingError().isPresent()) {
+                return CompletableFuture.failedFuture(response.getParsingError().get());
+            }
+            return CompletableFuture.completedFuture(response.getBody());
         } catch (Exception e) {
-            throw new RuntimeException("Failed to post API data: " + e.getMessage(), e);
+            return CompletableFuture.failedFuture(e);
         }
     }
 
+    public ApiResponse postApiDataForVideoAsync(String endpoint, String jsonBody) {
+        System.out.println("Posting API data for video: " + jsonBody);
+        return await(send(videoJobRequest(endpoint, jsonBody), true));
+    }
+
+    /**
+     * Non-blocking twin of {@link #postApiDataForVideoAsync(String, String)}: submits an
+     * {@code async=true} video job and completes with the job descriptor.
+     */
+    public CompletableFuture<ApiResponse> submitVideoGenerationAsync(String endpoint, String jsonBody) {
+        return send(videoJobRequest(endpoint, jsonBody), false);
+    }
+
+    private ApiRequest videoJobRequest(String endpoint, String jsonBody) {
+        return ApiRequest.post(baseUrl + endpoint, jsonBody)
+                .service(baseUrl, endpoint)
+                .failureMessage("Failed to post API data")
+                .responseLabel("Video job response");
+    }
+
+    public ApiResponse generateImageDescription(String endpoint, String jsonBody) {
+        System.out.println("Posting API data for image description: " + jsonBody);
+        return await(send(imageDescriptionRequest(endpoint, jsonBody), true));
+    }
+
+    public CompletableFuture<ApiResponse> generateImageDescriptionAsync(String endpoint, String jsonBody) {
+        return send(imageDescriptionRequest(endpoint, jsonBody), false);
+    }
+
+    private ApiRequest imageDescriptionRequest(String endpoint, String jsonBody) {
+        return ApiRequest.post(experienceServiceUrl + endpoint, jsonBody)
+                .service(experienceServiceUrl, endpoint)
+                .failureMessage("Failed to post API data")
+                .responseLabel("Image description response");
+    }
 
-    public String postApiDataForVideo(String endpoint, String jsonBody) {
+    public ApiResponse executeAIPrompt(String endpoint, String jsonBody) {
+        return await(send(aiPromptRequest(endpoint, jsonBody), true));
+    }
+
+    public CompletableFuture<ApiResponse> executeAIPromptAsync(String endpoint, String jsonBody) {
+        return send(aiPromptRequest(endpoint, jsonBody), false);
+    }
+
+    private ApiRequest aiPromptRequest(String endpoint, String jsonBody) {
+        return ApiRequest.post(aiServicesUrl + endpoint, jsonBody)
+                .service(aiServicesUrl, endpoint)
+                .timeouts(120000, 30000) // 2 minutes socket timeout, 30 seconds connection timeout
+                .hedged()
+                .cacheable()
+                .failureMessage("Failed to execute AI prompt")
+                .responseLabel("AI Prompt Response");
+    }
+
+    public ApiResponse generateFlightRecommendation(String endpoint, String jsonBody) {
+        System.out.println("Posting API data for flight recommendation: " + jsonBody);
+        return await(send(flightRecommendationRequest(endpoint, jsonBody), true));
+    }
+
+    public CompletableFuture<ApiResponse> generateFlightRecommendationAsync(String endpoint, String jsonBody) {
+        return send(flightRecommendationRequest(endpoint, jsonBody), false);
+    }
+
+    private ApiRequest flightRecommendationRequest(String endpoint, String jsonBody) {
+        return ApiRequest.post(flightRecommendationUrl + endpoint, jsonBody)
+                .service(flightRecommendationUrl, endpoint)
+                .failureMessage("Failed to post API data")
+                .responseLabel("Flight recommendation response");
+    }
+
+    public ApiResponse createExperienceWithPackage(String endpoint, String jsonBody) {
+        System.out.println("Creating experience with package: " + jsonBody);
+        return await(send(createExperienceRequest(endpoint, jsonBody), true));
+    }
+
+    public CompletableFuture<ApiResponse> createExperienceWithPackageAsync(String endpoint, String jsonBody) {
+        return send(createExperienceRequest(endpoint, jsonBody), false);
+    }
+
+    private ApiRequest createExperienceRequest(String endpoint, String jsonBody) {
+        // Remove leading slash from endpoint if experienceServiceUrl already has trailing slash
+        String cleanEndpoint = endpoint.startsWith("/") ? endpoint.substring(1) : endpoint;
+        return ApiRequest.post(experienceServiceUrl + cleanEndpoint, jsonBody)
+                .service(experienceServiceUrl, endpoint)
+                .header("x-api-key", "default-auth-key")
+                .cacheable()
+                .failureMessage("Failed to create experience")
+                .responseLabel("Experience Builder Response");
+    }
+
+    /**
+     * Runs a request through the retry pipeline. With {@code blocking} set, every
+     * attempt and retry wait happens on the calling thread and the returned future is
+     * already complete; otherwise the exchange uses Unirest's async client and retries
+     * are scheduled on a delayed executor.
+     */
+    private CompletableFuture<ApiResponse> send(ApiRequest request, boolean blocking) {
+        if (raw) {
+            return directExchange(request, blocking);
+        }
+        if (request.isCacheable() && responseCache != null) {
+            return responseCache.get(request, () -> dispatch(request, blocking));
+        }
+        return dispatch(request, blocking);
+    }
+
+    /**
+     * Replays the call from the {@link CassetteStore}, or makes it (recording the
+     * outcome in record mode).
+     */
+    private CompletableFuture<ApiResponse> dispatch(ApiRequest request, boolean blocking) {
+        if (cassettes == null) {
+            return attempt(request, 1, blocking, http -> exchange(http, blocking));
+        }
+        if (cassettes.getMode() == CassetteStore.Mode.REPLAY) {
+            return cassettes.replay(request, blocking);
+        }
+        long start = System.nanoTime();
+        return attempt(request, 1, blocking, http -> exchange(http, blocking)).whenComplete((response, error) -> {
+            if (error == null) {
+                cassettes.record(request, response, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            }
+        });
+    }
+
+    private CompletableFuture<ApiResponse> attempt(ApiRequest request, int attempt, boolean blocking,
+                                                   Function<ApiRequest, CompletableFuture<ApiResponse>> exchange) {
+        CircuitBreaker breaker = CircuitBreaker.forService(request.getService());
         try {
-            System.out.println("Posting API data for video: " + jsonBody);
-            String fullUrl = baseUrl + endpoint;
-            HttpResponse<byte[]> response = Unirest.post(fullUrl)
-                    .header("Content-Type", "application/json")
-                    .body(jsonBody).asBytes();
-                
-            byte[] body = response.getBody();
-            String videoPath = "videos/" + System.currentTimeMillis() + ".mp4";
-            System.out.println("Video path: " + Paths.get(videoPath).toAbsolutePath().toString());
-            Files.write(Paths.get(videoPath), body);
-            System.out.println("Saved video to: " + videoPath);
-            System.out.println(body);
-            return body.toString();
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to post API data: " + e.getMessage(), e);
+            breaker.acquirePermission();
+        } catch (CircuitOpenException e) {
+            System.out.println(e.getMessage());
+            return CompletableFuture.failedFuture(e);
         }
+        CompletableFuture<RateLimiter.Permit> permit = settle(RateLimiter.acquire(request), blocking);
+        System.out.println("Full URL: " + request.getUrl() + " (Attempt " + attempt + "/" + retryPolicy.getMaxAttempts() + ")");
+        return permit
+                .thenCompose(granted -> exchange.apply(request).whenComplete((response, error) -> granted.release()))
+                .handle((response, error) -> {
+                    Throwable cause = error == null ? null : unwrap(error);
+                    if (cause == null) {
+                        System.out.println("Response code: " + response.getStatus());
+                        breaker.onResponse(response.getStatus());
+                    } else {
+                        System.out.println("Attempt " + attempt + " failed: " + cause.getMessage());
+                        breaker.onFailure(cause.getMessage());
+                    }
+                    long delayMs = retryPolicy.retryDelayMs(attempt, response, cause);
+                    if (delayMs < 0) {
+                        if (cause != null) {
+                            return CompletableFuture.<ApiResponse>failedFuture(
+                                    new RuntimeException(failureMessage(request, attempt, cause), cause));
+                        }
+                        if (request.getResponseLabel() != null) {
+                            System.out.println(request.getResponseLabel() + ": " + response.getBody());
+                        }
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    System.out.println("Waiting " + delayMs + "ms before retry...");
+                    return CompletableFuture.supplyAsync(() -> attempt(request, attempt + 1, blocking, exchange),
+                            retryExecutor(delayMs, blocking))
+                            .thenCompose(Function.identity());
+                })
+                .thenCompose(Function.identity());
     }
 
-    public Object postApiDataForVideoAsync(String string, String jsonBody) {
+    private CompletableFuture<ApiResponse> exchange(ApiRequest request, boolean blocking) {
+        if (request.isHedged() && request.getEndpoint() != null) {
+            HedgingPolicy hedging = HedgingPolicy.forEndpoint(request.getEndpoint());
+            if (hedging.isEnabled()) {
+                return settle(hedgedExchange(request, hedging), blocking);
+            }
+        }
+        return directExchange(request, blocking);
+    }
+
+    private static CompletableFuture<ApiResponse> directExchange(ApiRequest request, boolean blocking) {
+        HttpClientPool.Timing timing = HttpClientPool.timing();
         try {
-            System.out.println("Posting API data for video: " + jsonBody);
-            String fullUrl = baseUrl + string;
-            HttpResponse<JsonNode> response = Unirest.post(fullUrl)
-                    .header("Content-Type", "application/json")
-                    .body(jsonBody).asJson();
-                
-            JsonNode body = response.getBody();
-            System.out.println(body.getObject().toString());
-            return body.toString();
+            HttpRequest<?> http = prepare(request, timing);
+            if (!blocking) {
+                return timed(request, timing, http.asBytesAsync().thenApply(ApiResponse::new));
+            }
+            return timed(request, timing, CompletableFuture.completedFuture(new ApiResponse(http.asBytes())));
         } catch (Exception e) {
-            throw new RuntimeException("Failed to post API data: " + e.getMessage(), e);
+            timing.close();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Records the phases of the exchange once it has completed successfully.
+     */
+    private static CompletableFuture<ApiResponse> timed(ApiRequest request, HttpClientPool.Timing timing,
+                                                        CompletableFuture<ApiResponse> exchange) {
+        return exchange.whenComplete((response, error) -> {
+            timing.finish().close();
+            if (error == null) {
+                response.setSentNanos(timing.sentAtNanos());
+                HttpTimings.record(request.getEndpoint() != null ? request.getEndpoint() : request.getUrl(), timing);
+            }
+        });
+    }
+
+    /**
+     * Sends the request and, if no response has arrived after the policy's hedge
+     * delay, an identical second one. The first response wins and the other exchange
+     * is aborted; the call fails only if every exchange that was sent failed.
+     */
+    static CompletableFuture<ApiResponse> hedgedExchange(ApiRequest request, HedgingPolicy hedging) {
+        hedging.recordRequest();
+        CompletableFuture<ApiResponse> result = new CompletableFuture<>();
+        HttpClientPool.Abortable primary = HttpClientPool.abortable();
+        HttpClientPool.Abortable hedge = HttpClientPool.abortable();
+        // Exchanges not yet finished; the hedge may only join while the primary is running (1 -> 2)
+        AtomicInteger outstanding = new AtomicInteger(1);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        long delayMs = hedging.hedgeDelayMs();
+
+        abortableExchange(request, primary, hedging).whenComplete((response, error) -> {
+            if (error == null && result.complete(response)) {
+                hedge.abort();
+            }
+            finishHedged(result, outstanding, failure, error);
+        });
+        CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS).execute(() -> {
+            if (!outstanding.compareAndSet(1, 2)) {
+                hedge.close();
+                return;
+            }
+            if (result.isDone() || !hedging.tryHedge()) {
+                hedge.close();
+                finishHedged(result, outstanding, failure, null);
+                return;
+            }
+            System.out.println("No response from " + request.getUrl() + " after " + delayMs + "ms, sending hedged request");
+            RateLimiter.acquire(request)
+                    .thenCompose(granted -> {
+                        if (result.isDone()) {
+                            granted.release();
+                            return CompletableFuture.<ApiResponse>failedFuture(
+                                    new IOException("Hedged request no longer needed"));
+                        }
+                        return abortableExchange(request, hedge, hedging).whenComplete((response, error) -> granted.release());
+                    })
+                    .whenComplete((response, error) -> {
+                        hedge.close();
+                        if (error == null && result.complete(response)) {
+                            hedging.recordHedgeWin();
+                            primary.abort();
+                            System.out.println("Hedged request to " + request.getUrl() + " won");
+                        }
+                        finishHedged(result, outstanding, failure, error);
+                    });
+        });
+        return result;
+    }
+
+    private static void finishHedged(CompletableFuture<ApiResponse> result, AtomicInteger outstanding,
+                                     AtomicReference<Throwable> failure, Throwable error) {
+        if (error != null) {
+            failure.compareAndSet(null, error);
+        }
+        if (outstanding.decrementAndGet() == 0 && failure.get() != null) {
+            result.completeExceptionally(failure.get());
         }
     }
 
-    public Object generateImageDescription(String string, String jsonBody) {
+    /**
+     * Sends one copy of a hedged request. Its latency goes to the policy; an exchange
+     * that was aborted is recorded as censored at the time it had been running.
+     */
+    private static CompletableFuture<ApiResponse> abortableExchange(ApiRequest request, HttpClientPool.Abortable abortable,
+                                                                    HedgingPolicy hedging) {
+        long start = System.nanoTime();
+        HttpClientPool.Timing timing = HttpClientPool.timing();
         try {
-            System.out.println("Posting API data for video: " + jsonBody);
-            String fullUrl = experienceServiceUrl + string;
-            HttpResponse<JsonNode> response = Unirest.post(fullUrl)
-                    .header("Content-Type", "application/json")
-                    .body(jsonBody).asJson();
-                
-            JsonNode body = response.getBody();
-            System.out.println(body.getObject().toString());
-            return body.toString();
+            HttpRequest<?> http = prepare(request, timing);
+            http.header(HttpClientPool.ABORT_TAG_HEADER, abortable.getTag());
+            return timed(request, timing, http.asBytesAsync().thenApply(ApiResponse::new))
+                    .whenComplete((response, error) -> {
+                        abortable.close();
+                        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                        if (error == null) {
+                            hedging.recordLatency(elapsedMs);
+                        } else if (abortable.isAborted()) {
+                            hedging.recordCensored(elapsedMs);
+                        }
+                    });
         } catch (Exception e) {
-            throw new RuntimeException("Failed to post API data: " + e.getMessage(), e);
+            abortable.close();
+            timing.close();
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static HttpRequest<?> prepare(ApiRequest request, HttpClientPool.Timing timing) {
+        UnirestInstance unirest = HttpClientPool.forUrl(request.getUrl());
+        HttpRequest<?> http = request.getBody() == null
+                ? unirest.request(request.getMethod(), request.getUrl())
+                : unirest.request(request.getMethod(), request.getUrl()).body(request.getBody());
+        http = http.headers(request.getHeaders()).header(HttpClientPool.TIMING_TAG_HEADER, timing.getTag());
+        if (request.getSocketTimeout() > 0) {
+            http = http.socketTimeout(request.getSocketTimeout());
+        }
+        if (request.getConnectTimeout() > 0) {
+            http = http.connectTimeout(request.getConnectTimeout());
         }
+        return http;
     }
 
-    public Object executeAIPrompt(String endpoint, String jsonBody) {
-        int maxRetries = 2;
-        int retryCount = 0;
-        // System.out.println("Executing AI prompt: " + endpoint + " with body: " + jsonBody);
-        while (retryCount <= maxRetries) {
+    private static Executor retryExecutor(long delayMs, boolean blocking) {
+        if (!blocking) {
+            return CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS);
+        }
+        return command -> {
             try {
-                String fullUrl = aiServicesUrl + endpoint;
-                System.out.println("Full URL: " + fullUrl + " (Attempt " + (retryCount + 1) + "/" + (maxRetries + 1) + ")");
-                // System.out.println("Request body: " + jsonBody);
-                HttpResponse<JsonNode> response = Unirest.post(fullUrl)
-                    .header("Content-Type", "application/json")
-                    .body(jsonBody)
-                    .socketTimeout(120000) // 2 minutes socket timeout
-                    .connectTimeout(30000) // 30 seconds connection timeout
-                    .asJson();
-
-                System.out.println("Response code: " + response.getStatus());
-                
-                JsonNode body = response.getBody();
-
-                if (body != null) {
-                    String responseStr;
-                    if (body.getObject() != null) {
-                        responseStr = body.getObject().toString();
-                    } else if (body.getArray() != null) {
-                        responseStr = body.getArray().toString();
-                    } else {
-                        responseStr = body.toString();
-                    }
-                    System.out.println("AI Prompt Response: " + responseStr);
-                    return responseStr;
-                } else {
-                    System.out.println("Response body is null");
-                    return "Response body is null - Status: " + response.getStatus();
-                }
-            } catch (Exception e) {
-                retryCount++;
-                System.out.println("Attempt " + retryCount + " failed: " + e.getMessage());
-                
-                if (retryCount > maxRetries) {
-                    System.out.println("Max retries exceeded. Failing test.");
-                    throw new RuntimeException("Failed to execute AI prompt after " + (maxRetries + 1) + " attempts: " + e.getMessage(), e);
-                }
-                
-                try {
-                    System.out.println("Waiting 5 seconds before retry...");
-                    Thread.sleep(5000); // Wait 5 seconds before retry
-                } catch (InterruptedException ie) {
-                    Thread.currentThread().interrupt();
-                    throw new RuntimeException("Interrupted during retry wait", ie);
-                }
+                Thread.sleep(delayMs);
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted during retry wait", ie);
             }
+            command.run();
+        };
+    }
+
+    private static String failureMessage(ApiRequest request, int attempts, Throwable cause) {
+        if (attempts == 1) {
+            return request.getFailureMessage() + ": " + cause.getMessage();
         }
-        
-        throw new RuntimeException("Unexpected error in executeAIPrompt");
+        return request.getFailureMessage() + " after " + attempts + " attempts: " + cause.getMessage();
     }
 
-    public Object generateFlightRecommendation(String string, String jsonBody) {
+    /**
+     * In blocking mode, waits for the future on the calling thread so that the rest of
+     * the pipeline (including retry waits) keeps running there.
+     */
+    private static <T> CompletableFuture<T> settle(CompletableFuture<T> future, boolean blocking) {
+        if (!blocking) {
+            return future;
+        }
         try {
-            System.out.println("Posting API data for flight recommendation: " + jsonBody);
-            String fullUrl = "http://34.75.166.221" + string;
-            HttpResponse<JsonNode> response = Unirest.post(fullUrl)
-                .header("Content-Type", "application/json")
-                .body(jsonBody)
-                .asJson();
+            return CompletableFuture.completedFuture(future.join());
+        } catch (CompletionException e) {
+            return CompletableFuture.failedFuture(unwrap(e));
+        }
+    }
 
-            JsonNode body = response.getBody();
-            System.out.println("Response code: " + response.getStatus());
-            System.out.println(body.getObject().toString());
-            return body.toString();
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to post API data: " + e.getMessage(), e);
+    private static Throwable unwrap(Throwable error) {
+        while (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
         }
+        return error;
     }
 
-    public Object createExperienceWithPackage(String endpoint, String jsonBody) {
+    /**
+     * Waits for a pipeline result, rethrowing failures as the original runtime exception.
+     */
+    private static <T> T await(CompletableFuture<T> future) {
         try {
-            System.out.println("Creating experience with package: " + jsonBody);
-            // Remove leading slash from endpoint if experienceServiceUrl already has trailing slash
-            String cleanEndpoint = endpoint.startsWith("/") ? endpoint.substring(1) : endpoint;
-            String fullUrl = experienceServiceUrl + cleanEndpoint;
-            System.out.println("Full URL: " + fullUrl);
-            HttpResponse<JsonNode> response = Unirest.post(fullUrl)
-                .header("Content-Type", "application/json")
-                .header("x-api-key", "default-auth-key")
-                .body(jsonBody)
-                .asJson();
-
-            System.out.println("Response code: " + response.getStatus());
-            
-            JsonNode body = response.getBody();
-            if (body != null) {
-                String responseStr;
-                if (body.getObject() != null) {
-                    responseStr = body.getObject().toString();
-                } else if (body.getArray() != null) {
-                    responseStr = body.getArray().toString();
-                } else {
-                    responseStr = body.toString();
-                }
-                System.out.println("Experience Builder Response: " + responseStr);
-                return responseStr;
-            } else {
-                System.out.println("Response body is null");
-                return "Response body is null - Status: " + response.getStatus();
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = unwrap(e);
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
             }
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to create experience: " + e.getMessage(), e);
+            throw e;
         }
     }
 }
@@ -0,0 +1,144 @@
+package com.aiservices;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Description of a single call made by {@link ApiClient}.
+ * Holds everything needed to (re)issue the request so that the blocking and
+ * asynchronous code paths share the same {@link RetryPolicy}.
+ */
+public class ApiRequest {
+    private final String method;
+    private final String url;
+    private final String body;
+    private final Map<String, String> headers = new LinkedHashMap<>();
+    private int socketTimeout;
+    private int connectTimeout;
+    private String failureMessage = "Request failed";
+    private String responseLabel;
+    private String service;
+    private String endpoint;
+    private boolean hedged;
+    private boolean cacheable;
+
+    private ApiRequest(String method, String url, String body) {
+        this.method = method;
+        this.url = url;
+        this.body = body;
+    }
+
+    public static ApiRequest get(String url) {
+        return new ApiRequest("GET", url, null);
+    }
+
+    public static ApiRequest post(String url, String jsonBody) {
+        return new ApiRequest("POST", url, jsonBody).header("Content-Type", "application/json");
+    }
+
+    public ApiRequest header(String name, String value) {
+        headers.put(name, value);
+        return this;
+    }
+
+    /**
+     * Socket and connect timeouts in milliseconds; zero keeps the Unirest defaults.
+     */
+    public ApiRequest timeouts(int socketTimeout, int connectTimeout) {
+        this.socketTimeout = socketTimeout;
+        this.connectTimeout = connectTimeout;
+        return this;
+    }
+
+    /**
+     * Prefix of the exception message thrown once all attempts have failed.
+     */
+    public ApiRequest failureMessage(String failureMessage) {
+        this.failureMessage = failureMessage;
+        return this;
+    }
+
+    /**
+     * Label used when echoing the response body to the console; null disables the echo.
+     */
+    public ApiRequest responseLabel(String responseLabel) {
+        this.responseLabel = responseLabel;
+        return this;
+    }
+
+    /**
+     * Base URL of the service and the endpoint path appended to it, used to pick the
+     * {@link CircuitBreaker} and {@link RateLimiter}s. The service defaults to the
+     * scheme, host and port of the request URL.
+     */
+    public ApiRequest service(String service, String endpoint) {
+        this.service = service;
+        this.endpoint = endpoint;
+        return this;
+    }
+
+    /**
+     * Allows the request to be hedged when {@link HedgingPolicy} is enabled for its endpoint.
+     */
+    public ApiRequest hedged() {
+        this.hedged = true;
+        return this;
+    }
+
+    /**
+     * Lets identical calls share a response through the {@link ResponseCache}.
+     */
+    public ApiRequest cacheable() {
+        this.cacheable = true;
+        return this;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public Map<String, String> getHeaders() {
+        return Collections.unmodifiableMap(headers);
+    }
+
+    public int getSocketTimeout() {
+        return socketTimeout;
+    }
+
+    public int getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public String getFailureMessage() {
+        return failureMessage;
+    }
+
+    public String getResponseLabel() {
+        return responseLabel;
+    }
+
+    public String getService() {
+        return service != null ? service : HttpClientPool.hostKey(url);
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    public boolean isHedged() {
+        return hedged;
+    }
+
+    public boolean isCacheable() {
+        return cacheable;
+    }
+}
@@ -0,0 +1,199 @@
+package com.aiservices;
+
+import kong.unirest.Headers;
+import kong.unirest.HttpResponse;
+import kong.unirest.JsonNode;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import com.aiservices.model.ModelReader;
+import com.aiservices.model.ResponseSchemaException;
+import com.aiservices.model.StreamingJson;
+import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Result of a call made by {@link ApiClient}. The body is kept as raw bytes and parsed
+ * at most once, on first use; {@link #toString()} returns the body text.
+ */
+public class ApiResponse {
+    private static final byte[] NO_BODY = new byte[0];
+    private static final TypeAdapter<JsonElement> TREE = new Gson().getAdapter(JsonElement.class);
+
+    private final int status;
+    private final String statusText;
+    private final Headers headers;
+    private final byte[] raw;
+
+    private volatile boolean parsed;
+    private volatile JsonElement tree;
+    private volatile String body;
+    private volatile JsonNode json;
+    private volatile long sentNanos;
+
+    ApiResponse(HttpResponse<byte[]> response) {
+        this(response.getStatus(), response.getStatusText(), response.getHeaders(), response.getBody());
+    }
+
+    ApiResponse(int status, String statusText, Headers headers, byte[] raw) {
+        this.status = status;
+        this.statusText = statusText;
+        this.headers = headers;
+        this.raw = raw != null ? raw : NO_BODY;
+    }
+
+    ApiResponse(int status, String statusText, Headers headers, String body) {
+        this(status, statusText, headers, body != null ? body.getBytes(StandardCharsets.UTF_8) : null);
+    }
+
+    /**
+     * {@link System#nanoTime()} when the request that got this response was written to
+     * its connection (after any wait for a pooled connection), or 0 if not known.
+     */
+    public long getSentNanos() {
+        return sentNanos;
+    }
+
+    void setSentNanos(long sentNanos) {
+        this.sentNanos = sentNanos;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getStatusText() {
+        return statusText;
+    }
+
+    public Headers getHeaders() {
+        return headers;
+    }
+
+    public boolean hasBody() {
+        return raw.length > 0;
+    }
+
+    /**
+     * The body as received. The array is not copied; do not modify it.
+     */
+    public byte[] getRawBytes() {
+        return raw;
+    }
+
+    public InputStream getRawStream() {
+        return new ByteArrayInputStream(raw);
+    }
+
+    /**
+     * The body parsed into a Gson tree, or null when there is no body or it is not JSON.
+     */
+    public JsonElement getTree() {
+        if (!parsed) {
+            synchronized (this) {
+                if (!parsed) {
+                    tree = parse(raw);
+                    parsed = true;
+                }
+            }
+        }
+        return tree;
+    }
+
+    /**
+     * The body as a JSON object; fails with the status and body when it is anything else.
+     */
+    public JsonObject getObject() {
+        JsonElement element = getTree();
+        if (element == null || !element.isJsonObject()) {
+            throw new IllegalStateException("Expected a JSON object in response with status " + status + ": " + getBody());
+        }
+        return element.getAsJsonObject();
+    }
+
+    /**
+     * The body as a JSON array; fails with the status and body when it is anything else.
+     */
+    public JsonArray getArray() {
+        JsonElement element = getTree();
+        if (element == null || !element.isJsonArray()) {
+            throw new IllegalStateException("Expected a JSON array in response with status " + status + ": " + getBody());
+        }
+        return element.getAsJsonArray();
+    }
+
+    /**
+     * Streams the body into a model, e.g. {@code response.read(ExperienceCategories::read)}.
+     * A body that does not match fails with a {@link ResponseSchemaException} carrying
+     * the path of the offending value.
+     */
+    public <T> T read(ModelReader<T> model) {
+        if (!hasBody()) {
+            throw new ResponseSchemaException("$", "response with status " + status + " has no body");
+        }
+        return StreamingJson.read(getRawStream(), model);
+    }
+
+    /**
+     * Streams a JSON array body into a list, e.g. {@code response.readList(PricePlan::read)}.
+     */
+    public <T> List<T> readList(ModelReader<T> element) {
+        List<T> list = read(reader -> StreamingJson.list(reader, element));
+        if (list == null) {
+            throw new ResponseSchemaException("$", "expected BEGIN_ARRAY but was NULL");
+        }
+        return list;
+    }
+
+    /**
+     * Unirest view of the JSON body, or null when the body was missing or not JSON.
+     * Built on first use from the body text; prefer {@link #getTree()}.
+     */
+    public JsonNode getJson() {
+        JsonElement element = getTree();
+        if (json == null && element != null && (element.isJsonObject() || element.isJsonArray())) {
+            json = new JsonNode(getBody());
+        }
+        return json;
+    }
+
+    public String getBody() {
+        if (body == null) {
+            body = raw.length == 0 ? "Response body is null - Status: " + status : new String(raw, StandardCharsets.UTF_8);
+        }
+        return body;
+    }
+
+    public boolean isSuccess() {
+        return status >= 200 && status < 300;
+    }
+
+    private static JsonElement parse(byte[] raw) {
+        if (raw.length == 0) {
+            return null;
+        }
+        // Strict, and the whole body must be one value: error pages are text, not JSON.
+        try (JsonReader reader = new JsonReader(new InputStreamReader(new ByteArrayInputStream(raw), StandardCharsets.UTF_8))) {
+            JsonElement element = TREE.read(reader);
+            return reader.peek() == JsonToken.END_DOCUMENT && !element.isJsonNull() ? element : null;
+        } catch (JsonParseException | IOException | IllegalStateException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getBody();
+    }
+}
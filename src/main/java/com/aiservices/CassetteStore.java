@@ -0,0 +1,288 @@
+package com.aiservices;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.utils.EnvironmentConfig;
+import com.utils.HtmlReportGenerator;
+
+/**
+ * Record/replay store for {@link ApiClient} calls: RECORD writes one JSON file per
+ * distinct request under {@code dir}, REPLAY answers calls from them without the
+ * network. Paths are relative to the base URL, so cassettes replay in any environment.
+ */
+public class CassetteStore {
+
+    public enum Mode { OFF, RECORD, REPLAY }
+
+    private static final Set<String> REDACTED_HEADERS = Set.of("x-api-key", "authorization");
+    // Cassette file names are the SHA-256 key of their request
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{64}");
+    private static volatile CassetteStore shared;
+
+    private final Mode mode;
+    private final Path dir;
+    private final boolean replayLatency;
+    private final double latencyScale;
+    private final Gson gson = new GsonBuilder().setPrettyPrinting().disableHtmlEscaping().create();
+
+    private final Map<String, Cassette> cassettes = new ConcurrentHashMap<>();
+    private final Set<String> rerecorded = ConcurrentHashMap.newKeySet();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong missing = new AtomicLong();
+    private final AtomicLong recorded = new AtomicLong();
+
+    public CassetteStore(Mode mode, Path dir, boolean replayLatency, double latencyScale) throws IOException {
+        this.mode = mode;
+        this.dir = dir;
+        this.replayLatency = replayLatency;
+        this.latencyScale = latencyScale;
+        if (mode != Mode.OFF) {
+            load();
+        }
+    }
+
+    /**
+     * The store configured from the "cassette" block of app_config.json.
+     */
+    public static CassetteStore shared() throws IOException {
+        if (shared == null) {
+            synchronized (CassetteStore.class) {
+                if (shared == null) {
+                    EnvironmentConfig config = EnvironmentConfig.get();
+                    CassetteStore store = new CassetteStore(
+                            Mode.valueOf(config.getString("cassette.mode", "off").toUpperCase(Locale.ROOT)),
+                            Paths.get(config.getString("cassette.dir", "cassettes")),
+                            config.getBoolean("cassette.replay_latency", false),
+                            config.getDouble("cassette.latency_scale", 1.0));
+                    if (store.mode != Mode.OFF) {
+                        HtmlReportGenerator.registerTable("cassettes", store::reportTable);
+                    }
+                    shared = store;
+                }
+            }
+        }
+        return shared;
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Answers the request from the recordings; responses recorded for the same request
+     * are returned in turn.
+     */
+    CompletableFuture<ApiResponse> replay(ApiRequest request, boolean blocking) {
+        String key = key(request);
+        Cassette cassette = cassettes.get(key);
+        if (cassette == null || cassette.responses.isEmpty()) {
+            missing.incrementAndGet();
+            return CompletableFuture.failedFuture(new IllegalStateException("No recorded response for "
+                    + request.getMethod() + " " + relativePath(request) + " (cassette " + key + ") in " + dir
+                    + "; record it with -Dcassette.mode=record"));
+        }
+        replayed.incrementAndGet();
+        RecordedResponse recording = cassette.next();
+        System.out.println("Replaying " + request.getMethod() + " " + relativePath(request) + " from cassette " + key.substring(0, 12));
+        long delayMs = replayLatency ? Math.round(recording.durationMs * latencyScale) : 0;
+        if (delayMs <= 0) {
+            return CompletableFuture.completedFuture(recording.toResponse());
+        }
+        if (blocking) {
+            try {
+                Thread.sleep(delayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return CompletableFuture.failedFuture(new RuntimeException("Interrupted while replaying latency", e));
+            }
+            return CompletableFuture.completedFuture(recording.toResponse());
+        }
+        return CompletableFuture.supplyAsync(recording::toResponse,
+                CompletableFuture.delayedExecutor(delayMs, TimeUnit.MILLISECONDS));
+    }
+
+    /**
+     * Adds a response to the request's cassette. The first recording of a request in a
+     * run replaces what was stored before; later ones are appended.
+     */
+    void record(ApiRequest request, ApiResponse response, long durationMs) {
+        String key = key(request);
+        Cassette cassette = cassettes.computeIfAbsent(key, k -> Cassette.of(request, relativePath(request)));
+        synchronized (cassette) {
+            if (rerecorded.add(key)) {
+                cassette.responses.clear();
+            }
+            cassette.responses.add(RecordedResponse.of(response, durationMs));
+            recorded.incrementAndGet();
+            try {
+                write(dir.resolve(key + ".json"), cassette.toJson());
+            } catch (IOException e) {
+                System.err.println("Could not write cassette " + key + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Reads every cassette file in {@code dir}. There is no index to go stale: each file
+     * is written atomically as soon as it is recorded and named by its key, so a killed
+     * run or several forks recording at once leave nothing that replay would miss.
+     */
+    private void load() throws IOException {
+        if (!Files.isDirectory(dir)) {
+            if (mode == Mode.REPLAY) {
+                System.err.println("No cassette directory " + dir + ", every replayed call will fail");
+            }
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*.json")) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                String key = name.substring(0, name.length() - ".json".length());
+                if (!KEY.matcher(key).matches()) {
+                    continue;
+                }
+                try {
+                    cassettes.put(key, Cassette.fromJson(read(file)));
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("Skipping unreadable cassette " + file + ": " + e.getMessage());
+                }
+            }
+        }
+        System.out.println("Loaded " + cassettes.size() + " cassettes from " + dir + " (" + mode + ")");
+    }
+
+    private JsonObject read(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return gson.fromJson(reader, JsonObject.class);
+        }
+    }
+
+    private void write(Path file, JsonObject json) throws IOException {
+        Files.createDirectories(file.getParent());
+        Path temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            gson.toJson(json, writer);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static String relativePath(ApiRequest request) {
+        String url = request.getUrl();
+        String service = request.getService();
+        if (url.startsWith(service)) {
+            String path = url.substring(service.length());
+            return path.startsWith("/") ? path : "/" + path;
+        }
+        URI uri = URI.create(url);
+        return uri.getRawQuery() == null ? uri.getRawPath() : uri.getRawPath() + "?" + uri.getRawQuery();
+    }
+
+    static String key(ApiRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(relativePath(request).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            if (request.getBody() != null) {
+                digest.update(request.getBody().getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "CassetteStore{" + mode + ", cassettes=" + cassettes.size() + ", replayed=" + replayed
+                + ", missing=" + missing + ", recorded=" + recorded + "}";
+    }
+
+    private HtmlReportGenerator.ReportTable reportTable() {
+        HtmlReportGenerator.ReportTable table = new HtmlReportGenerator.ReportTable("Cassettes",
+                List.of("Mode", "Directory", "Cassettes", "Replayed", "Missing", "Recorded", "Replay Latency"));
+        table.addRow(List.of(mode.name(), dir.toString(), String.valueOf(cassettes.size()), String.valueOf(replayed),
+                String.valueOf(missing), String.valueOf(recorded),
+                replayLatency ? "x" + latencyScale : "off"));
+        return table;
+    }
+
+    private static final class Cassette {
+        final String method;
+        final String path;
+        final JsonObject requestHeaders;
+        final String requestBody;
+        final List<RecordedResponse> responses = new CopyOnWriteArrayList<>();
+        final AtomicInteger next = new AtomicInteger();
+
+        private Cassette(String method, String path, JsonObject requestHeaders, String requestBody) {
+            this.method = method;
+            this.path = path;
+            this.requestHeaders = requestHeaders;
+            this.requestBody = requestBody;
+        }
+
+        static Cassette of(ApiRequest request, String path) {
+            JsonObject headers = new JsonObject();
+            request.getHeaders().forEach((name, value) -> headers.addProperty(name,
+                    REDACTED_HEADERS.contains(name.toLowerCase(Locale.ROOT)) ? "<redacted>" : value));
+            return new Cassette(request.getMethod(), path, headers, request.getBody());
+        }
+
+        RecordedResponse next() {
+            return responses.get(Math.floorMod(next.getAndIncrement(), responses.size()));
+        }
+
+        JsonObject toJson() {
+            JsonObject request = new JsonObject();
+            request.addProperty("method", method);
+            request.addProperty("path", path);
+            request.add("headers", requestHeaders);
+            request.addProperty("body", requestBody);
+            JsonArray recordings = new JsonArray();
+            responses.forEach(response -> recordings.add(response.toJson()));
+            JsonObject json = new JsonObject();
+            json.add("request", request);
+            json.add("responses", recordings);
+            return json;
+        }
+
+        static Cassette fromJson(JsonObject json) {
+            JsonObject request = json.getAsJsonObject("request");
+            Cassette cassette = new Cassette(request.get("method").getAsString(), request.get("path").getAsString(),
+                    request.has("headers") ? request.getAsJsonObject("headers") : new JsonObject(),
+                    request.has("body") && !request.get("body").isJsonNull() ? request.get("body").getAsString() : null);
+            json.getAsJsonArray("responses").forEach(response ->
+                    cassette.responses.add(RecordedResponse.fromJson(response.getAsJsonObject())));
+            return cassette;
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.aiservices;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import com.utils.EnvironmentConfig;
+import com.utils.HtmlReportGenerator;
+
+/**
+ * Per-service circuit breaker used by {@link ApiClient}.
+ *
+ * CLOSED: calls pass through; {@code failureThreshold} consecutive failures
+ * (exceptions or 5xx responses) open the circuit.
+ * OPEN: calls fail immediately with {@link CircuitOpenException} until
+ * {@code openDurationMs} has elapsed.
+ * HALF_OPEN: up to {@code halfOpenMaxCalls} trial calls are let through; a success
+ * closes the circuit, a failure opens it again.
+ *
+ * Breakers are keyed by service base URL and shared by every client in the JVM.
+ * Their states are added to the HTML report.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final Map<String, CircuitBreaker> BREAKERS = new ConcurrentHashMap<>();
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("HH:mm:ss").withZone(ZoneId.systemDefault());
+
+    static {
+        HtmlReportGenerator.registerTable("circuitBreakers", CircuitBreaker::reportTable);
+    }
+
+    private final String service;
+    private final int failureThreshold;
+    private final long openDurationMs;
+    private final int halfOpenMaxCalls;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private int halfOpenCalls;
+    private long openedAt;
+    private long totalFailures;
+    private long timesOpened;
+    private long shortCircuited;
+    private String lastError;
+
+    public CircuitBreaker(String service, int failureThreshold, long openDurationMs, int halfOpenMaxCalls) {
+        this(service, failureThreshold, openDurationMs, halfOpenMaxCalls, System::currentTimeMillis);
+    }
+
+    /**
+     * A breaker reading the time, in milliseconds, from {@code clock}.
+     */
+    CircuitBreaker(String service, int failureThreshold, long openDurationMs, int halfOpenMaxCalls, LongSupplier clock) {
+        this.service = service;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMs = openDurationMs;
+        this.halfOpenMaxCalls = halfOpenMaxCalls;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the shared breaker for a service base URL, configured from the
+     * "circuit_breaker" block of app_config.json.
+     */
+    public static CircuitBreaker forService(String service) {
+        return BREAKERS.computeIfAbsent(service, CircuitBreaker::fromConfig);
+    }
+
+    private static CircuitBreaker fromConfig(String service) {
+        try {
+            EnvironmentConfig config = EnvironmentConfig.get();
+            return new CircuitBreaker(service,
+                    config.getInt("circuit_breaker.failure_threshold", 5),
+                    config.getLong("circuit_breaker.open_duration_ms", 60000),
+                    config.getInt("circuit_breaker.half_open_max_calls", 1));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to configure circuit breaker for " + service + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Snapshot of all breakers created so far.
+     */
+    public static Map<String, CircuitBreaker> all() {
+        return Map.copyOf(BREAKERS);
+    }
+
+    /**
+     * Reserves a call, or throws if the circuit is open.
+     *
+     * @throws CircuitOpenException when calls to the service are being short-circuited
+     */
+    public synchronized void acquirePermission() {
+        long now = clock.getAsLong();
+        if (state == State.OPEN && now - openedAt >= openDurationMs) {
+            transition(State.HALF_OPEN);
+        }
+        if (state == State.OPEN || (state == State.HALF_OPEN && halfOpenCalls >= halfOpenMaxCalls)) {
+            shortCircuited++;
+            long retryInMs = Math.max(0, openDurationMs - (now - openedAt));
+            throw new CircuitOpenException(service, "Circuit breaker OPEN for " + service + " after "
+                    + consecutiveFailures + " consecutive failures (last error: " + lastError
+                    + "); skipping call, next trial in " + (retryInMs + 999) / 1000 + "s");
+        }
+        if (state == State.HALF_OPEN) {
+            halfOpenCalls++;
+        }
+    }
+
+    /**
+     * Records the outcome of a call that returned a response.
+     */
+    public void onResponse(int status) {
+        if (status >= 500) {
+            onFailure("HTTP " + status);
+        } else {
+            onSuccess();
+        }
+    }
+
+    public synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        if (state != State.CLOSED) {
+            transition(State.CLOSED);
+        }
+    }
+
+    public synchronized void onFailure(String error) {
+        consecutiveFailures++;
+        totalFailures++;
+        lastError = error;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            transition(State.OPEN);
+        }
+    }
+
+    private void transition(State next) {
+        System.out.println("Circuit breaker for " + service + ": " + state + " -> " + next);
+        state = next;
+        halfOpenCalls = 0;
+        if (next == State.OPEN) {
+            openedAt = clock.getAsLong();
+            timesOpened++;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public String getService() {
+        return service;
+    }
+
+    private synchronized List<String> reportRow() {
+        List<String> row = new ArrayList<>();
+        row.add(service);
+        row.add(state.name());
+        row.add(String.valueOf(consecutiveFailures));
+        row.add(String.valueOf(totalFailures));
+        row.add(String.valueOf(timesOpened));
+        row.add(String.valueOf(shortCircuited));
+        row.add(timesOpened > 0 ? TIME_FORMAT.format(Instant.ofEpochMilli(openedAt)) : "");
+        row.add(lastError != null ? lastError : "");
+        return row;
+    }
+
+    static HtmlReportGenerator.ReportTable reportTable() {
+        HtmlReportGenerator.ReportTable table = new HtmlReportGenerator.ReportTable("Circuit Breakers",
+                List.of("Service", "State", "Consecutive Failures", "Total Failures", "Times Opened",
+                        "Short-circuited Calls", "Last Opened", "Last Error"));
+        BREAKERS.values().forEach(breaker -> table.addRow(breaker.reportRow()));
+        return table;
+    }
+}
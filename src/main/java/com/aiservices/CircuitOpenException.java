@@ -0,0 +1,23 @@
+package com.aiservices;
+
+import org.opentest4j.TestAbortedException;
+
+/**
+ * Thrown instead of calling a service whose {@link CircuitBreaker} is open.
+ * It extends {@link TestAbortedException}, so JUnit reports the test as skipped
+ * with this message rather than failing it after a full connect timeout.
+ */
+public class CircuitOpenException extends TestAbortedException {
+    private static final long serialVersionUID = 1L;
+
+    private final String service;
+
+    public CircuitOpenException(String service, String message) {
+        super(message);
+        this.service = service;
+    }
+
+    public String getService() {
+        return service;
+    }
+}
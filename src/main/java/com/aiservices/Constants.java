@@ -5,5 +5,7 @@ public interface Constants {
     String VIDEO_STATUS_ENDPOINT = "/video-status/";
     String EXECUTE_PROMPT_ENDPOINT = "/genAI/prompt/execute";
     String CREATE_EXPERIENCE_ENDPOINT = "/experience/ai/buildExperience";
+    String IMAGE_SUMMARY_ENDPOINT = "/experience/ai/generateSummary";
+    String FLIGHT_RECOMMENDATION_ENDPOINT = "/flight_recommendation/predict";
     // Add more endpoints as needed
 }
@@ -0,0 +1,219 @@
+package com.aiservices;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.utils.EnvironmentConfig;
+import com.utils.HtmlReportGenerator;
+
+/**
+ * Decides when {@link ApiClient} sends a second copy of a slow request: once a call has
+ * been outstanding longer than a latency percentile of its endpoint (aborted calls count
+ * as censored), capped at {@code maxExtraLoad} of the requests sent.
+ */
+public class HedgingPolicy {
+
+    private static final Map<String, HedgingPolicy> POLICIES = new ConcurrentHashMap<>();
+
+    static {
+        HtmlReportGenerator.registerTable("hedging", HedgingPolicy::reportTable);
+    }
+
+    private final String endpoint;
+    private final boolean enabled;
+    private final double percentile;
+    private final int minSamples;
+    private final long initialDelayMs;
+    private final long minDelayMs;
+    private final double maxExtraLoad;
+
+    private final long[] window;
+    private final boolean[] censored;
+    private int windowCount;
+    private int windowNext;
+
+    private long requests;
+    private long hedges;
+    private long hedgeWins;
+    private long rejected;
+    private long aborted;
+
+    public HedgingPolicy(String endpoint, boolean enabled, double percentile, int minSamples, long initialDelayMs,
+                         long minDelayMs, double maxExtraLoad, int windowSize) {
+        this.endpoint = endpoint;
+        this.enabled = enabled;
+        this.percentile = percentile;
+        this.minSamples = minSamples;
+        this.initialDelayMs = initialDelayMs;
+        this.minDelayMs = minDelayMs;
+        this.maxExtraLoad = maxExtraLoad;
+        this.window = new long[Math.max(1, windowSize)];
+        this.censored = new boolean[window.length];
+    }
+
+    /**
+     * The shared policy for an endpoint path, configured from the "hedging" block.
+     */
+    public static HedgingPolicy forEndpoint(String endpoint) {
+        return POLICIES.computeIfAbsent(endpoint, HedgingPolicy::fromConfig);
+    }
+
+    private static HedgingPolicy fromConfig(String endpoint) {
+        try {
+            EnvironmentConfig config = EnvironmentConfig.get();
+            return new HedgingPolicy(endpoint,
+                    config.getBoolean("hedging.enabled", false),
+                    config.getDouble("hedging.percentile", 95),
+                    config.getInt("hedging.min_samples", 20),
+                    config.getLong("hedging.initial_delay_ms", 30000),
+                    config.getLong("hedging.min_delay_ms", 2000),
+                    config.getDouble("hedging.max_extra_load", 0.1),
+                    config.getInt("hedging.window_size", 200));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to configure hedging for " + endpoint + ": " + e.getMessage(), e);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * How long to wait for the first response before hedging.
+     */
+    public synchronized long hedgeDelayMs() {
+        if (windowCount < minSamples) {
+            return initialDelayMs;
+        }
+        // Completions sort before censored samples of the same latency
+        Integer[] order = new Integer[windowCount];
+        for (int i = 0; i < windowCount; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.<Integer>comparingLong(i -> window[i]).thenComparing(i -> censored[i]));
+        double survival = 1;
+        double target = 1 - percentile / 100.0;
+        int atRisk = windowCount;
+        for (int i : order) {
+            if (!censored[i]) {
+                survival *= (atRisk - 1) / (double) atRisk;
+                if (survival <= target + 1e-9) {
+                    return Math.max(minDelayMs, window[i]);
+                }
+            }
+            atRisk--;
+        }
+        // Too many censored samples to reach the percentile: the slowest time seen is a lower bound
+        return Math.max(minDelayMs, window[order[windowCount - 1]]);
+    }
+
+    synchronized void recordRequest() {
+        requests++;
+    }
+
+    /**
+     * Reserves a hedge if that keeps hedges within {@code maxExtraLoad} of all requests.
+     */
+    synchronized boolean tryHedge() {
+        if (hedges + 1 > maxExtraLoad * requests) {
+            rejected++;
+            return false;
+        }
+        hedges++;
+        return true;
+    }
+
+    synchronized void recordHedgeWin() {
+        hedgeWins++;
+    }
+
+    synchronized void recordLatency(long latencyMs) {
+        record(latencyMs, false);
+    }
+
+    /**
+     * Records a call that was aborted after {@code elapsedMs}, before its response.
+     */
+    synchronized void recordCensored(long elapsedMs) {
+        aborted++;
+        record(elapsedMs, true);
+    }
+
+    private void record(long latencyMs, boolean wasCensored) {
+        window[windowNext] = latencyMs;
+        censored[windowNext] = wasCensored;
+        windowNext = (windowNext + 1) % window.length;
+        windowCount = Math.min(windowCount + 1, window.length);
+    }
+
+    public synchronized long getRequests() {
+        return requests;
+    }
+
+    public synchronized long getHedges() {
+        return hedges;
+    }
+
+    public synchronized long getHedgeWins() {
+        return hedgeWins;
+    }
+
+    public synchronized long getRejectedHedges() {
+        return rejected;
+    }
+
+    /**
+     * Exchanges aborted because the other copy answered first.
+     */
+    public synchronized long getAborted() {
+        return aborted;
+    }
+
+    /**
+     * Snapshot of the policies of endpoints that have hedging enabled.
+     */
+    public static Map<String, HedgingPolicy> all() {
+        Map<String, HedgingPolicy> enabled = new TreeMap<>();
+        POLICIES.forEach((endpoint, policy) -> {
+            if (policy.isEnabled()) {
+                enabled.put(endpoint, policy);
+            }
+        });
+        return enabled;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "HedgingPolicy{" + endpoint + ", requests=" + requests + ", hedges=" + hedges
+                + ", wins=" + hedgeWins + ", rejected=" + rejected + ", aborted=" + aborted + "}";
+    }
+
+    private List<String> reportRow() {
+        long delayMs = hedgeDelayMs();
+        synchronized (this) {
+            List<String> row = new ArrayList<>();
+            row.add(endpoint);
+            row.add(String.valueOf(requests));
+            row.add(String.valueOf(hedges));
+            row.add(String.valueOf(hedgeWins));
+            row.add(String.valueOf(rejected));
+            row.add(String.valueOf(aborted));
+            row.add(requests == 0 ? "0.0%" : String.format("%.1f%%", 100.0 * hedges / requests));
+            row.add(delayMs + "ms" + (windowCount < minSamples ? " (initial)" : String.format(" (p%.0f)", percentile)));
+            return row;
+        }
+    }
+
+    static HtmlReportGenerator.ReportTable reportTable() {
+        HtmlReportGenerator.ReportTable table = new HtmlReportGenerator.ReportTable("Hedged Requests",
+                List.of("Endpoint", "Requests", "Hedges Fired", "Hedge Wins", "Rejected by Cap", "Losers Aborted", "Extra Load", "Hedge Delay"));
+        all().values().forEach(policy -> table.addRow(policy.reportRow()));
+        return table;
+    }
+}
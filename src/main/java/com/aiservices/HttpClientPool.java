@@ -0,0 +1,711 @@
+package com.aiservices;
+
+import kong.unirest.Config;
+import kong.unirest.UnirestInstance;
+import kong.unirest.apache.ApacheAsyncClient;
+import kong.unirest.apache.ApacheClient;
+import org.apache.http.Header;
+import org.apache.http.HttpConnection;
+import org.apache.http.HttpEntity;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.config.Registry;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.conn.DnsResolver;
+import org.apache.http.conn.ManagedHttpClientConnection;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.LayeredConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.entity.HttpEntityWrapper;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.impl.conn.SystemDefaultDnsResolver;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.ManagedNHttpClientConnectionFactory;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.conn.ManagedNHttpClientConnection;
+import org.apache.http.nio.conn.NHttpConnectionFactory;
+import org.apache.http.nio.conn.NoopIOSessionStrategy;
+import org.apache.http.nio.conn.SchemeIOSessionStrategy;
+import org.apache.http.nio.conn.ssl.SSLIOSessionStrategy;
+import org.apache.http.nio.reactor.IOSession;
+import org.apache.http.nio.reactor.ssl.SSLIOSession;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpCoreContext;
+import org.apache.http.ssl.SSLContexts;
+
+import javax.net.ssl.SSLException;
+import javax.net.ssl.SSLSession;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.utils.EnvironmentConfig;
+
+/**
+ * Shared keep-alive connection pools, one per service host, sized by the "http_pool"
+ * block. Exchanges tagged through {@link #abortable()} can be cancelled, and those
+ * tagged through {@link #timing()} are timed per phase (see {@link Timing}).
+ */
+public final class HttpClientPool {
+
+    static final String ABORT_TAG_HEADER = "X-Abort-Tag";
+    static final String TIMING_TAG_HEADER = "X-Timing-Tag";
+    private static final String ABORTABLE_ATTRIBUTE = HttpClientPool.class.getName() + ".abortable";
+    private static final String TIMING_ATTRIBUTE = HttpClientPool.class.getName() + ".timing";
+    private static final String CONNECTED_AT_ATTRIBUTE = HttpClientPool.class.getName() + ".connectedAt";
+    private static final String TLS_STARTED_AT_ATTRIBUTE = HttpClientPool.class.getName() + ".tlsStartedAt";
+    private static final String TLS_DONE_AT_ATTRIBUTE = HttpClientPool.class.getName() + ".tlsDoneAt";
+
+    private static final Map<String, HostPool> POOLS = new ConcurrentHashMap<>();
+    private static final Map<String, Abortable> ABORTABLES = new ConcurrentHashMap<>();
+    private static final Map<String, Timing> TIMINGS = new ConcurrentHashMap<>();
+    // DNS is resolved on the thread that runs the request interceptors, without access
+    // to the exchange context.
+    private static final ThreadLocal<Timing> RESOLVING = new ThreadLocal<>();
+    private static final ScheduledExecutorService EVICTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "http-pool-evictor");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(HttpClientPool::shutdown, "http-pool-shutdown"));
+    }
+
+    private HttpClientPool() {
+    }
+
+    /**
+     * Returns the pooled Unirest instance for the scheme, host and port of the given URL.
+     */
+    public static UnirestInstance forUrl(String url) {
+        String key = hostKey(url);
+        return POOLS.computeIfAbsent(key, HttpClientPool::createPool).unirest;
+    }
+
+    /**
+     * Snapshot of every host pool, keyed by scheme://host:port.
+     */
+    public static Map<String, PoolSnapshot> stats() {
+        Map<String, PoolSnapshot> stats = new TreeMap<>();
+        POOLS.forEach((key, pool) -> stats.put(key, pool.snapshot()));
+        return stats;
+    }
+
+    /**
+     * Closes all pools. Subsequent calls to {@link #forUrl(String)} create fresh ones.
+     */
+    public static void shutdown() {
+        POOLS.values().forEach(HostPool::close);
+        POOLS.clear();
+    }
+
+    /**
+     * Registers a handle for an async exchange. Send the request with an
+     * {@link #ABORT_TAG_HEADER} header set to {@link Abortable#getTag()} and close the
+     * handle once the exchange has completed.
+     */
+    static Abortable abortable() {
+        Abortable abortable = new Abortable(UUID.randomUUID().toString());
+        ABORTABLES.put(abortable.tag, abortable);
+        return abortable;
+    }
+
+    private static void bindAbortable(HttpRequest request, HttpContext context) throws IOException {
+        Header tag = request.getFirstHeader(ABORT_TAG_HEADER);
+        if (tag == null) {
+            return;
+        }
+        request.removeHeaders(ABORT_TAG_HEADER);
+        Abortable abortable = ABORTABLES.get(tag.getValue());
+        if (abortable != null) {
+            if (abortable.isAborted()) {
+                throw new IOException("Exchange aborted before it was sent");
+            }
+            abortable.bind(context);
+            context.setAttribute(ABORTABLE_ATTRIBUTE, abortable);
+        }
+    }
+
+    private static void releaseAbortable(HttpResponse response, HttpContext context) {
+        Object abortable = context.removeAttribute(ABORTABLE_ATTRIBUTE);
+        if (abortable instanceof Abortable) {
+            ((Abortable) abortable).unbind();
+        }
+    }
+
+    /**
+     * Registers a phase timer for one exchange, started now. Send the request with a
+     * {@link #TIMING_TAG_HEADER} header set to {@link Timing#getTag()} and close the
+     * timer once the response has been read.
+     */
+    static Timing timing() {
+        Timing timing = new Timing(UUID.randomUUID().toString());
+        TIMINGS.put(timing.tag, timing);
+        // The async client leases (and resolves) on the calling thread before the
+        // request interceptors run.
+        RESOLVING.set(timing);
+        return timing;
+    }
+
+    private static void bindTiming(HttpRequest request, HttpContext context) {
+        Header tag = request.getFirstHeader(TIMING_TAG_HEADER);
+        Timing timing = tag == null ? null : TIMINGS.get(tag.getValue());
+        request.removeHeaders(TIMING_TAG_HEADER);
+        if (timing != null) {
+            RESOLVING.set(timing);
+            timing.sentAt = System.nanoTime();
+            context.setAttribute(TIMING_ATTRIBUTE, timing);
+        }
+    }
+
+    private static void timeResponse(HttpResponse response, HttpContext context, boolean wrapEntity) {
+        Object attribute = context.getAttribute(TIMING_ATTRIBUTE);
+        if (!(attribute instanceof Timing)) {
+            return;
+        }
+        Timing timing = (Timing) attribute;
+        timing.firstByteAt = System.nanoTime();
+        if (RESOLVING.get() == timing) {
+            RESOLVING.remove();
+        }
+        Object connection = context.getAttribute(HttpCoreContext.HTTP_CONNECTION);
+        if (connection instanceof ManagedNHttpClientConnection) {
+            timing.connectionSetup(((ManagedNHttpClientConnection) connection).getIOSession());
+        }
+        if (wrapEntity && response.getEntity() != null) {
+            response.setEntity(new TimedEntity(response.getEntity(), timing));
+        }
+    }
+
+    private static Timing timingOf(HttpContext context) {
+        Object attribute = context == null ? null : context.getAttribute(TIMING_ATTRIBUTE);
+        return attribute instanceof Timing ? (Timing) attribute : null;
+    }
+
+    /**
+     * Handle on an in-flight async exchange. Aborting shuts down its connection, which
+     * fails the exchange with an I/O error instead of waiting for the response. Once the
+     * response head has arrived the connection is unbound, so an abort can never hit a
+     * connection that went back to the pool.
+     */
+    static final class Abortable implements AutoCloseable {
+        private final String tag;
+        private HttpContext context;
+        private boolean aborted;
+
+        private Abortable(String tag) {
+            this.tag = tag;
+        }
+
+        String getTag() {
+            return tag;
+        }
+
+        // Request interceptors run before the async client leases a connection, so the
+        // exchange context is kept and the connection looked up when aborting.
+        private synchronized void bind(HttpContext context) {
+            this.context = context;
+        }
+
+        private synchronized void unbind() {
+            context = null;
+        }
+
+        synchronized void abort() {
+            aborted = true;
+            Object connection = context != null ? context.getAttribute(HttpCoreContext.HTTP_CONNECTION) : null;
+            if (connection instanceof HttpConnection) {
+                shutdownQuietly((HttpConnection) connection);
+            }
+        }
+
+        synchronized boolean isAborted() {
+            return aborted;
+        }
+
+        @Override
+        public void close() {
+            ABORTABLES.remove(tag);
+        }
+
+        private static void shutdownQuietly(HttpConnection connection) {
+            try {
+                connection.shutdown();
+            } catch (IOException ignored) {
+                // the exchange is being abandoned anyway
+            }
+        }
+    }
+
+    /**
+     * Phase timestamps of one exchange. DNS, connect and TLS are only non-zero when the
+     * exchange opened a new connection. The sync client times connect and handshake
+     * around the socket calls; the async client leases its connection before the
+     * request is generated and stamps the I/O session when the TCP connection is
+     * established and the handshake verified, so its connect time also covers the
+     * wait for the lease. The body ends at EOF of the content stream (sync) or when
+     * {@link #finish()} is called (async, after the body has been decoded).
+     */
+    static final class Timing implements AutoCloseable {
+        private final String tag;
+        private final long startedAt = System.nanoTime();
+        private volatile long sentAt;
+        private volatile long dnsNanos;
+        private volatile long connectNanos;
+        private volatile long tlsNanos;
+        private volatile long setupDoneAt;
+        private volatile long firstByteAt;
+        private volatile long lastByteAt;
+        private volatile long finishedAt;
+
+        private Timing(String tag) {
+            this.tag = tag;
+        }
+
+        String getTag() {
+            return tag;
+        }
+
+        private boolean isOpen() {
+            return firstByteAt == 0 && TIMINGS.containsKey(tag);
+        }
+
+        private void connected(long nanos) {
+            connectNanos += nanos;
+            setupDoneAt = System.nanoTime();
+        }
+
+        private void handshaken(long nanos) {
+            tlsNanos += nanos;
+            setupDoneAt = System.nanoTime();
+        }
+
+        private void connectionSetup(IOSession session) {
+            Object connectedAt = session.removeAttribute(CONNECTED_AT_ATTRIBUTE);
+            if (connectedAt instanceof Long) {
+                connectNanos = Math.max(0, (Long) connectedAt - startedAt - dnsNanos);
+                setupDoneAt = (Long) connectedAt;
+            }
+            Object tlsStartedAt = session.removeAttribute(TLS_STARTED_AT_ATTRIBUTE);
+            Object tlsDoneAt = session.removeAttribute(TLS_DONE_AT_ATTRIBUTE);
+            if (tlsStartedAt instanceof Long && tlsDoneAt instanceof Long) {
+                tlsNanos = Math.max(0, (Long) tlsDoneAt - (Long) tlsStartedAt);
+                setupDoneAt = (Long) tlsDoneAt;
+            }
+        }
+
+        /**
+         * Marks the exchange as complete; the body ends now unless EOF was seen earlier.
+         */
+        Timing finish() {
+            finishedAt = System.nanoTime();
+            return this;
+        }
+
+        /**
+         * {@link System#nanoTime()} when the request was handed to the connection, or 0.
+         */
+        long sentAtNanos() {
+            return sentAt;
+        }
+
+        long dnsNanos() {
+            return dnsNanos;
+        }
+
+        long connectNanos() {
+            return connectNanos;
+        }
+
+        long tlsNanos() {
+            return tlsNanos;
+        }
+
+        /**
+         * From the later of sending the request and having a connection until the
+         * response head: request upload and server processing.
+         */
+        long timeToFirstByteNanos() {
+            long from = Math.max(sentAt, setupDoneAt);
+            return firstByteAt == 0 || from == 0 ? -1 : Math.max(0, firstByteAt - from);
+        }
+
+        long downloadNanos() {
+            long end = lastByteAt > 0 ? lastByteAt : finishedAt;
+            return firstByteAt == 0 || end == 0 ? -1 : Math.max(0, end - firstByteAt);
+        }
+
+        long totalNanos() {
+            return finishedAt == 0 ? -1 : finishedAt - startedAt;
+        }
+
+        @Override
+        public void close() {
+            TIMINGS.remove(tag);
+            if (RESOLVING.get() == this) {
+                RESOLVING.remove();
+            }
+        }
+    }
+
+    /**
+     * Resolves with the system resolver and charges the time to the exchange being prepared.
+     */
+    private static final class TimedDnsResolver implements DnsResolver {
+        static final TimedDnsResolver INSTANCE = new TimedDnsResolver();
+
+        @Override
+        public InetAddress[] resolve(String host) throws UnknownHostException {
+            long start = System.nanoTime();
+            InetAddress[] addresses = SystemDefaultDnsResolver.INSTANCE.resolve(host);
+            Timing timing = RESOLVING.get();
+            if (timing != null && timing.isOpen()) {
+                timing.dnsNanos += System.nanoTime() - start;
+            }
+            return addresses;
+        }
+    }
+
+    /**
+     * Sync socket factory that times the TCP connect and, for TLS, the handshake of the
+     * layered socket separately.
+     */
+    private static final class TimedSocketFactory implements LayeredConnectionSocketFactory {
+        private final ConnectionSocketFactory delegate;
+
+        TimedSocketFactory(ConnectionSocketFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Socket createSocket(HttpContext context) throws IOException {
+            return delegate.createSocket(context);
+        }
+
+        @Override
+        public Socket connectSocket(int connectTimeout, Socket socket, HttpHost host, InetSocketAddress remoteAddress,
+                                    InetSocketAddress localAddress, HttpContext context) throws IOException {
+            Timing timing = timingOf(context);
+            long start = System.nanoTime();
+            if (!(delegate instanceof LayeredConnectionSocketFactory)) {
+                Socket connected = delegate.connectSocket(connectTimeout, socket, host, remoteAddress, localAddress, context);
+                if (timing != null) {
+                    timing.connected(System.nanoTime() - start);
+                }
+                return connected;
+            }
+            // Same steps as SSLConnectionSocketFactory.connectSocket, split so that the
+            // handshake is timed on its own.
+            Socket plain = socket != null ? socket : delegate.createSocket(context);
+            if (localAddress != null) {
+                plain.bind(localAddress);
+            }
+            try {
+                if (connectTimeout > 0 && plain.getSoTimeout() == 0) {
+                    plain.setSoTimeout(connectTimeout);
+                }
+                plain.connect(remoteAddress, connectTimeout);
+            } catch (IOException e) {
+                try {
+                    plain.close();
+                } catch (IOException ignored) {
+                    // reporting the connect failure
+                }
+                throw e;
+            }
+            if (timing != null) {
+                timing.connected(System.nanoTime() - start);
+            }
+            return createLayeredSocket(plain, host.getHostName(), remoteAddress.getPort(), context);
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target, int port, HttpContext context) throws IOException {
+            long start = System.nanoTime();
+            Socket layered = ((LayeredConnectionSocketFactory) delegate).createLayeredSocket(socket, target, port, context);
+            Timing timing = timingOf(context);
+            if (timing != null) {
+                timing.handshaken(System.nanoTime() - start);
+            }
+            return layered;
+        }
+    }
+
+    /**
+     * Async TLS strategy that stamps the session when the handshake starts and when it
+     * has been verified.
+     */
+    private static final class TimedSSLIOSessionStrategy extends SSLIOSessionStrategy {
+
+        TimedSSLIOSessionStrategy() {
+            super(SSLContexts.createDefault(), getDefaultHostnameVerifier());
+        }
+
+        @Override
+        public SSLIOSession upgrade(HttpHost host, IOSession session) throws IOException {
+            session.setAttribute(TLS_STARTED_AT_ATTRIBUTE, System.nanoTime());
+            return super.upgrade(host, session);
+        }
+
+        @Override
+        protected void verifySession(HttpHost host, IOSession session, SSLSession sslSession) throws SSLException {
+            super.verifySession(host, session, sslSession);
+            session.setAttribute(TLS_DONE_AT_ATTRIBUTE, System.nanoTime());
+        }
+    }
+
+    /**
+     * Records when the body has been read to the end.
+     */
+    private static final class TimedEntity extends HttpEntityWrapper {
+        private final Timing timing;
+
+        TimedEntity(HttpEntity entity, Timing timing) {
+            super(entity);
+            this.timing = timing;
+        }
+
+        @Override
+        public InputStream getContent() throws IOException {
+            return new FilterInputStream(super.getContent()) {
+                @Override
+                public int read() throws IOException {
+                    return eof(super.read());
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) throws IOException {
+                    return eof(super.read(buffer, offset, length));
+                }
+
+                @Override
+                public void close() throws IOException {
+                    eof(-1);
+                    super.close();
+                }
+
+                private int eof(int read) {
+                    if (read == -1 && timing.lastByteAt == 0) {
+                        timing.lastByteAt = System.nanoTime();
+                    }
+                    return read;
+                }
+            };
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            try (InputStream in = getContent()) {
+                in.transferTo(out);
+            }
+        }
+    }
+
+    static String hostKey(String url) {
+        URI uri = URI.create(url);
+        String scheme = uri.getScheme() == null ? "http" : uri.getScheme().toLowerCase();
+        int port = uri.getPort() != -1 ? uri.getPort() : ("https".equals(scheme) ? 443 : 80);
+        return scheme + "://" + uri.getHost() + ":" + port;
+    }
+
+    private static HostPool createPool(String key) {
+        try {
+            EnvironmentConfig env = EnvironmentConfig.get();
+            return new HostPool(key,
+                    env.getInt("http_pool.max_total", 200),
+                    env.getInt("http_pool.max_per_route", 64),
+                    env.getLong("http_pool.connection_ttl_seconds", 300),
+                    env.getLong("http_pool.idle_eviction_seconds", 30),
+                    env.getLong("http_pool.keep_alive_seconds", 60),
+                    env.getInt("http_pool.validate_after_inactivity_ms", 2000),
+                    env.getInt("http_pool.io_threads", Runtime.getRuntime().availableProcessors()));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to create connection pool for " + key + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Point-in-time view of one host pool.
+     * A reuse ratio close to 1 means almost every request rode an existing connection.
+     */
+    public static class PoolSnapshot {
+        public final String host;
+        public final int leased;
+        public final int available;
+        public final int pending;
+        public final int maxPerRoute;
+        public final long requests;
+        public final long connectionsOpened;
+
+        PoolSnapshot(String host, PoolStats sync, PoolStats async, int maxPerRoute, long requests, long connectionsOpened) {
+            this.host = host;
+            this.leased = sync.getLeased() + async.getLeased();
+            this.available = sync.getAvailable() + async.getAvailable();
+            this.pending = sync.getPending() + async.getPending();
+            this.maxPerRoute = maxPerRoute;
+            this.requests = requests;
+            this.connectionsOpened = connectionsOpened;
+        }
+
+        public double getReuseRatio() {
+            return requests == 0 ? 0 : 1.0 - (double) connectionsOpened / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s leased=%d available=%d pending=%d maxPerRoute=%d requests=%d connectionsOpened=%d reuse=%.1f%%",
+                    host, leased, available, pending, maxPerRoute, requests, connectionsOpened, getReuseRatio() * 100);
+        }
+    }
+
+    private static class HostPool {
+        private final String key;
+        private final int maxPerRoute;
+        private final UnirestInstance unirest;
+        private final PoolingHttpClientConnectionManager syncManager;
+        private final PoolingNHttpClientConnectionManager asyncManager;
+        private final AtomicLong requests = new AtomicLong();
+        private final Set<String> connectionIds = ConcurrentHashMap.newKeySet();
+        private final ScheduledFuture<?> eviction;
+
+        HostPool(String key, int maxTotal, int maxPerRoute, long ttlSeconds, long idleSeconds,
+                 long keepAliveSeconds, int validateAfterInactivityMs, int ioThreads) {
+            this.key = key;
+            this.maxPerRoute = maxPerRoute;
+            ConnectionKeepAliveStrategy keepAlive = (response, context) -> {
+                long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+                return serverKeepAlive > 0 ? serverKeepAlive : TimeUnit.SECONDS.toMillis(keepAliveSeconds);
+            };
+            HttpResponseInterceptor counter = this::countExchange;
+
+            Config config = new Config()
+                    .concurrency(maxTotal, maxPerRoute)
+                    .connectionTTL(ttlSeconds, TimeUnit.SECONDS)
+                    .addShutdownHook(false);
+            // Same registry as Unirest's default, with DNS, connect and TLS timed.
+            this.syncManager = new PoolingHttpClientConnectionManager(
+                    RegistryBuilder.<ConnectionSocketFactory>create()
+                            .register("http", new TimedSocketFactory(PlainConnectionSocketFactory.getSocketFactory()))
+                            .register("https", new TimedSocketFactory(SSLConnectionSocketFactory.getSocketFactory()))
+                            .build(),
+                    null, null, TimedDnsResolver.INSTANCE, ttlSeconds, TimeUnit.SECONDS);
+            syncManager.setMaxTotal(maxTotal);
+            syncManager.setDefaultMaxPerRoute(maxPerRoute);
+            syncManager.setValidateAfterInactivity(validateAfterInactivityMs);
+            ApacheClient syncClient = new ApacheClient(config, builder -> builder
+                    .setConnectionManager(syncManager)
+                    .setKeepAliveStrategy(keepAlive)
+                    .addInterceptorFirst(HttpClientPool::bindTiming)
+                    .addInterceptorFirst((HttpResponseInterceptor) (response, context) -> timeResponse(response, context, true))
+                    .addInterceptorLast(counter));
+
+            try {
+                this.asyncManager = new PoolingNHttpClientConnectionManager(
+                        new DefaultConnectingIOReactor(IOReactorConfig.custom()
+                                .setSoKeepAlive(true)
+                                .setIoThreadCount(ioThreads)
+                                .build()),
+                        timedConnections(), asyncRegistry(), null, TimedDnsResolver.INSTANCE, ttlSeconds, TimeUnit.SECONDS);
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to start async I/O reactor for " + key + ": " + e.getMessage(), e);
+            }
+            asyncManager.setMaxTotal(maxTotal);
+            asyncManager.setDefaultMaxPerRoute(maxPerRoute);
+            CloseableHttpAsyncClient asyncHttp = HttpAsyncClients.custom()
+                    .setConnectionManager(asyncManager)
+                    .setKeepAliveStrategy(keepAlive)
+                    .setDefaultRequestConfig(RequestConfig.custom()
+                            .setConnectTimeout(Config.DEFAULT_CONNECT_TIMEOUT)
+                            .setSocketTimeout(Config.DEFAULT_SOCKET_TIMEOUT)
+                            .build())
+                    .addInterceptorLast(counter)
+                    .addInterceptorLast(HttpClientPool::bindAbortable)
+                    .addInterceptorFirst(HttpClientPool::releaseAbortable)
+                    .addInterceptorFirst(HttpClientPool::bindTiming)
+                    .addInterceptorFirst((HttpResponseInterceptor) (response, context) -> timeResponse(response, context, false))
+                    .useSystemProperties()
+                    .build();
+            asyncHttp.start();
+            // Idle and expired connections are closed by evict(), not a Unirest monitor thread
+            ApacheAsyncClient asyncClient = new ApacheAsyncClient(asyncHttp, config);
+
+            config.httpClient(syncClient).asyncClient(asyncClient);
+            this.unirest = new UnirestInstance(config);
+
+            this.eviction = EVICTOR.scheduleWithFixedDelay(() -> evict(idleSeconds), idleSeconds, idleSeconds, TimeUnit.SECONDS);
+            System.out.println("Created connection pool for " + key + " (maxPerRoute=" + maxPerRoute + ")");
+        }
+
+        private static Registry<SchemeIOSessionStrategy> asyncRegistry() {
+            return RegistryBuilder.<SchemeIOSessionStrategy>create()
+                    .register("http", NoopIOSessionStrategy.INSTANCE)
+                    .register("https", new TimedSSLIOSessionStrategy())
+                    .build();
+        }
+
+        private static NHttpConnectionFactory<ManagedNHttpClientConnection> timedConnections() {
+            return (session, connectionConfig) -> {
+                session.setAttribute(CONNECTED_AT_ATTRIBUTE, System.nanoTime());
+                return ManagedNHttpClientConnectionFactory.INSTANCE.create(session, connectionConfig);
+            };
+        }
+
+        private void countExchange(HttpResponse response, HttpContext context) {
+            requests.incrementAndGet();
+            Object connection = context.getAttribute(HttpCoreContext.HTTP_CONNECTION);
+            if (connection instanceof ManagedHttpClientConnection) {
+                connectionIds.add("sync-" + ((ManagedHttpClientConnection) connection).getId());
+            } else if (connection instanceof ManagedNHttpClientConnection) {
+                connectionIds.add("async-" + ((ManagedNHttpClientConnection) connection).getId());
+            }
+        }
+
+        private void evict(long idleSeconds) {
+            syncManager.closeExpiredConnections();
+            syncManager.closeIdleConnections(idleSeconds, TimeUnit.SECONDS);
+            asyncManager.closeExpiredConnections();
+            asyncManager.closeIdleConnections(idleSeconds, TimeUnit.SECONDS);
+        }
+
+        PoolSnapshot snapshot() {
+            return new PoolSnapshot(key, syncManager.getTotalStats(), asyncManager.getTotalStats(),
+                    maxPerRoute, requests.get(), connectionIds.size());
+        }
+
+        void close() {
+            eviction.cancel(false);
+            try {
+                unirest.shutDown(false);
+            } catch (RuntimeException e) {
+                System.err.println("Error closing connection pool for " + key + ": " + e.getMessage());
+            }
+        }
+    }
+}
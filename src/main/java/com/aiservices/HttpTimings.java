@@ -0,0 +1,138 @@
+package com.aiservices;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import com.utils.HtmlReportGenerator;
+
+/**
+ * Per-endpoint latency histograms of the phases of every HTTP exchange sent by
+ * {@link ApiClient}: DNS lookup, TCP connect and TLS handshake (only for exchanges
+ * that opened a connection), time to first byte, body download and the total.
+ * Values are recorded in microseconds.
+ *
+ * Endpoints are keyed by path with id-like segments (numbers, UUIDs, long hex)
+ * replaced by {@code {id}}, so video status polls share one entry.
+ */
+public final class HttpTimings {
+
+    public enum Phase { DNS, CONNECT, TLS, TTFB, DOWNLOAD, TOTAL }
+
+    private static final Map<String, HttpTimings> ENDPOINTS = new ConcurrentHashMap<>();
+    private static final Pattern ID_SEGMENT = Pattern.compile(
+            "\\d+|[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|[0-9a-fA-F]{16,}");
+
+    static {
+        HtmlReportGenerator.registerTable("httpTimings", HttpTimings::reportTable);
+    }
+
+    private final String endpoint;
+    private final Map<Phase, LatencyHistogram> histograms = new EnumMap<>(Phase.class);
+
+    private HttpTimings(String endpoint) {
+        this.endpoint = endpoint;
+        for (Phase phase : Phase.values()) {
+            histograms.put(phase, new LatencyHistogram());
+        }
+    }
+
+    public static HttpTimings forEndpoint(String endpoint) {
+        return ENDPOINTS.computeIfAbsent(normalize(endpoint), HttpTimings::new);
+    }
+
+    public static Map<String, HttpTimings> all() {
+        return Collections.unmodifiableMap(new TreeMap<>(ENDPOINTS));
+    }
+
+    public String getEndpoint() {
+        return endpoint;
+    }
+
+    /**
+     * Histogram of the phase in microseconds.
+     */
+    public LatencyHistogram get(Phase phase) {
+        return histograms.get(phase);
+    }
+
+    static void record(String endpoint, HttpClientPool.Timing timing) {
+        HttpTimings timings = forEndpoint(endpoint);
+        timings.recordIfConnected(Phase.DNS, timing.dnsNanos());
+        timings.recordIfConnected(Phase.CONNECT, timing.connectNanos());
+        timings.recordIfConnected(Phase.TLS, timing.tlsNanos());
+        timings.recordIfKnown(Phase.TTFB, timing.timeToFirstByteNanos());
+        timings.recordIfKnown(Phase.DOWNLOAD, timing.downloadNanos());
+        timings.recordIfKnown(Phase.TOTAL, timing.totalNanos());
+    }
+
+    private void recordIfConnected(Phase phase, long nanos) {
+        if (nanos > 0) {
+            histograms.get(phase).record(TimeUnit.NANOSECONDS.toMicros(nanos));
+        }
+    }
+
+    private void recordIfKnown(Phase phase, long nanos) {
+        if (nanos >= 0) {
+            histograms.get(phase).record(TimeUnit.NANOSECONDS.toMicros(nanos));
+        }
+    }
+
+    /**
+     * The endpoint path (a full URL is reduced to its path) with id-like segments
+     * replaced by {@code {id}}.
+     */
+    static String normalize(String endpoint) {
+        String path = endpoint;
+        if (path.startsWith("http://") || path.startsWith("https://")) {
+            String raw = URI.create(path).getRawPath();
+            path = raw == null || raw.isEmpty() ? "/" : raw;
+        }
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        String[] segments = path.split("/", -1);
+        for (int i = 0; i < segments.length; i++) {
+            if (ID_SEGMENT.matcher(segments[i]).matches()) {
+                segments[i] = "{id}";
+            }
+        }
+        return String.join("/", segments);
+    }
+
+    @Override
+    public String toString() {
+        return "HttpTimings{" + endpoint + ", " + histograms + "}";
+    }
+
+    static HtmlReportGenerator.ReportTable reportTable() {
+        HtmlReportGenerator.ReportTable table = new HtmlReportGenerator.ReportTable("HTTP Timings",
+                List.of("Endpoint", "Phase", "Count", "p50 (ms)", "p90 (ms)", "p99 (ms)", "Max (ms)"));
+        all().values().forEach(timings -> timings.reportRows().forEach(table::addRow));
+        return table;
+    }
+
+    private List<List<String>> reportRows() {
+        List<List<String>> rows = new ArrayList<>();
+        histograms.forEach((phase, histogram) -> {
+            if (histogram.getCount() > 0) {
+                rows.add(List.of(endpoint, phase.name(), String.valueOf(histogram.getCount()),
+                        millis(histogram.percentile(50)), millis(histogram.percentile(90)),
+                        millis(histogram.percentile(99)), millis(histogram.getMax())));
+            }
+        });
+        return rows;
+    }
+
+    private static String millis(long micros) {
+        return String.format("%.1f", micros / 1000.0);
+    }
+}
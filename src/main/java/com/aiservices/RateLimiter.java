@@ -0,0 +1,287 @@
+package com.aiservices;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.utils.EnvironmentConfig;
+import com.utils.HtmlReportGenerator;
+
+/**
+ * Client-side token bucket plus concurrency cap, per service and optionally per
+ * endpoint ("rate_limit" block); zero disables either limit. In async mode permits are
+ * handed out as futures, so waiting never parks a thread.
+ */
+public class RateLimiter {
+
+    /**
+     * A granted permit; release it once the exchange has finished.
+     */
+    public interface Permit {
+        void release();
+    }
+
+    private static final Permit NO_PERMIT = () -> { };
+    private static final Map<String, RateLimiter> LIMITERS = new ConcurrentHashMap<>();
+
+    static {
+        HtmlReportGenerator.registerTable("rateLimiters", RateLimiter::reportTable);
+    }
+
+    private final String name;
+    private final double permitsPerSecond;
+    private final double burst;
+    private final int maxConcurrency;
+
+    private final Deque<Waiter> waiters = new ArrayDeque<>();
+    private double tokens;
+    private long lastRefillNanos = System.nanoTime();
+    private boolean refillScheduled;
+    private int inFlight;
+
+    private long acquired;
+    private long delayed;
+    private long totalWaitNanos;
+    private long maxWaitNanos;
+    private int maxQueued;
+
+    public RateLimiter(String name, double permitsPerSecond, double burst, int maxConcurrency) {
+        this.name = name;
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = Math.max(1, burst);
+        this.maxConcurrency = maxConcurrency;
+        this.tokens = this.burst;
+    }
+
+    /**
+     * Takes a permit from the endpoint limiter of the request, if one is configured,
+     * and then from the service limiter. The future completes once both are granted.
+     */
+    static CompletableFuture<Permit> acquire(ApiRequest request) {
+        RateLimiter endpoint = request.getEndpoint() != null ? forEndpoint(request.getEndpoint()) : null;
+        RateLimiter service = forService(request.getService());
+        CompletableFuture<Permit> endpointPermit = endpoint != null ? endpoint.acquire() : CompletableFuture.completedFuture(NO_PERMIT);
+        if (service == null) {
+            return endpointPermit;
+        }
+        return endpointPermit.thenCompose(first -> service.acquire().thenApply(second -> () -> {
+            second.release();
+            first.release();
+        }));
+    }
+
+    /**
+     * The limiter for a service base URL, or null if it is unlimited.
+     */
+    public static RateLimiter forService(String service) {
+        return lookup("service " + service, "services", service);
+    }
+
+    /**
+     * The limiter for an endpoint path, or null if none is configured for it.
+     */
+    public static RateLimiter forEndpoint(String endpoint) {
+        return lookup("endpoint " + endpoint, "endpoints", endpoint);
+    }
+
+    private static RateLimiter lookup(String name, String group, String key) {
+        RateLimiter limiter = LIMITERS.computeIfAbsent(name, n -> fromConfig(n, group, key));
+        return limiter.isUnlimited() ? null : limiter;
+    }
+
+    private static RateLimiter fromConfig(String name, String group, String key) {
+        try {
+            EnvironmentConfig config = EnvironmentConfig.get();
+            JsonElement entry = config.getSection("rate_limit").get(group);
+            JsonObject settings = entry != null && entry.isJsonObject() && entry.getAsJsonObject().has(key)
+                    ? entry.getAsJsonObject().getAsJsonObject(key) : null;
+            if (settings == null && "endpoints".equals(group)) {
+                return new RateLimiter(name, 0, 1, 0);
+            }
+            double permitsPerSecond = config.getDouble("rate_limit.permits_per_second", 0);
+            double burst = config.getDouble("rate_limit.burst", 1);
+            int maxConcurrency = config.getInt("rate_limit.max_concurrency", 0);
+            if (settings != null) {
+                permitsPerSecond = settings.has("permits_per_second") ? settings.get("permits_per_second").getAsDouble() : permitsPerSecond;
+                burst = settings.has("burst") ? settings.get("burst").getAsDouble() : burst;
+                maxConcurrency = settings.has("max_concurrency") ? settings.get("max_concurrency").getAsInt() : maxConcurrency;
+                // Keys can contain dots (service URLs), so only the exact override of the full key applies.
+                String prefix = "rate_limit." + group + "." + key + ".";
+                permitsPerSecond = config.getDouble(prefix + "permits_per_second", permitsPerSecond);
+                burst = config.getDouble(prefix + "burst", burst);
+                maxConcurrency = config.getInt(prefix + "max_concurrency", maxConcurrency);
+            }
+            return new RateLimiter(name, permitsPerSecond, burst, maxConcurrency);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to configure rate limiter for " + name + ": " + e.getMessage(), e);
+        }
+    }
+
+    public boolean isUnlimited() {
+        return permitsPerSecond <= 0 && maxConcurrency <= 0;
+    }
+
+    /**
+     * Requests a permit. The returned future completes, possibly on another thread,
+     * once a token and a concurrency slot are available.
+     */
+    public CompletableFuture<Permit> acquire() {
+        Waiter waiter = new Waiter();
+        synchronized (this) {
+            waiters.addLast(waiter);
+            maxQueued = Math.max(maxQueued, waiters.size());
+        }
+        drain();
+        return waiter.future;
+    }
+
+    private void release() {
+        synchronized (this) {
+            inFlight--;
+        }
+        drain();
+    }
+
+    private void drain() {
+        List<Waiter> granted = new ArrayList<>();
+        long refillDelayNanos = -1;
+        synchronized (this) {
+            while (!waiters.isEmpty() && (maxConcurrency <= 0 || inFlight < maxConcurrency)) {
+                if (permitsPerSecond > 0) {
+                    refill();
+                    if (tokens < 1) {
+                        if (!refillScheduled) {
+                            refillScheduled = true;
+                            refillDelayNanos = (long) Math.ceil((1 - tokens) / permitsPerSecond * 1e9);
+                        }
+                        break;
+                    }
+                    tokens--;
+                }
+                inFlight++;
+                Waiter waiter = waiters.pollFirst();
+                record(System.nanoTime() - waiter.enqueuedNanos);
+                granted.add(waiter);
+            }
+        }
+        if (refillDelayNanos >= 0) {
+            CompletableFuture.delayedExecutor(refillDelayNanos, TimeUnit.NANOSECONDS).execute(() -> {
+                synchronized (this) {
+                    refillScheduled = false;
+                }
+                drain();
+            });
+        }
+        for (Waiter waiter : granted) {
+            waiter.future.complete(new Permit() {
+                private boolean released;
+
+                @Override
+                public void release() {
+                    synchronized (this) {
+                        if (released) {
+                            return;
+                        }
+                        released = true;
+                    }
+                    RateLimiter.this.release();
+                }
+            });
+        }
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) / 1e9 * permitsPerSecond);
+        lastRefillNanos = now;
+    }
+
+    private void record(long waitNanos) {
+        acquired++;
+        if (waitNanos > TimeUnit.MILLISECONDS.toNanos(1)) {
+            delayed++;
+        }
+        totalWaitNanos += waitNanos;
+        maxWaitNanos = Math.max(maxWaitNanos, waitNanos);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized long getAcquired() {
+        return acquired;
+    }
+
+    /**
+     * Number of permits that had to wait more than a millisecond.
+     */
+    public synchronized long getDelayed() {
+        return delayed;
+    }
+
+    public synchronized double getAverageWaitMs() {
+        return acquired == 0 ? 0 : totalWaitNanos / 1e6 / acquired;
+    }
+
+    public synchronized double getMaxWaitMs() {
+        return maxWaitNanos / 1e6;
+    }
+
+    public synchronized int getQueued() {
+        return waiters.size();
+    }
+
+    /**
+     * Snapshot of the limiters that actually limit something.
+     */
+    public static Map<String, RateLimiter> all() {
+        Map<String, RateLimiter> active = new TreeMap<>();
+        LIMITERS.forEach((name, limiter) -> {
+            if (!limiter.isUnlimited()) {
+                active.put(name, limiter);
+            }
+        });
+        return active;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("RateLimiter{%s, acquired=%d, delayed=%d, avgWait=%.1fms, maxWait=%.1fms, maxQueued=%d}",
+                name, acquired, delayed, getAverageWaitMs(), getMaxWaitMs(), maxQueued);
+    }
+
+    private synchronized List<String> reportRow() {
+        List<String> row = new ArrayList<>();
+        row.add(name);
+        row.add(permitsPerSecond > 0 ? String.format("%.2f/s (burst %.0f)", permitsPerSecond, burst) : "unlimited");
+        row.add(maxConcurrency > 0 ? String.valueOf(maxConcurrency) : "unlimited");
+        row.add(String.valueOf(acquired));
+        row.add(String.valueOf(delayed));
+        row.add(String.format("%.1fms", getAverageWaitMs()));
+        row.add(String.format("%.1fms", getMaxWaitMs()));
+        row.add(String.valueOf(maxQueued));
+        return row;
+    }
+
+    static HtmlReportGenerator.ReportTable reportTable() {
+        HtmlReportGenerator.ReportTable table = new HtmlReportGenerator.ReportTable("Rate Limiters",
+                List.of("Limiter", "Rate", "Max Concurrency", "Permits", "Delayed", "Avg Wait", "Max Wait", "Max Queued"));
+        all().values().forEach(limiter -> table.addRow(limiter.reportRow()));
+        return table;
+    }
+
+    private static final class Waiter {
+        final long enqueuedNanos = System.nanoTime();
+        final CompletableFuture<Permit> future = new CompletableFuture<>();
+    }
+}
@@ -0,0 +1,87 @@
+package com.aiservices;
+
+import kong.unirest.Header;
+import kong.unirest.Headers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+/**
+ * Immutable, serialisable copy of an {@link ApiResponse}, used by the
+ * {@link ResponseCache} and the {@link CassetteStore}. Every call to
+ * {@link #toResponse()} builds a fresh response, so callers never share a
+ * mutable parsed tree.
+ */
+final class RecordedResponse {
+    final int status;
+    final String statusText;
+    final List<String[]> headers;
+    final String body;
+    final long recordedAt;
+    final long durationMs;
+
+    private RecordedResponse(int status, String statusText, List<String[]> headers, String body,
+                             long recordedAt, long durationMs) {
+        this.status = status;
+        this.statusText = statusText;
+        this.headers = headers;
+        this.body = body;
+        this.recordedAt = recordedAt;
+        this.durationMs = durationMs;
+    }
+
+    static RecordedResponse of(ApiResponse response, long durationMs) {
+        List<String[]> headers = new ArrayList<>();
+        if (response.getHeaders() != null) {
+            for (Header header : response.getHeaders().all()) {
+                headers.add(new String[] {header.getName(), header.getValue()});
+            }
+        }
+        String body = response.hasBody() ? response.getBody() : null;
+        return new RecordedResponse(response.getStatus(), response.getStatusText(), headers, body,
+                System.currentTimeMillis(), durationMs);
+    }
+
+    ApiResponse toResponse() {
+        Headers copy = new Headers();
+        headers.forEach(header -> copy.add(header[0], header[1]));
+        return new ApiResponse(status, statusText, copy, body);
+    }
+
+    JsonObject toJson() {
+        JsonObject json = new JsonObject();
+        json.addProperty("status", status);
+        json.addProperty("statusText", statusText);
+        JsonArray headerArray = new JsonArray();
+        for (String[] header : headers) {
+            JsonArray pair = new JsonArray();
+            pair.add(header[0]);
+            pair.add(header[1]);
+            headerArray.add(pair);
+        }
+        json.add("headers", headerArray);
+        json.addProperty("body", body);
+        json.addProperty("recordedAt", recordedAt);
+        json.addProperty("durationMs", durationMs);
+        return json;
+    }
+
+    static RecordedResponse fromJson(JsonObject json) {
+        List<String[]> headers = new ArrayList<>();
+        if (json.has("headers")) {
+            json.getAsJsonArray("headers").forEach(pair -> headers.add(new String[] {
+                    pair.getAsJsonArray().get(0).getAsString(), pair.getAsJsonArray().get(1).getAsString()}));
+        }
+        return new RecordedResponse(json.get("status").getAsInt(), optionalString(json, "statusText"), headers,
+                optionalString(json, "body"),
+                json.has("recordedAt") ? json.get("recordedAt").getAsLong() : 0,
+                json.has("durationMs") ? json.get("durationMs").getAsLong() : 0);
+    }
+
+    private static String optionalString(JsonObject json, String name) {
+        return json.has(name) && !json.get(name).isJsonNull() ? json.get(name).getAsString() : null;
+    }
+}
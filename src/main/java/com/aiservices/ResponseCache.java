@@ -0,0 +1,246 @@
+package com.aiservices;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import com.utils.EnvironmentConfig;
+import com.utils.HtmlReportGenerator;
+
+/**
+ * Content-addressed cache of successful responses, shared by every {@link ApiClient}.
+ * Identical concurrent requests are coalesced, and 2xx responses are kept in an LRU map
+ * and optionally on disk. Off unless {@code response_cache.enabled} is set.
+ */
+public class ResponseCache {
+
+    private static volatile ResponseCache shared;
+
+    private final long ttlMs;
+    private final int maxEntries;
+    private final Path diskDir;
+    private final Gson gson = new Gson();
+
+    private final Map<String, RecordedResponse> memory;
+    private final Map<String, CompletableFuture<ApiResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * @param diskDir directory of the disk tier, or null to keep responses in memory only
+     */
+    public ResponseCache(long ttlSeconds, int maxEntries, Path diskDir) {
+        this.ttlMs = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.maxEntries = maxEntries;
+        this.diskDir = diskDir;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, RecordedResponse> eldest) {
+                if (size() > ResponseCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * The suite-wide cache configured from the "response_cache" block.
+     */
+    public static ResponseCache shared() throws IOException {
+        if (shared == null) {
+            synchronized (ResponseCache.class) {
+                if (shared == null) {
+                    EnvironmentConfig config = EnvironmentConfig.get();
+                    Path diskDir = config.getBoolean("response_cache.disk_enabled", false)
+                            ? Paths.get(config.getString("response_cache.disk_dir", "target/response-cache"))
+                            : null;
+                    shared = new ResponseCache(
+                            config.getLong("response_cache.ttl_seconds", 900),
+                            config.getInt("response_cache.max_entries", 500),
+                            diskDir);
+                    HtmlReportGenerator.registerTable("responseCache", shared::reportTable);
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * Returns the cached response for the request, joins an identical call already in
+     * flight, or starts {@code loader} and caches its result if it is a 2xx response.
+     */
+    CompletableFuture<ApiResponse> get(ApiRequest request, Supplier<CompletableFuture<ApiResponse>> loader) {
+        String key = key(request);
+        RecordedResponse cached = lookup(key);
+        if (cached != null) {
+            System.out.println("Response cache hit for " + request.getUrl() + " (" + key.substring(0, 12) + ")");
+            return CompletableFuture.completedFuture(cached.toResponse());
+        }
+        CompletableFuture<ApiResponse> promise = new CompletableFuture<>();
+        CompletableFuture<ApiResponse> leader = inFlight.putIfAbsent(key, promise);
+        if (leader != null) {
+            coalesced.incrementAndGet();
+            System.out.println("Joining identical in-flight request to " + request.getUrl());
+            return leader.thenApply(response -> RecordedResponse.of(response, 0).toResponse());
+        }
+        misses.incrementAndGet();
+        CompletableFuture<ApiResponse> result;
+        try {
+            result = loader.get();
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        result.whenComplete((response, error) -> {
+            if (error == null && response.isSuccess()) {
+                store(key, RecordedResponse.of(response, 0));
+            }
+            inFlight.remove(key, promise);
+            if (error != null) {
+                promise.completeExceptionally(error);
+            } else {
+                promise.complete(response);
+            }
+        });
+        return result;
+    }
+
+    private RecordedResponse lookup(String key) {
+        long now = System.currentTimeMillis();
+        synchronized (memory) {
+            RecordedResponse entry = memory.get(key);
+            if (entry != null && now - entry.recordedAt < ttlMs) {
+                memoryHits.incrementAndGet();
+                return entry;
+            }
+            if (entry != null) {
+                memory.remove(key);
+            }
+        }
+        RecordedResponse entry = readDisk(key);
+        if (entry != null && now - entry.recordedAt < ttlMs) {
+            diskHits.incrementAndGet();
+            synchronized (memory) {
+                memory.put(key, entry);
+            }
+            return entry;
+        }
+        return null;
+    }
+
+    private void store(String key, RecordedResponse entry) {
+        synchronized (memory) {
+            memory.put(key, entry);
+        }
+        writeDisk(key, entry);
+    }
+
+    private RecordedResponse readDisk(String key) {
+        if (diskDir == null) {
+            return null;
+        }
+        Path file = diskDir.resolve(key + ".json");
+        if (!Files.exists(file)) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return RecordedResponse.fromJson(gson.fromJson(reader, JsonObject.class));
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring unreadable response cache file " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeDisk(String key, RecordedResponse entry) {
+        if (diskDir == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(diskDir);
+            Path temp = Files.createTempFile(diskDir, key, ".tmp");
+            try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                gson.toJson(entry.toJson(), writer);
+            }
+            Files.move(temp, diskDir.resolve(key + ".json"), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            System.err.println("Could not write response cache entry " + key + ": " + e.getMessage());
+        }
+    }
+
+    static String key(ApiRequest request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(request.getMethod().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(request.getUrl().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            if (request.getBody() != null) {
+                digest.update(request.getBody().getBytes(StandardCharsets.UTF_8));
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    public long getCoalesced() {
+        return coalesced.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    @Override
+    public String toString() {
+        return "ResponseCache{memoryHits=" + memoryHits + ", diskHits=" + diskHits + ", coalesced=" + coalesced
+                + ", misses=" + misses + ", evictions=" + evictions + "}";
+    }
+
+    private HtmlReportGenerator.ReportTable reportTable() {
+        HtmlReportGenerator.ReportTable table = new HtmlReportGenerator.ReportTable("Response Cache",
+                List.of("Memory Hits", "Disk Hits", "Coalesced", "Misses", "Entries", "Evictions", "TTL", "Disk Tier"));
+        if (memoryHits.get() + diskHits.get() + coalesced.get() + misses.get() == 0) {
+            return table;
+        }
+        int entries;
+        synchronized (memory) {
+            entries = memory.size();
+        }
+        table.addRow(List.of(String.valueOf(memoryHits), String.valueOf(diskHits), String.valueOf(coalesced),
+                String.valueOf(misses), String.valueOf(entries), String.valueOf(evictions),
+                TimeUnit.MILLISECONDS.toSeconds(ttlMs) + "s", diskDir != null ? diskDir.toString() : "off"));
+        return table;
+    }
+}
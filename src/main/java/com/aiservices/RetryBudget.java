@@ -0,0 +1,70 @@
+package com.aiservices;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps the total number of retries issued by the whole suite.
+ *
+ * Every original request deposits {@code ratio} of a retry; every retry withdraws
+ * one. On top of that a fixed allowance of {@code minRetries} lets a quiet suite
+ * retry a few isolated failures. When the service degrades, retries stop once the
+ * budget is spent instead of multiplying the load and the run time.
+ */
+public class RetryBudget {
+    private final double ratio;
+    private final long minRetries;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong retries = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+
+    public RetryBudget(double ratio, long minRetries) {
+        this.ratio = ratio;
+        this.minRetries = minRetries;
+    }
+
+    /**
+     * A budget that never refuses a retry.
+     */
+    public static RetryBudget unlimited() {
+        return new RetryBudget(0, Long.MAX_VALUE);
+    }
+
+    void recordRequest() {
+        requests.incrementAndGet();
+    }
+
+    /**
+     * Withdraws one retry if the budget allows it.
+     */
+    boolean tryAcquire() {
+        while (true) {
+            long used = retries.get();
+            double allowed = minRetries + ratio * requests.get();
+            if (used + 1 > allowed) {
+                rejected.incrementAndGet();
+                return false;
+            }
+            if (retries.compareAndSet(used, used + 1)) {
+                return true;
+            }
+        }
+    }
+
+    public long getRequests() {
+        return requests.get();
+    }
+
+    public long getRetries() {
+        return retries.get();
+    }
+
+    public long getRejectedRetries() {
+        return rejected.get();
+    }
+
+    @Override
+    public String toString() {
+        return "RetryBudget{requests=" + requests.get() + ", retries=" + retries.get()
+                + ", rejected=" + rejected.get() + "}";
+    }
+}
@@ -0,0 +1,179 @@
+package com.aiservices;
+
+import java.io.IOException;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeoutException;
+
+import javax.net.ssl.SSLPeerUnverifiedException;
+
+import com.google.gson.JsonElement;
+import com.utils.EnvironmentConfig;
+
+/**
+ * Decides whether, and after how long, {@link ApiClient} retries a failed call.
+ *
+ * Retryable failures are I/O errors such as connect and socket timeouts, and
+ * responses whose status is in {@code retryStatuses} (429 and 5xx gateway errors
+ * by default). Unknown hosts, certificate problems and other statuses are fatal.
+ * Delays grow exponentially with jitter, a Retry-After header is honoured, and
+ * every retry is charged to a {@link RetryBudget} shared by the whole suite.
+ */
+public class RetryPolicy {
+
+    private static final RetryBudget SUITE_BUDGET = createSuiteBudget();
+
+    private final int maxAttempts;
+    private final long baseDelayMs;
+    private final long maxDelayMs;
+    private final double multiplier;
+    private final double jitter;
+    private final long maxRetryAfterMs;
+    private final Set<Integer> retryStatuses;
+    private final RetryBudget budget;
+
+    public RetryPolicy(int maxAttempts, long baseDelayMs, long maxDelayMs, double multiplier, double jitter,
+                       long maxRetryAfterMs, Set<Integer> retryStatuses, RetryBudget budget) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1 but was " + maxAttempts);
+        }
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMs = baseDelayMs;
+        this.maxDelayMs = maxDelayMs;
+        this.multiplier = multiplier;
+        this.jitter = Math.max(0, Math.min(1, jitter));
+        this.maxRetryAfterMs = maxRetryAfterMs;
+        this.retryStatuses = Set.copyOf(retryStatuses);
+        this.budget = budget;
+    }
+
+    /**
+     * A policy that makes a single attempt.
+     */
+    public static RetryPolicy none() {
+        return new RetryPolicy(1, 0, 0, 1, 0, 0, Set.of(), RetryBudget.unlimited());
+    }
+
+    /**
+     * Builds the policy from the "retry" block of app_config.json, charging retries
+     * to the suite-wide budget.
+     */
+    public static RetryPolicy fromConfig(EnvironmentConfig config) {
+        Set<Integer> statuses = new TreeSet<>();
+        JsonElement configured = config.getSection("retry").get("retry_statuses");
+        if (configured != null && configured.isJsonArray()) {
+            configured.getAsJsonArray().forEach(status -> statuses.add(status.getAsInt()));
+        } else {
+            statuses.addAll(Set.of(429, 500, 502, 503, 504));
+        }
+        return new RetryPolicy(
+                config.getInt("retry.max_attempts", 3),
+                config.getLong("retry.base_delay_ms", 2000),
+                config.getLong("retry.max_delay_ms", 30000),
+                config.getDouble("retry.multiplier", 2.0),
+                config.getDouble("retry.jitter", 0.5),
+                config.getLong("retry.max_retry_after_ms", 60000),
+                statuses,
+                SUITE_BUDGET);
+    }
+
+    private static RetryBudget createSuiteBudget() {
+        try {
+            EnvironmentConfig config = EnvironmentConfig.get();
+            return new RetryBudget(config.getDouble("retry.budget_ratio", 0.2),
+                    config.getLong("retry.budget_min_retries", 20));
+        } catch (IOException e) {
+            System.err.println("Could not read retry budget settings, retries are unbudgeted: " + e.getMessage());
+            return RetryBudget.unlimited();
+        }
+    }
+
+    /**
+     * The retry budget shared by every policy created with {@link #fromConfig(EnvironmentConfig)}.
+     */
+    public static RetryBudget suiteBudget() {
+        return SUITE_BUDGET;
+    }
+
+    /**
+     * Returns how long to wait before attempt {@code attempt + 1}, or -1 if the call
+     * should not be retried.
+     *
+     * @param attempt  the attempt that just finished, starting at 1
+     * @param response the response, or null if the attempt failed with an exception
+     * @param error    the failure, or null if a response was received
+     */
+    public long retryDelayMs(int attempt, ApiResponse response, Throwable error) {
+        if (attempt == 1) {
+            budget.recordRequest();
+        }
+        if (!isRetryable(response, error) || attempt >= maxAttempts) {
+            return -1;
+        }
+        long delay = backoffMs(attempt);
+        long retryAfter = response != null ? retryAfterMs(response) : -1;
+        if (retryAfter > maxRetryAfterMs) {
+            System.out.println("Retry-After of " + retryAfter + "ms exceeds " + maxRetryAfterMs + "ms, not retrying");
+            return -1;
+        }
+        delay = Math.max(delay, retryAfter);
+        if (!budget.tryAcquire()) {
+            System.out.println("Retry budget exhausted (" + budget + "), not retrying");
+            return -1;
+        }
+        return delay;
+    }
+
+    public boolean isRetryable(ApiResponse response, Throwable error) {
+        if (error == null) {
+            return response != null && retryStatuses.contains(response.getStatus());
+        }
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof UnknownHostException || cause instanceof SSLPeerUnverifiedException) {
+                return false;
+            }
+            if (cause instanceof IOException || cause instanceof TimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    long backoffMs(int attempt) {
+        double exponential = baseDelayMs * Math.pow(multiplier, attempt - 1);
+        double capped = Math.min(maxDelayMs, exponential);
+        double jittered = capped * (1 - jitter * ThreadLocalRandom.current().nextDouble());
+        return Math.round(jittered);
+    }
+
+    static long retryAfterMs(ApiResponse response) {
+        String value = response.getHeaders() != null ? response.getHeaders().getFirst("Retry-After") : null;
+        if (value == null || value.isBlank()) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(value.trim()) * 1000;
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime at = ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(at.getZone()), at).toMillis());
+            } catch (DateTimeParseException ignored) {
+                return -1;
+            }
+        }
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public RetryBudget getBudget() {
+        return budget;
+    }
+}
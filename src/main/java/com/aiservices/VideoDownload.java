@@ -0,0 +1,96 @@
+package com.aiservices;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * A generated video that was streamed from the reel builder straight to disk.
+ * The body is copied through a fixed-size buffer, so heap usage does not grow with
+ * the size of the MP4; the SHA-256 digest and byte count are computed on the way.
+ */
+public class VideoDownload {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path path;
+    private final long sizeBytes;
+    private final String sha256;
+    private final long durationMs;
+
+    VideoDownload(Path path, long sizeBytes, String sha256, long durationMs) {
+        this.path = path;
+        this.sizeBytes = sizeBytes;
+        this.sha256 = sha256;
+        this.durationMs = durationMs;
+    }
+
+    /**
+     * Copies {@code body} into {@code target}, creating parent directories as needed.
+     *
+     * @param startNanos {@link System#nanoTime()} when the request was sent
+     */
+    static VideoDownload stream(InputStream body, Path target, long startNanos) throws IOException {
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+        MessageDigest digest = sha256Digest();
+        long bytes = 0;
+        try (ReadableByteChannel source = Channels.newChannel(body);
+             FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+            while (source.read(buffer) != -1) {
+                buffer.flip();
+                digest.update(buffer.array(), 0, buffer.limit());
+                while (buffer.hasRemaining()) {
+                    bytes += out.write(buffer);
+                }
+                buffer.clear();
+            }
+        }
+        long durationMs = (System.nanoTime() - startNanos) / 1_000_000;
+        return new VideoDownload(target, bytes, HexFormat.of().formatHex(digest.digest()), durationMs);
+    }
+
+    private static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    /**
+     * Time from sending the request until the last byte was written.
+     */
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    @Override
+    public String toString() {
+        return "VideoDownload{path=" + path.toAbsolutePath() + ", sizeBytes=" + sizeBytes
+                + ", sha256=" + sha256 + ", durationMs=" + durationMs + "}";
+    }
+}
@@ -0,0 +1,113 @@
+package com.aiservices;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An async reel builder job followed by {@link VideoJobTracker}: the video id, the
+ * statuses it went through and when each was first seen, and the last status response.
+ * Times are milliseconds since the job was submitted (or handed to the tracker).
+ *
+ * Only the tracker thread updates a job; read it once its future has completed.
+ */
+public final class VideoJob {
+
+    private final String id;
+    private final long startedNanos;
+    private final long acceptedMs;
+    private final Map<String, Long> statusFirstSeenMs = new LinkedHashMap<>();
+
+    private volatile String status;
+    private volatile int polls;
+    private volatile ApiResponse lastResponse;
+    private volatile long finishedMs = -1;
+
+    VideoJob(String id, String status, long startedNanos, ApiResponse submitResponse) {
+        this.id = id;
+        this.startedNanos = startedNanos;
+        this.lastResponse = submitResponse;
+        observe(status, submitResponse);
+        this.acceptedMs = elapsedMs();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * The last status reported by {@code /video-status}, e.g. "processing" or "completed".
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    public boolean isCompleted() {
+        return "completed".equals(status);
+    }
+
+    public int getPolls() {
+        return polls;
+    }
+
+    /**
+     * The last status response (the submit response until the first poll).
+     */
+    public ApiResponse getLastResponse() {
+        return lastResponse;
+    }
+
+    /**
+     * Statuses in the order they were seen, with the elapsed time when each was first seen.
+     */
+    public synchronized Map<String, Long> getStatusTimeline() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(statusFirstSeenMs));
+    }
+
+    /**
+     * Elapsed time when the status was first seen, or -1 if the job never reported it.
+     */
+    public synchronized long firstSeenMs(String status) {
+        return statusFirstSeenMs.getOrDefault(status, -1L);
+    }
+
+    /**
+     * Time from submission until the submit response (the job descriptor) was received.
+     */
+    public long getAcceptedMs() {
+        return acceptedMs;
+    }
+
+    /**
+     * Time from submission until the job was seen completed, or -1 while it is not.
+     */
+    public long getTimeToCompleteMs() {
+        return isCompleted() ? finishedMs : -1;
+    }
+
+    long elapsedMs() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+    }
+
+    void observe(String reported, ApiResponse response) {
+        long elapsed = elapsedMs();
+        synchronized (this) {
+            statusFirstSeenMs.putIfAbsent(reported, elapsed);
+        }
+        status = reported;
+        lastResponse = response;
+        if ("completed".equals(reported)) {
+            finishedMs = elapsed;
+        }
+    }
+
+    void polled() {
+        polls++;
+    }
+
+    @Override
+    public String toString() {
+        return "VideoJob{" + id + ", status=" + status + ", polls=" + polls + ", timeline=" + getStatusTimeline() + "}";
+    }
+}
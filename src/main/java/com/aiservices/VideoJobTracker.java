@@ -0,0 +1,277 @@
+package com.aiservices;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.utils.EnvironmentConfig;
+import com.utils.HtmlReportGenerator;
+
+/**
+ * Follows async reel builder jobs to completion from one scheduler thread, polling each
+ * job with exponential backoff (brought forward by reported progress) on the
+ * non-blocking client. Time-to-complete is shown in the HTML report.
+ */
+public final class VideoJobTracker {
+
+    private static volatile VideoJobTracker shared;
+
+    private final long initialIntervalMs;
+    private final long maxIntervalMs;
+    private final double backoffMultiplier;
+    private final long timeoutMs;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "video-job-tracker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, VideoJob> outstanding = new ConcurrentHashMap<>();
+    private final LatencyHistogram timeToComplete = new LatencyHistogram();
+    private final AtomicLong tracked = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong polls = new AtomicLong();
+
+    static {
+        HtmlReportGenerator.registerTable("videoJobs", () -> shared != null ? shared.reportTable() : null);
+    }
+
+    public VideoJobTracker(long initialIntervalMs, long maxIntervalMs, double backoffMultiplier, long timeoutMs) {
+        this.initialIntervalMs = Math.max(1, initialIntervalMs);
+        this.maxIntervalMs = Math.max(this.initialIntervalMs, maxIntervalMs);
+        this.backoffMultiplier = Math.max(1.0, backoffMultiplier);
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * The tracker shared by the suites, configured from the "video_tracker" block.
+     */
+    public static VideoJobTracker shared() {
+        if (shared == null) {
+            synchronized (VideoJobTracker.class) {
+                if (shared == null) {
+                    shared = fromConfig();
+                }
+            }
+        }
+        return shared;
+    }
+
+    private static VideoJobTracker fromConfig() {
+        try {
+            EnvironmentConfig config = EnvironmentConfig.get();
+            return new VideoJobTracker(
+                    config.getLong("video_tracker.initial_interval_ms", 1000),
+                    config.getLong("video_tracker.max_interval_ms", 10000),
+                    config.getDouble("video_tracker.backoff_multiplier", 1.5),
+                    config.getLong("video_tracker.timeout_ms", 120000));
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to configure video job tracker: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Submits an {@code async=true} video job and follows it until it completes; the
+     * time to complete includes the submit call.
+     */
+    public CompletableFuture<VideoJob> submit(ApiClient client, String endpoint, String jsonBody) {
+        long startedNanos = System.nanoTime();
+        return client.submitVideoGenerationAsync(endpoint, jsonBody)
+                .thenCompose(response -> track(client, response, startedNanos));
+    }
+
+    /**
+     * Follows the job described by a submit response ({@code id} and {@code status}).
+     */
+    public CompletableFuture<VideoJob> track(ApiClient client, ApiResponse submitResponse) {
+        return track(client, submitResponse, System.nanoTime());
+    }
+
+    private CompletableFuture<VideoJob> track(ApiClient client, ApiResponse submitResponse, long startedNanos) {
+        JsonObject descriptor;
+        try {
+            descriptor = submitResponse.getObject();
+        } catch (IllegalStateException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        String id = string(descriptor, "id");
+        if (id == null) {
+            return CompletableFuture.failedFuture(new IllegalStateException(
+                    "Video job response has no id - Status: " + submitResponse.getStatus() + ": " + submitResponse.getBody()));
+        }
+        VideoJob job = new VideoJob(id, status(descriptor), startedNanos, submitResponse);
+        CompletableFuture<VideoJob> future = new CompletableFuture<>();
+        tracked.incrementAndGet();
+        outstanding.put(id, job);
+        future.whenComplete((result, error) -> outstanding.remove(id, job));
+        if (job.isCompleted()) {
+            finish(job, future);
+        } else {
+            scheduler.schedule(() -> poll(client, job, future, initialIntervalMs), initialIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        return future;
+    }
+
+    private void poll(ApiClient client, VideoJob job, CompletableFuture<VideoJob> future, long intervalMs) {
+        if (future.isDone()) {
+            return;
+        }
+        if (job.elapsedMs() >= timeoutMs) {
+            timedOut.incrementAndGet();
+            future.completeExceptionally(new TimeoutException("Video " + job.getId() + " was not completed after "
+                    + timeoutMs + "ms (status " + job.getStatus() + ", " + job.getPolls() + " polls)"));
+            return;
+        }
+        job.polled();
+        polls.incrementAndGet();
+        client.getApiDataAsync(Constants.VIDEO_STATUS_ENDPOINT + job.getId())
+                .whenCompleteAsync((response, error) -> {
+                    try {
+                        handle(client, job, future, intervalMs, response, error);
+                    } catch (RuntimeException e) {
+                        failed.incrementAndGet();
+                        future.completeExceptionally(e);
+                    }
+                }, scheduler);
+    }
+
+    private void handle(ApiClient client, VideoJob job, CompletableFuture<VideoJob> future, long intervalMs,
+                        ApiResponse response, Throwable error) {
+        if (error != null) {
+            failed.incrementAndGet();
+            future.completeExceptionally(error);
+            return;
+        }
+        if (!response.isSuccess()) {
+            // Retryable statuses were already retried by the client; anything left is final
+            failed.incrementAndGet();
+            future.completeExceptionally(new IllegalStateException("Status poll of video " + job.getId()
+                    + " failed - Status: " + response.getStatus() + ": " + response.getBody()));
+            return;
+        }
+        JsonObject body = response.getObject();
+        String status = string(body, "status");
+        if (status == null) {
+            failed.incrementAndGet();
+            future.completeExceptionally(new IllegalStateException("Status of video " + job.getId()
+                    + " has no status field: " + response.getBody()));
+            return;
+        }
+        job.observe(status, response);
+        if (job.isCompleted()) {
+            finish(job, future);
+            return;
+        }
+        if ("failed".equals(status) || "error".equals(status)) {
+            failed.incrementAndGet();
+            future.completeExceptionally(new IllegalStateException("Video " + job.getId() + " " + status + ": " + response.getBody()));
+            return;
+        }
+        long nextIntervalMs = Math.min(maxIntervalMs, (long) Math.ceil(intervalMs * backoffMultiplier));
+        long delayMs = Math.min(nextIntervalMs, estimatedRemainingMs(job, body));
+        long remainingMs = timeoutMs - job.elapsedMs();
+        scheduler.schedule(() -> poll(client, job, future, nextIntervalMs),
+                Math.max(0, Math.min(delayMs, remainingMs)), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Time left until completion extrapolated from the reported progress (0-100), at least
+     * {@code initialIntervalMs}; unbounded when no usable progress is reported.
+     */
+    private long estimatedRemainingMs(VideoJob job, JsonObject body) {
+        JsonElement progress = body.get("progress");
+        if (progress == null || !progress.isJsonPrimitive() || !progress.getAsJsonPrimitive().isNumber()) {
+            return Long.MAX_VALUE;
+        }
+        double percent = progress.getAsDouble();
+        if (percent <= 0 || percent >= 100) {
+            return Long.MAX_VALUE;
+        }
+        long remaining = (long) Math.ceil(job.elapsedMs() * (100 - percent) / percent);
+        return Math.max(initialIntervalMs, remaining);
+    }
+
+    private void finish(VideoJob job, CompletableFuture<VideoJob> future) {
+        completed.incrementAndGet();
+        timeToComplete.record(job.getTimeToCompleteMs());
+        future.complete(job);
+    }
+
+    private static String status(JsonObject body) {
+        String status = string(body, "status");
+        return status != null ? status : "unknown";
+    }
+
+    private static String string(JsonObject body, String field) {
+        JsonElement value = body.get(field);
+        return value != null && value.isJsonPrimitive() ? value.getAsString() : null;
+    }
+
+    /**
+     * Jobs currently being followed, by video id.
+     */
+    public Map<String, VideoJob> getOutstanding() {
+        return Map.copyOf(outstanding);
+    }
+
+    /**
+     * Time-to-complete of completed jobs, in milliseconds.
+     */
+    public LatencyHistogram getTimeToComplete() {
+        return timeToComplete;
+    }
+
+    public long getTracked() {
+        return tracked.get();
+    }
+
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public long getTimedOut() {
+        return timedOut.get();
+    }
+
+    public long getPolls() {
+        return polls.get();
+    }
+
+    @Override
+    public String toString() {
+        return "VideoJobTracker{tracked=" + getTracked() + ", completed=" + getCompleted() + ", failed=" + getFailed()
+                + ", timedOut=" + getTimedOut() + ", polls=" + getPolls() + ", timeToComplete=" + timeToComplete + "}";
+    }
+
+    HtmlReportGenerator.ReportTable reportTable() {
+        HtmlReportGenerator.ReportTable table = new HtmlReportGenerator.ReportTable("Video Jobs",
+                List.of("Tracked", "Completed", "Failed", "Timed Out", "Status Polls", "Polls/Job",
+                        "p50 (s)", "p90 (s)", "p99 (s)", "Max (s)"));
+        long jobs = getTracked();
+        table.addRow(List.of(String.valueOf(jobs), String.valueOf(getCompleted()), String.valueOf(getFailed()),
+                String.valueOf(getTimedOut()), String.valueOf(getPolls()),
+                jobs == 0 ? "0.0" : String.format("%.1f", (double) getPolls() / jobs),
+                seconds(timeToComplete.percentile(50)), seconds(timeToComplete.percentile(90)),
+                seconds(timeToComplete.percentile(99)), seconds(timeToComplete.getMax())));
+        return table;
+    }
+
+    private static String seconds(long millis) {
+        return String.format("%.1f", millis / 1000.0);
+    }
+}
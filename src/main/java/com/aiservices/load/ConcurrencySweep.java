@@ -0,0 +1,280 @@
+package com.aiservices.load;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.aiservices.ApiClient;
+import com.aiservices.ApiResponse;
+import com.utils.EnvironmentConfig;
+import com.utils.HtmlReportGenerator;
+
+/**
+ * Closed-model concurrency sweep of one endpoint on a {@link ApiClient#raw() raw}
+ * client: each level keeps that many requests in flight, and the knee is the level
+ * with the highest throughput divided by mean latency.
+ */
+public final class ConcurrencySweep {
+
+    // Pause before a slot sends again after a failure, so a refused connection does not
+    // turn the slot into a busy loop.
+    private static final long ERROR_PAUSE_MS = 100;
+    private static final List<Result> RESULTS = new CopyOnWriteArrayList<>();
+
+    static {
+        HtmlReportGenerator.registerTable("concurrencySweep", ConcurrencySweep::reportTable);
+    }
+
+    private final ApiClient client;
+    private final LoadTarget target;
+    private final String endpoint;
+    private final int[] levels;
+    private final long stepMs;
+    private final long warmupMs;
+
+    public ConcurrencySweep(ApiClient client, LoadTarget target, String endpoint, int[] levels, long stepMs, long warmupMs) {
+        if (levels.length == 0 || Arrays.stream(levels).anyMatch(level -> level < 1)) {
+            throw new IllegalArgumentException("Concurrency levels must be at least 1: " + Arrays.toString(levels));
+        }
+        this.client = client;
+        this.target = target;
+        this.endpoint = endpoint;
+        this.levels = levels.clone();
+        this.stepMs = stepMs;
+        this.warmupMs = warmupMs;
+    }
+
+    /**
+     * A sweep configured from the "sweep" block. {@code sweep.endpoint} is a
+     * {@link com.aiservices.Constants} name or a path; bodies come from
+     * {@code sweep.payloads} or the endpoint's default data. The response cache is bypassed.
+     */
+    public static ConcurrencySweep fromConfig(ApiClient client) throws IOException {
+        EnvironmentConfig config = EnvironmentConfig.get();
+        String endpoint = LoadTarget.endpoint(config.getString("sweep.endpoint", "EXECUTE_PROMPT_ENDPOINT"));
+        List<String> directories = Arrays.stream(config.getString("sweep.payloads", "").split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .toList();
+        int[] levels = Arrays.stream(config.getString("sweep.levels", "1,2,4,8,16,32,64").split(","))
+                .map(String::trim)
+                .filter(level -> !level.isEmpty())
+                .mapToInt(Integer::parseInt)
+                .toArray();
+        long seed = config.getLong("sweep.seed", 0);
+        LoadTarget target = LoadTarget.forEndpoint(endpoint, RequestBodies.load(endpoint, directories),
+                seed != 0 ? new Random(seed) : new Random());
+        return new ConcurrencySweep(client.raw(), target, endpoint, levels,
+                TimeUnit.SECONDS.toMillis(config.getLong("sweep.step_seconds", 30)),
+                TimeUnit.SECONDS.toMillis(config.getLong("sweep.warmup_seconds", 5)));
+    }
+
+    public Result run() {
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "concurrency-sweep");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<Step> steps = new ArrayList<>();
+        try {
+            for (int level : levels) {
+                Step step = runStep(level, executor);
+                System.out.println(step);
+                steps.add(step);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        Result result = new Result(endpoint, steps);
+        System.out.println(result);
+        RESULTS.add(result);
+        return result;
+    }
+
+    private Step runStep(int level, ScheduledExecutorService executor) {
+        LoadMetrics metrics = new LoadMetrics(endpoint + " x" + level);
+        long measureFrom = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(warmupMs);
+        long end = measureFrom + TimeUnit.MILLISECONDS.toNanos(stepMs);
+        metrics.start(measureFrom);
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        AtomicInteger slots = new AtomicInteger(level);
+        for (int i = 0; i < level; i++) {
+            executor.execute(() -> sendNext(metrics, measureFrom, end, slots, done, executor));
+        }
+        done.join();
+        metrics.finish(end);
+        return new Step(level, metrics);
+    }
+
+    private void sendNext(LoadMetrics metrics, long measureFrom, long end, AtomicInteger slots,
+                          CompletableFuture<Void> done, ScheduledExecutorService executor) {
+        long sentNanos = System.nanoTime();
+        if (sentNanos >= end) {
+            if (slots.decrementAndGet() == 0) {
+                done.complete(null);
+            }
+            return;
+        }
+        boolean measured = sentNanos >= measureFrom;
+        if (measured) {
+            metrics.sending();
+        }
+        CompletableFuture<ApiResponse> response;
+        try {
+            response = target.send(client);
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+        response.whenCompleteAsync((r, error) -> {
+            if (measured) {
+                if (System.nanoTime() <= end) {
+                    metrics.record(sentNanos, sentNanos, r, error);
+                } else {
+                    metrics.abandoned();
+                }
+            }
+            Runnable next = () -> sendNext(metrics, measureFrom, end, slots, done, executor);
+            if (error != null) {
+                executor.schedule(next, ERROR_PAUSE_MS, TimeUnit.MILLISECONDS);
+            } else {
+                next.run();
+            }
+        }, executor);
+    }
+
+    public static List<Result> getResults() {
+        return List.copyOf(RESULTS);
+    }
+
+    /**
+     * One concurrency level of a sweep.
+     */
+    public static final class Step {
+        private final int concurrency;
+        private final LoadMetrics metrics;
+
+        Step(int concurrency, LoadMetrics metrics) {
+            this.concurrency = concurrency;
+            this.metrics = metrics;
+        }
+
+        public int getConcurrency() {
+            return concurrency;
+        }
+
+        public LoadMetrics getMetrics() {
+            return metrics;
+        }
+
+        /**
+         * Completed requests per second in the measured window.
+         */
+        public double getThroughput() {
+            return metrics.getThroughput();
+        }
+
+        /**
+         * Throughput divided by mean latency in seconds; 0 when nothing completed.
+         */
+        public double getPower() {
+            double meanSeconds = metrics.getLatency().getMean() / 1_000_000.0;
+            return meanSeconds == 0 ? 0 : getThroughput() / meanSeconds;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("[sweep] %s: %.2f/s p50=%s p90=%s p99=%s errors=%d power=%.2f", metrics.getName(),
+                    getThroughput(), LoadMetrics.millis(metrics.getLatency().percentile(50)),
+                    LoadMetrics.millis(metrics.getLatency().percentile(90)),
+                    LoadMetrics.millis(metrics.getLatency().percentile(99)), metrics.getFailed(), getPower());
+        }
+    }
+
+    /**
+     * The steps of a sweep in order, and the knee.
+     */
+    public static final class Result {
+        private final String endpoint;
+        private final List<Step> steps;
+        private final Step knee;
+
+        Result(String endpoint, List<Step> steps) {
+            this.endpoint = endpoint;
+            this.steps = List.copyOf(steps);
+            Step best = null;
+            for (Step step : steps) {
+                if (step.getPower() > 0 && (best == null || step.getPower() > best.getPower())) {
+                    best = step;
+                }
+            }
+            this.knee = best;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public List<Step> getSteps() {
+            return steps;
+        }
+
+        /**
+         * The step with the highest power, or null if no step completed a request.
+         */
+        public Step getKnee() {
+            return knee;
+        }
+
+        public double getPeakThroughput() {
+            return steps.stream().mapToDouble(Step::getThroughput).max().orElse(0);
+        }
+
+        @Override
+        public String toString() {
+            return knee == null
+                    ? "ConcurrencySweep{" + endpoint + ": no requests completed}"
+                    : String.format("ConcurrencySweep{%s: knee at %d in flight (%.2f/s, p50=%s), peak %.2f/s}", endpoint,
+                    knee.getConcurrency(), knee.getThroughput(), LoadMetrics.millis(knee.getMetrics().getLatency().percentile(50)),
+                    getPeakThroughput());
+        }
+
+        private List<List<String>> reportRows() {
+            List<List<String>> rows = new ArrayList<>();
+            for (Step step : steps) {
+                LoadMetrics metrics = step.getMetrics();
+                rows.add(List.of(endpoint, String.valueOf(step.getConcurrency()), String.format("%.2f", step.getThroughput()),
+                        String.valueOf(metrics.getLatency().percentile(50) / 1000),
+                        String.valueOf(metrics.getLatency().percentile(90) / 1000),
+                        String.valueOf(metrics.getLatency().percentile(99) / 1000),
+                        String.valueOf(metrics.getFailed()), String.format("%.2f", step.getPower()),
+                        step == knee ? "knee" : ""));
+            }
+            return rows;
+        }
+    }
+
+    static HtmlReportGenerator.ReportTable reportTable() {
+        HtmlReportGenerator.ReportTable table = new HtmlReportGenerator.ReportTable("Concurrency Sweep",
+                List.of("Endpoint", "In Flight", "Throughput (/s)", "p50 (ms)", "p90 (ms)", "p99 (ms)", "Errors",
+                        "Power", "Knee"));
+        RESULTS.forEach(result -> result.reportRows().forEach(table::addRow));
+        return table;
+    }
+
+    /**
+     * Runs the configured sweep outside the test suite, e.g.
+     * {@code mvn -q compile exec:java -Dexec.mainClass=com.aiservices.load.ConcurrencySweep -Dsweep.endpoint=CREATE_EXPERIENCE_ENDPOINT}.
+     */
+    public static void main(String[] args) throws IOException {
+        Result result = fromConfig(new ApiClient()).run();
+        System.exit(result.getKnee() != null ? 0 : 1);
+    }
+}
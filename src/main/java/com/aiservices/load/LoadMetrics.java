@@ -0,0 +1,214 @@
+package com.aiservices.load;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.aiservices.ApiResponse;
+import com.aiservices.LatencyHistogram;
+
+/**
+ * Outcomes of the requests sent by a load run, for one target. Latency is measured
+ * from when a request was due, service time from when it was written to its connection.
+ */
+public final class LoadMetrics {
+
+    private final String name;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final LatencyHistogram serviceTime = new LatencyHistogram();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final AtomicLong outstanding = new AtomicLong();
+
+    private volatile Window window = new Window(System.nanoTime());
+    private volatile long startedNanos = System.nanoTime();
+    private volatile long finishedNanos;
+
+    public LoadMetrics(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    void start(long nanos) {
+        startedNanos = nanos;
+        window = new Window(nanos);
+    }
+
+    void finish(long nanos) {
+        finishedNanos = nanos;
+    }
+
+    void sending() {
+        sent.increment();
+        outstanding.incrementAndGet();
+        window.sent.increment();
+    }
+
+    /**
+     * An arrival that was not sent because the client already had too many requests
+     * outstanding; counted as an error.
+     */
+    void dropped() {
+        dropped.increment();
+        errors.computeIfAbsent("dropped", key -> new LongAdder()).increment();
+        window.failed.increment();
+    }
+
+    /**
+     * A request that finished outside the measured window: no longer outstanding, but
+     * neither its outcome nor its latency is recorded.
+     */
+    void abandoned() {
+        outstanding.decrementAndGet();
+    }
+
+    /**
+     * Records a finished request.
+     *
+     * @param dueNanos  when the request should have been sent
+     * @param sentNanos when it was handed to the client, used when the response does
+     *                  not tell when it was written to the connection
+     */
+    void record(long dueNanos, long sentNanos, ApiResponse response, Throwable error) {
+        long now = System.nanoTime();
+        outstanding.decrementAndGet();
+        long latencyMicros = TimeUnit.NANOSECONDS.toMicros(now - dueNanos);
+        latency.record(latencyMicros);
+        long leftNanos = response != null && response.getSentNanos() > 0 ? response.getSentNanos() : sentNanos;
+        serviceTime.record(TimeUnit.NANOSECONDS.toMicros(now - leftNanos));
+        Window current = window;
+        current.latency.record(latencyMicros);
+        String kind = error != null ? errorKind(error) : response.isSuccess() ? null : "HTTP " + response.getStatus();
+        if (kind == null) {
+            succeeded.increment();
+            current.succeeded.increment();
+        } else {
+            failed.increment();
+            current.failed.increment();
+            errors.computeIfAbsent(kind, key -> new LongAdder()).increment();
+        }
+    }
+
+    private static String errorKind(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause.getClass().getSimpleName();
+    }
+
+    /**
+     * Latency from when each request was due, in microseconds.
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    /**
+     * Latency from when each request was actually sent, in microseconds.
+     */
+    public LatencyHistogram getServiceTime() {
+        return serviceTime;
+    }
+
+    public long getSent() {
+        return sent.sum();
+    }
+
+    public long getSucceeded() {
+        return succeeded.sum();
+    }
+
+    /**
+     * Requests that failed or were answered with a non-2xx status.
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getOutstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * Failed and dropped requests as a fraction of all arrivals.
+     */
+    public double getErrorRate() {
+        long arrivals = getSent() + getDropped();
+        return arrivals == 0 ? 0 : (double) (getFailed() + getDropped()) / arrivals;
+    }
+
+    /**
+     * Error counts by kind: "HTTP <status>", the exception class, or "dropped".
+     */
+    public Map<String, Long> getErrors() {
+        Map<String, Long> counts = new TreeMap<>();
+        errors.forEach((kind, count) -> counts.put(kind, count.sum()));
+        return counts;
+    }
+
+    public long getElapsedMs() {
+        long end = finishedNanos != 0 ? finishedNanos : System.nanoTime();
+        return TimeUnit.NANOSECONDS.toMillis(end - startedNanos);
+    }
+
+    /**
+     * Completed requests per second over the run so far.
+     */
+    public double getThroughput() {
+        long elapsedMs = getElapsedMs();
+        return elapsedMs == 0 ? 0 : (getSucceeded() + getFailed()) * 1000.0 / elapsedMs;
+    }
+
+    /**
+     * One line describing the window since the previous readout (send rate, completions,
+     * errors and latency percentiles), after which a new window starts.
+     */
+    String readout(long nowNanos) {
+        Window previous = window;
+        window = new Window(nowNanos);
+        double seconds = Math.max(1e-9, (nowNanos - previous.startedNanos) / 1e9);
+        return String.format("[%s] t=%ds sent=%.1f/s ok=%d err=%d outstanding=%d p50=%s p90=%s p99=%s max=%s",
+                name, TimeUnit.NANOSECONDS.toSeconds(nowNanos - startedNanos), previous.sent.sum() / seconds,
+                previous.succeeded.sum(), previous.failed.sum(), getOutstanding(),
+                millis(previous.latency.percentile(50)), millis(previous.latency.percentile(90)),
+                millis(previous.latency.percentile(99)), millis(previous.latency.getMax()));
+    }
+
+    static String millis(long micros) {
+        return String.format("%.0fms", micros / 1000.0);
+    }
+
+    @Override
+    public String toString() {
+        return "LoadMetrics{" + name + ", sent=" + getSent() + ", ok=" + getSucceeded() + ", failed=" + getFailed()
+                + ", dropped=" + getDropped() + ", errors=" + getErrors() + ", throughput="
+                + String.format("%.2f/s", getThroughput()) + ", latency=" + latency + ", serviceTime=" + serviceTime + "}";
+    }
+
+    private static final class Window {
+        private final long startedNanos;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder succeeded = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+
+        private Window(long startedNanos) {
+            this.startedNanos = startedNanos;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.aiservices.load;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+
+import com.aiservices.ApiClient;
+import com.aiservices.ApiResponse;
+import com.aiservices.Constants;
+
+/**
+ * One request of a load run: sends it with the non-blocking client and completes with
+ * the response.
+ */
+@FunctionalInterface
+public interface LoadTarget {
+
+    CompletableFuture<ApiResponse> send(ApiClient client);
+
+    /**
+     * {@code executeAIPrompt} with a body picked at random from {@code bodies} for each request.
+     */
+    static LoadTarget prompts(List<String> bodies, Random random) {
+        return forEndpoint(Constants.EXECUTE_PROMPT_ENDPOINT, bodies, random);
+    }
+
+    /**
+     * Calls {@code endpoint} through the {@link ApiClient} method that serves it (a plain
+     * POST to the base URL for endpoints without one), with a body picked at random from
+     * {@code bodies} for each request. Video generation only submits the job.
+     */
+    static LoadTarget forEndpoint(String endpoint, List<String> bodies, Random random) {
+        if (bodies.isEmpty()) {
+            throw new IllegalArgumentException("No request bodies to send to " + endpoint);
+        }
+        List<String> copy = List.copyOf(bodies);
+        return client -> {
+            String body = copy.get(random.nextInt(copy.size()));
+            switch (endpoint) {
+                case Constants.EXECUTE_PROMPT_ENDPOINT:
+                    return client.executeAIPromptAsync(endpoint, body);
+                case Constants.CREATE_EXPERIENCE_ENDPOINT:
+                    return client.createExperienceWithPackageAsync(endpoint, body);
+                case Constants.GENERATE_VIDEO_ENDPOINT:
+                    return client.submitVideoGenerationAsync(endpoint, body);
+                case Constants.IMAGE_SUMMARY_ENDPOINT:
+                    // The experience service base URL already ends with a slash.
+                    return client.generateImageDescriptionAsync(endpoint.substring(1), body);
+                case Constants.FLIGHT_RECOMMENDATION_ENDPOINT:
+                    return client.generateFlightRecommendationAsync(endpoint, body);
+                default:
+                    return client.postApiDataAsync(endpoint, body);
+            }
+        };
+    }
+
+    /**
+     * The path of a {@link Constants} field named {@code nameOrPath} (e.g.
+     * "EXECUTE_PROMPT_ENDPOINT"), or {@code nameOrPath} itself when it is a path.
+     */
+    static String endpoint(String nameOrPath) {
+        if (nameOrPath.startsWith("/")) {
+            return nameOrPath;
+        }
+        try {
+            return (String) Constants.class.getField(nameOrPath).get(null);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalArgumentException("Unknown endpoint " + nameOrPath + "; use a Constants name or a path", e);
+        }
+    }
+}
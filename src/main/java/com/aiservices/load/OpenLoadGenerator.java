@@ -0,0 +1,333 @@
+package com.aiservices.load;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import com.aiservices.ApiClient;
+import com.aiservices.ApiResponse;
+import com.aiservices.LatencyHistogram;
+import com.utils.EnvironmentConfig;
+import com.utils.HtmlReportGenerator;
+
+/**
+ * Open-model load: sends requests on a {@link com.aiservices.ApiClient#raw() raw} client
+ * at a constant arrival rate, whether or not earlier ones have been answered, and
+ * measures latency from each request's due time. Arrivals may be split across
+ * weighted {@link Scenario}s.
+ */
+public final class OpenLoadGenerator {
+
+    private static final List<Result> RESULTS = new CopyOnWriteArrayList<>();
+
+    static {
+        HtmlReportGenerator.registerTable("openLoad", OpenLoadGenerator::reportTable);
+    }
+
+    private final ApiClient client;
+    private final List<Scenario> scenarios;
+    private final double[] cumulativeWeights;
+    private final Random random;
+    private final String name;
+    private final double ratePerSecond;
+    private final long durationMs;
+    private final int maxOutstanding;
+    private final long readoutIntervalMs;
+
+    public OpenLoadGenerator(ApiClient client, LoadTarget target, String name, double ratePerSecond, long durationMs,
+                             int maxOutstanding, long readoutIntervalMs) {
+        this(client, List.of(new Scenario(name, 1, target)), name, new Random(), ratePerSecond, durationMs,
+                maxOutstanding, readoutIntervalMs);
+    }
+
+    /**
+     * A generator that shares the arrivals between {@code scenarios}; {@code random}
+     * picks the scenario of each arrival.
+     */
+    public OpenLoadGenerator(ApiClient client, List<Scenario> scenarios, String name, Random random, double ratePerSecond,
+                             long durationMs, int maxOutstanding, long readoutIntervalMs) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Arrival rate must be positive: " + ratePerSecond);
+        }
+        if (scenarios.isEmpty()) {
+            throw new IllegalArgumentException("An open-model run needs at least one scenario");
+        }
+        this.client = client;
+        this.scenarios = List.copyOf(scenarios);
+        this.cumulativeWeights = new double[scenarios.size()];
+        double total = 0;
+        for (int i = 0; i < scenarios.size(); i++) {
+            total += scenarios.get(i).getWeight();
+            cumulativeWeights[i] = total;
+        }
+        this.random = random;
+        this.name = name;
+        this.ratePerSecond = ratePerSecond;
+        this.durationMs = durationMs;
+        this.maxOutstanding = maxOutstanding;
+        this.readoutIntervalMs = readoutIntervalMs;
+    }
+
+    /**
+     * A generator of {@code executeAIPrompt} load from the "load" block, drawing bodies
+     * from the prompt requests in {@code load.payloads}. The response cache is bypassed
+     * so that every arrival reaches the service.
+     */
+    public static OpenLoadGenerator fromConfig(ApiClient client) throws IOException {
+        EnvironmentConfig config = EnvironmentConfig.get();
+        List<String> directories = Arrays.stream(config.getString("load.payloads", "smartaifill,categories").split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .toList();
+        long seed = config.getLong("load.seed", 0);
+        LoadTarget prompts = LoadTarget.prompts(PromptPayloads.load(directories), seed != 0 ? new Random(seed) : new Random());
+        return new OpenLoadGenerator(client.raw(), prompts, "prompt " + String.join("+", directories),
+                config.getDouble("load.rate_per_second", 5),
+                TimeUnit.SECONDS.toMillis(config.getLong("load.duration_seconds", 60)),
+                config.getInt("load.max_outstanding", 500),
+                TimeUnit.SECONDS.toMillis(config.getLong("load.readout_interval_seconds", 5)));
+    }
+
+    /**
+     * Sends arrivals for {@code durationMs}, then waits for the outstanding requests.
+     */
+    public Result run() {
+        LoadMetrics metrics = new LoadMetrics(name);
+        Map<Scenario, LoadMetrics> scenarioMetrics = new LinkedHashMap<>();
+        if (scenarios.size() > 1) {
+            scenarios.forEach(scenario -> scenarioMetrics.put(scenario, new LoadMetrics(scenario.getName())));
+        }
+        long intervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / ratePerSecond);
+        long arrivals = Math.max(1, (long) Math.floor(durationMs / 1000.0 * ratePerSecond));
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "open-load");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long startNanos = System.nanoTime();
+        Dispatcher dispatcher = new Dispatcher(scheduler, metrics, scenarioMetrics, startNanos, intervalNanos, arrivals);
+        metrics.start(startNanos);
+        scenarioMetrics.values().forEach(scenario -> scenario.start(startNanos));
+        if (readoutIntervalMs > 0) {
+            scheduler.scheduleAtFixedRate(() -> {
+                long now = System.nanoTime();
+                System.out.println(metrics.readout(now));
+                scenarioMetrics.values().forEach(scenario -> System.out.println(scenario.readout(now)));
+            }, readoutIntervalMs, readoutIntervalMs, TimeUnit.MILLISECONDS);
+        }
+        try {
+            scheduler.execute(dispatcher::sendDue);
+            dispatcher.done.join();
+        } finally {
+            scheduler.shutdownNow();
+        }
+        long finishedNanos = System.nanoTime();
+        metrics.finish(finishedNanos);
+        Map<String, Double> scenarioRates = new LinkedHashMap<>();
+        Map<String, LoadMetrics> byName = new LinkedHashMap<>();
+        scenarioMetrics.forEach((scenario, scenarioRun) -> {
+            scenarioRun.finish(finishedNanos);
+            scenarioRates.put(scenario.getName(), ratePerSecond * scenario.getWeight() / cumulativeWeights[cumulativeWeights.length - 1]);
+            byName.put(scenario.getName(), scenarioRun);
+        });
+        Result result = new Result(ratePerSecond, durationMs, metrics, scenarioRates, byName);
+        System.out.println(result);
+        RESULTS.add(result);
+        return result;
+    }
+
+    /**
+     * Runs on the scheduler thread only.
+     */
+    private final class Dispatcher {
+        private final ScheduledExecutorService scheduler;
+        private final LoadMetrics metrics;
+        private final Map<Scenario, LoadMetrics> scenarioMetrics;
+        private final long startNanos;
+        private final long intervalNanos;
+        private final long arrivals;
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private long next;
+        private long pending;
+
+        private Dispatcher(ScheduledExecutorService scheduler, LoadMetrics metrics, Map<Scenario, LoadMetrics> scenarioMetrics,
+                           long startNanos, long intervalNanos, long arrivals) {
+            this.scheduler = scheduler;
+            this.metrics = metrics;
+            this.scenarioMetrics = scenarioMetrics;
+            this.startNanos = startNanos;
+            this.intervalNanos = intervalNanos;
+            this.arrivals = arrivals;
+        }
+
+        private void sendDue() {
+            long now = System.nanoTime();
+            while (next < arrivals && startNanos + next * intervalNanos <= now) {
+                send(startNanos + next * intervalNanos);
+                next++;
+            }
+            if (next < arrivals) {
+                scheduler.schedule(this::sendDue, startNanos + next * intervalNanos - now, TimeUnit.NANOSECONDS);
+            } else if (pending == 0) {
+                done.complete(null);
+            }
+        }
+
+        private void send(long dueNanos) {
+            Scenario scenario = pick();
+            LoadMetrics scenarioRun = scenarioMetrics.get(scenario);
+            if (metrics.getOutstanding() >= maxOutstanding) {
+                metrics.dropped();
+                if (scenarioRun != null) {
+                    scenarioRun.dropped();
+                }
+                return;
+            }
+            metrics.sending();
+            if (scenarioRun != null) {
+                scenarioRun.sending();
+            }
+            pending++;
+            long sentNanos = System.nanoTime();
+            CompletableFuture<ApiResponse> response;
+            try {
+                response = scenario.getTarget().send(client);
+            } catch (RuntimeException e) {
+                response = CompletableFuture.failedFuture(e);
+            }
+            response.whenComplete((r, error) -> {
+                metrics.record(dueNanos, sentNanos, r, error);
+                if (scenarioRun != null) {
+                    scenarioRun.record(dueNanos, sentNanos, r, error);
+                }
+                scheduler.execute(this::completed);
+            });
+        }
+
+        private Scenario pick() {
+            if (scenarios.size() == 1) {
+                return scenarios.get(0);
+            }
+            double point = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+            int index = Arrays.binarySearch(cumulativeWeights, point);
+            index = index >= 0 ? index + 1 : -index - 1;
+            return scenarios.get(Math.min(index, scenarios.size() - 1));
+        }
+
+        private void completed() {
+            pending--;
+            if (next >= arrivals && pending == 0) {
+                done.complete(null);
+            }
+        }
+    }
+
+    public static List<Result> getResults() {
+        return List.copyOf(RESULTS);
+    }
+
+    /**
+     * Outcome of one run.
+     */
+    public static final class Result {
+        private final double targetRate;
+        private final long durationMs;
+        private final LoadMetrics metrics;
+        private final Map<String, Double> scenarioRates;
+        private final Map<String, LoadMetrics> scenarioMetrics;
+
+        Result(double targetRate, long durationMs, LoadMetrics metrics, Map<String, Double> scenarioRates,
+               Map<String, LoadMetrics> scenarioMetrics) {
+            this.targetRate = targetRate;
+            this.durationMs = durationMs;
+            this.metrics = metrics;
+            this.scenarioRates = Collections.unmodifiableMap(scenarioRates);
+            this.scenarioMetrics = Collections.unmodifiableMap(scenarioMetrics);
+        }
+
+        public double getTargetRate() {
+            return targetRate;
+        }
+
+        /**
+         * Arrivals (sent or dropped) per second over the sending period.
+         */
+        public double getAchievedRate() {
+            return (metrics.getSent() + metrics.getDropped()) * 1000.0 / Math.max(1, durationMs);
+        }
+
+        /**
+         * Totals over all scenarios.
+         */
+        public LoadMetrics getMetrics() {
+            return metrics;
+        }
+
+        /**
+         * Metrics of each scenario by name, in definition order; empty for a
+         * single-target run.
+         */
+        public Map<String, LoadMetrics> getScenarioMetrics() {
+            return scenarioMetrics;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder text = new StringBuilder(String.format("OpenLoad{target=%.2f/s, achieved=%.2f/s, %s",
+                    targetRate, getAchievedRate(), metrics));
+            scenarioMetrics.values().forEach(scenario -> text.append(",\n  ").append(scenario));
+            return text.append("}").toString();
+        }
+
+        private List<List<String>> reportRows() {
+            List<List<String>> rows = new ArrayList<>();
+            rows.add(reportRow(metrics.getName(), targetRate, metrics));
+            scenarioMetrics.forEach((scenario, m) -> rows.add(reportRow(metrics.getName() + " / " + scenario,
+                    scenarioRates.get(scenario), m)));
+            return rows;
+        }
+
+        private List<String> reportRow(String name, double rate, LoadMetrics m) {
+            double achieved = (m.getSent() + m.getDropped()) * 1000.0 / Math.max(1, durationMs);
+            return List.of(name, String.format("%.2f", rate), String.format("%.2f", achieved),
+                    String.format("%.2f", m.getThroughput()), String.valueOf(m.getSent()), String.valueOf(m.getSucceeded()),
+                    String.valueOf(m.getFailed() + m.getDropped()), String.format("%.1f%%", 100 * m.getErrorRate()),
+                    percentiles(m.getLatency()), percentiles(m.getServiceTime()));
+        }
+    }
+
+    static String percentiles(LatencyHistogram histogram) {
+        if (histogram.getCount() == 0) {
+            return "-";
+        }
+        return String.format("%d / %d / %d / %d", histogram.percentile(50) / 1000, histogram.percentile(90) / 1000,
+                histogram.percentile(99) / 1000, histogram.getMax() / 1000);
+    }
+
+    static HtmlReportGenerator.ReportTable reportTable() {
+        HtmlReportGenerator.ReportTable table = new HtmlReportGenerator.ReportTable("Open-Model Load",
+                List.of("Target", "Rate (/s)", "Achieved (/s)", "Throughput (/s)", "Sent", "OK", "Errors", "Error Rate",
+                        "Latency p50/p90/p99/max (ms)", "Service Time p50/p90/p99/max (ms)"));
+        RESULTS.forEach(result -> result.reportRows().forEach(table::addRow));
+        return table;
+    }
+
+    /**
+     * Runs the configured load outside the test suite, e.g.
+     * {@code mvn -q compile exec:java -Dexec.mainClass=com.aiservices.load.OpenLoadGenerator -Dload.rate_per_second=5}.
+     */
+    public static void main(String[] args) throws IOException {
+        Result result = fromConfig(new ApiClient()).run();
+        System.exit(result.getMetrics().getSent() > 0 ? 0 : 1);
+    }
+}
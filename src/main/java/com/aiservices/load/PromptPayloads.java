@@ -0,0 +1,47 @@
+package com.aiservices.load;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.utils.CategoryIndex;
+import com.utils.JsonFileReader;
+
+/**
+ * Request bodies for {@code /genAI/prompt/execute} taken from the test data directories.
+ *
+ * Every {@code *.json} file of a directory under {@code resources/data} that is a prompt
+ * request (an object with {@code promptTitle} and {@code requestParams}) is used; expected
+ * results and other files are skipped. Category prompts get the category tree injected
+ * into {@code requestParams.categoryJson}, as the category suites do.
+ */
+public final class PromptPayloads {
+
+    private PromptPayloads() {
+    }
+
+    public static List<String> load(List<String> directories) throws IOException {
+        List<String> bodies = new ArrayList<>();
+        for (String directory : directories) {
+            for (String file : RequestBodies.jsonFiles(directory)) {
+                JsonElement element = JsonFileReader.readJsonTree(directory + "/" + file);
+                if (!element.isJsonObject() || !element.getAsJsonObject().has("promptTitle")
+                        || !element.getAsJsonObject().has("requestParams")) {
+                    continue;
+                }
+                JsonObject prompt = element.getAsJsonObject();
+                JsonObject params = prompt.getAsJsonObject("requestParams");
+                if (params.has("experienceCategory") && !params.has("categoryJson")) {
+                    params.addProperty("categoryJson", CategoryIndex.get().getJson());
+                }
+                bodies.add(prompt.toString());
+            }
+        }
+        if (bodies.isEmpty()) {
+            throw new IllegalArgumentException("No prompt requests found in " + directories);
+        }
+        return bodies;
+    }
+}
@@ -0,0 +1,306 @@
+package com.aiservices.load;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.aiservices.ApiClient;
+import com.aiservices.Constants;
+import com.aiservices.LatencyHistogram;
+import com.aiservices.VideoJob;
+import com.aiservices.VideoJobTracker;
+import com.google.gson.JsonObject;
+import com.utils.EnvironmentConfig;
+import com.utils.HtmlReportGenerator;
+import com.utils.JsonFileReader;
+
+/**
+ * Throughput benchmark of the reel builder: submits async video jobs on a fixed
+ * schedule and follows them with {@link VideoJobTracker}, reporting completed jobs per
+ * minute, queue delay and the most jobs seen processing at once.
+ */
+public final class ReelBenchmark {
+
+    private static final List<Result> RESULTS = new CopyOnWriteArrayList<>();
+
+    static {
+        HtmlReportGenerator.registerTable("reelBenchmark", ReelBenchmark::reportTable);
+    }
+
+    private final ApiClient client;
+    private final VideoJobTracker tracker;
+    private final int jobs;
+    private final double ratePerMinute;
+    private final List<String> payloads;
+
+    public ReelBenchmark(ApiClient client, VideoJobTracker tracker, int jobs, double ratePerMinute, List<String> payloads) {
+        if (payloads.isEmpty()) {
+            throw new IllegalArgumentException("The reel benchmark needs at least one payload");
+        }
+        this.client = client;
+        this.tracker = tracker;
+        this.jobs = jobs;
+        this.ratePerMinute = ratePerMinute;
+        this.payloads = List.copyOf(payloads);
+    }
+
+    /**
+     * A benchmark configured from the "reel_benchmark" block, using the shared tracker.
+     */
+    public static ReelBenchmark fromConfig(ApiClient client) throws IOException {
+        EnvironmentConfig config = EnvironmentConfig.get();
+        List<String> payloads = Arrays.stream(config.getString("reel_benchmark.payloads", "beach,cafe,hampi,hyderabad").split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .toList();
+        return new ReelBenchmark(client.raw(), VideoJobTracker.shared(),
+                config.getInt("reel_benchmark.jobs", 20),
+                config.getDouble("reel_benchmark.rate_per_minute", 60),
+                payloads);
+    }
+
+    /**
+     * Submits every job on schedule and waits until each has completed or failed.
+     */
+    public Result run() throws IOException {
+        List<String> bodies = new ArrayList<>();
+        for (String payload : payloads) {
+            bodies.add(asyncBody(payload));
+        }
+        long intervalNanos = ratePerMinute > 0 ? (long) (TimeUnit.MINUTES.toNanos(1) / ratePerMinute) : 0;
+        Result result = new Result(jobs, ratePerMinute);
+        AtomicInteger inFlight = new AtomicInteger();
+        ScheduledExecutorService submitter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reel-benchmark");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<CompletableFuture<Void>> outcomes = new ArrayList<>();
+        long startedNanos = System.nanoTime();
+        try {
+            for (int i = 0; i < jobs; i++) {
+                String body = bodies.get(i % bodies.size());
+                CompletableFuture<Void> outcome = new CompletableFuture<>();
+                outcomes.add(outcome);
+                submitter.schedule(() -> {
+                    long submittedAtMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+                    result.submitted(inFlight.incrementAndGet());
+                    CompletableFuture<VideoJob> job;
+                    try {
+                        job = tracker.submit(client, Constants.GENERATE_VIDEO_ENDPOINT, body);
+                    } catch (RuntimeException e) {
+                        job = CompletableFuture.failedFuture(e);
+                    }
+                    job.whenComplete((video, error) -> {
+                        inFlight.decrementAndGet();
+                        if (error != null) {
+                            result.failed(error);
+                        } else {
+                            result.completed(video, submittedAtMs);
+                        }
+                        outcome.complete(null);
+                    });
+                }, i * intervalNanos, TimeUnit.NANOSECONDS);
+            }
+            CompletableFuture.allOf(outcomes.toArray(new CompletableFuture<?>[0])).join();
+        } finally {
+            submitter.shutdownNow();
+        }
+        result.finish(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos));
+        RESULTS.add(result);
+        return result;
+    }
+
+    /**
+     * The payload with {@code async} set, so the service answers with a job descriptor.
+     */
+    private static String asyncBody(String payload) throws IOException {
+        JsonObject body = JsonFileReader.readJsonObject("videocreation/" + payload + ".json");
+        body.addProperty("async", true);
+        return body.toString();
+    }
+
+    public static List<Result> getResults() {
+        return List.copyOf(RESULTS);
+    }
+
+    /**
+     * Outcome of one benchmark run. Durations are in milliseconds.
+     */
+    public static final class Result {
+        private final int jobs;
+        private final double ratePerMinute;
+        private final LatencyHistogram queueDelay = new LatencyHistogram();
+        private final LatencyHistogram processing = new LatencyHistogram();
+        private final LatencyHistogram completion = new LatencyHistogram();
+        // When each completed job was first seen processing and seen completed, since the
+        // start of the run.
+        private final List<long[]> processingSpans = new ArrayList<>();
+        private int submitted;
+        private int completed;
+        private int failed;
+        private int timedOut;
+        private int queued;
+        private int peakInFlight;
+        private int peakProcessing;
+        private long wallMs;
+
+        Result(int jobs, double ratePerMinute) {
+            this.jobs = jobs;
+            this.ratePerMinute = ratePerMinute;
+        }
+
+        synchronized void submitted(int inFlight) {
+            submitted++;
+            peakInFlight = Math.max(peakInFlight, inFlight);
+        }
+
+        synchronized void completed(VideoJob job, long submittedAtMs) {
+            completed++;
+            completion.record(job.getTimeToCompleteMs());
+            long processingSeenMs = job.firstSeenMs("processing");
+            if (processingSeenMs >= 0) {
+                queueDelay.record(Math.max(0, processingSeenMs - job.getAcceptedMs()));
+                processing.record(job.getTimeToCompleteMs() - processingSeenMs);
+                processingSpans.add(new long[] {submittedAtMs + processingSeenMs, submittedAtMs + job.getTimeToCompleteMs()});
+            }
+            if (job.firstSeenMs("queued") >= 0) {
+                queued++;
+            }
+        }
+
+        synchronized void failed(Throwable error) {
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            if (cause instanceof TimeoutException) {
+                timedOut++;
+            } else {
+                failed++;
+            }
+            System.err.println("Reel benchmark job failed: " + cause.getMessage());
+        }
+
+        synchronized void finish(long wallMs) {
+            this.wallMs = wallMs;
+            for (long[] job : processingSpans) {
+                int running = 0;
+                for (long[] other : processingSpans) {
+                    if (other[0] <= job[0] && job[0] < other[1]) {
+                        running++;
+                    }
+                }
+                peakProcessing = Math.max(peakProcessing, running);
+            }
+        }
+
+        public synchronized int getSubmitted() {
+            return submitted;
+        }
+
+        public synchronized int getCompleted() {
+            return completed;
+        }
+
+        public synchronized int getFailed() {
+            return failed;
+        }
+
+        public synchronized int getTimedOut() {
+            return timedOut;
+        }
+
+        /**
+         * Completed jobs that the service reported as "queued" at some point.
+         */
+        public synchronized int getQueued() {
+            return queued;
+        }
+
+        public synchronized int getPeakInFlight() {
+            return peakInFlight;
+        }
+
+        /**
+         * The most jobs seen "processing" at the same time: how many concurrent jobs the
+         * service sustained before it queued the rest. Accurate to one poll interval.
+         */
+        public synchronized int getPeakProcessing() {
+            return peakProcessing;
+        }
+
+        public synchronized long getWallMs() {
+            return wallMs;
+        }
+
+        public synchronized double getJobsPerMinute() {
+            return wallMs == 0 ? 0 : completed * 60000.0 / wallMs;
+        }
+
+        public LatencyHistogram getQueueDelay() {
+            return queueDelay;
+        }
+
+        public LatencyHistogram getProcessing() {
+            return processing;
+        }
+
+        public LatencyHistogram getCompletion() {
+            return completion;
+        }
+
+        @Override
+        public synchronized String toString() {
+            return String.format("ReelBenchmark{jobs=%d, rate=%s/min, completed=%d, failed=%d, timedOut=%d, "
+                            + "%.1f jobs/min, peakInFlight=%d, peakProcessing=%d, queued=%d, queueDelay=%s, "
+                            + "processing=%s, completion=%s}",
+                    jobs, rate(), completed, failed, timedOut, getJobsPerMinute(), peakInFlight, peakProcessing,
+                    queued, queueDelay, processing, completion);
+        }
+
+        private String rate() {
+            return ratePerMinute > 0 ? String.format("%.1f", ratePerMinute) : "all at once";
+        }
+
+        private synchronized List<String> reportRow() {
+            return List.of(String.valueOf(jobs), rate(), String.valueOf(completed),
+                    String.valueOf(failed + timedOut), String.format("%.1f", getJobsPerMinute()),
+                    String.valueOf(peakInFlight), String.valueOf(peakProcessing), String.valueOf(queued),
+                    percentiles(queueDelay), percentiles(processing), percentiles(completion));
+        }
+
+        private static String percentiles(LatencyHistogram histogram) {
+            if (histogram.getCount() == 0) {
+                return "-";
+            }
+            return String.format("%.1f / %.1f / %.1f", histogram.percentile(50) / 1000.0,
+                    histogram.percentile(90) / 1000.0, histogram.percentile(99) / 1000.0);
+        }
+    }
+
+    static HtmlReportGenerator.ReportTable reportTable() {
+        HtmlReportGenerator.ReportTable table = new HtmlReportGenerator.ReportTable("Reel Builder Throughput",
+                List.of("Jobs", "Rate (/min)", "Completed", "Failed", "Jobs/min", "Peak In Flight",
+                        "Peak Processing", "Queued", "Queue Delay p50/p90/p99 (s)", "Processing p50/p90/p99 (s)",
+                        "Completion p50/p90/p99 (s)"));
+        RESULTS.forEach(result -> table.addRow(result.reportRow()));
+        return table;
+    }
+
+    /**
+     * Runs the configured benchmark outside the test suite, e.g.
+     * {@code mvn -q compile exec:java -Dexec.mainClass=com.aiservices.load.ReelBenchmark -Denvironment=LOCAL}.
+     */
+    public static void main(String[] args) throws IOException {
+        Result result = fromConfig(new ApiClient()).run();
+        System.out.println(result);
+        System.exit(result.getCompleted() == result.getSubmitted() ? 0 : 1);
+    }
+}
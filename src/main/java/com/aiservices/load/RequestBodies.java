@@ -0,0 +1,93 @@
+package com.aiservices.load;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import com.aiservices.Constants;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.utils.DataPack;
+import com.utils.JsonFileReader;
+
+/**
+ * Request bodies for an endpoint, read from the test data directories under
+ * {@code resources/data}: prompt requests for the prompt endpoint (see
+ * {@link PromptPayloads}), video payloads with {@code async} set for video generation,
+ * and every JSON object file for any other endpoint.
+ */
+public final class RequestBodies {
+
+    private static final String DATA_DIR = "resources/data/";
+
+    /**
+     * Data directories used for an endpoint when none are given.
+     */
+    private static final Map<String, List<String>> DEFAULT_DIRECTORIES = Map.of(
+            Constants.EXECUTE_PROMPT_ENDPOINT, List.of("smartaifill", "categories"),
+            Constants.CREATE_EXPERIENCE_ENDPOINT, List.of("experiencebuilder"),
+            Constants.GENERATE_VIDEO_ENDPOINT, List.of("videocreation"),
+            Constants.IMAGE_SUMMARY_ENDPOINT, List.of("imagedescription"),
+            Constants.FLIGHT_RECOMMENDATION_ENDPOINT, List.of("flightrecommendation"));
+
+    private RequestBodies() {
+    }
+
+    /**
+     * The bodies for {@code endpoint}, from {@code directories} or, when empty, the
+     * endpoint's default directories.
+     */
+    public static List<String> load(String endpoint, List<String> directories) throws IOException {
+        List<String> sources = directories.isEmpty() ? DEFAULT_DIRECTORIES.get(endpoint) : directories;
+        if (sources == null) {
+            throw new IllegalArgumentException("No default test data for " + endpoint + "; name the data directories");
+        }
+        if (Constants.EXECUTE_PROMPT_ENDPOINT.equals(endpoint)) {
+            return PromptPayloads.load(sources);
+        }
+        List<String> bodies = new ArrayList<>();
+        for (String directory : sources) {
+            for (String file : jsonFiles(directory)) {
+                JsonElement element = JsonFileReader.readJsonTree(directory + "/" + file);
+                if (!element.isJsonObject()) {
+                    continue;
+                }
+                JsonObject body = element.getAsJsonObject();
+                if (Constants.GENERATE_VIDEO_ENDPOINT.equals(endpoint)) {
+                    body.addProperty("async", true);
+                }
+                bodies.add(body.toString());
+            }
+        }
+        if (bodies.isEmpty()) {
+            throw new IllegalArgumentException("No request bodies for " + endpoint + " found in " + sources);
+        }
+        return bodies;
+    }
+
+    /**
+     * JSON files other than the {@code tags.json} index of {@link com.utils.DataDirectorySource}.
+     */
+    private static boolean isDataFile(String name) {
+        return name.endsWith(".json") && !"tags.json".equals(name);
+    }
+
+    static List<String> jsonFiles(String directory) throws IOException {
+        DataPack pack = DataPack.shared();
+        if (pack != null) {
+            return pack.list(directory).stream().filter(RequestBodies::isDataFile).toList();
+        }
+        Path dir = Paths.get(DATA_DIR + directory);
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(RequestBodies::isDataFile)
+                    .sorted()
+                    .toList();
+        }
+    }
+}
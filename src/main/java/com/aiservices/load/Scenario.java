@@ -0,0 +1,38 @@
+package com.aiservices.load;
+
+/**
+ * A named share of the requests of an open-model run: each arrival goes to a scenario
+ * with probability {@code weight} / sum of the weights, and is measured separately.
+ */
+public final class Scenario {
+
+    private final String name;
+    private final double weight;
+    private final LoadTarget target;
+
+    public Scenario(String name, double weight, LoadTarget target) {
+        if (!(weight > 0)) {
+            throw new IllegalArgumentException("Scenario " + name + " needs a positive weight: " + weight);
+        }
+        this.name = name;
+        this.weight = weight;
+        this.target = target;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getWeight() {
+        return weight;
+    }
+
+    public LoadTarget getTarget() {
+        return target;
+    }
+
+    @Override
+    public String toString() {
+        return "Scenario{" + name + ", weight=" + weight + "}";
+    }
+}
@@ -0,0 +1,196 @@
+package com.aiservices.load;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import com.aiservices.ApiClient;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.utils.EnvironmentConfig;
+
+/**
+ * A weighted mix of scenarios read from a workload file such as
+ * {@code resources/config/workload_mix.json}, run as one open-model load.
+ */
+public final class WorkloadMix {
+
+    public static final String DEFAULT_FILE = "/config/workload_mix.json";
+
+    private final String name;
+    private final double ratePerSecond;
+    private final long durationMs;
+    private final List<ScenarioDefinition> scenarios;
+
+    private WorkloadMix(String name, double ratePerSecond, long durationMs, List<ScenarioDefinition> scenarios) {
+        this.name = name;
+        this.ratePerSecond = ratePerSecond;
+        this.durationMs = durationMs;
+        this.scenarios = Collections.unmodifiableList(scenarios);
+    }
+
+    /**
+     * Reads a workload file from the classpath, or from the file system if
+     * {@code location} is an existing file.
+     */
+    public static WorkloadMix load(String location) throws IOException {
+        Path path = Paths.get(location);
+        if (Files.isRegularFile(path)) {
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                return parse(location, reader);
+            }
+        }
+        InputStream stream = WorkloadMix.class.getResourceAsStream(location);
+        if (stream == null) {
+            throw new IOException("Workload file not found: " + location);
+        }
+        try (Reader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            return parse(location, reader);
+        }
+    }
+
+    private static WorkloadMix parse(String location, Reader reader) throws IOException {
+        JsonElement root = JsonParser.parseReader(reader);
+        if (root == null || !root.isJsonObject()) {
+            throw new IOException("Workload file is not a JSON object: " + location);
+        }
+        JsonObject mix = root.getAsJsonObject();
+        JsonArray entries = mix.has("scenarios") && mix.get("scenarios").isJsonArray()
+                ? mix.getAsJsonArray("scenarios") : new JsonArray();
+        List<ScenarioDefinition> scenarios = new ArrayList<>();
+        for (JsonElement entry : entries) {
+            JsonObject scenario = entry.getAsJsonObject();
+            if (!scenario.has("name") || !scenario.has("endpoint")) {
+                throw new IOException("Workload scenario needs a name and an endpoint: " + scenario);
+            }
+            List<String> data = new ArrayList<>();
+            if (scenario.has("data")) {
+                scenario.getAsJsonArray("data").forEach(directory -> data.add(directory.getAsString()));
+            }
+            scenarios.add(new ScenarioDefinition(scenario.get("name").getAsString(),
+                    scenario.has("weight") ? scenario.get("weight").getAsDouble() : 1,
+                    LoadTarget.endpoint(scenario.get("endpoint").getAsString()), data));
+        }
+        if (scenarios.isEmpty()) {
+            throw new IOException("Workload file defines no scenarios: " + location);
+        }
+        String name = mix.has("name") ? mix.get("name").getAsString() : "workload mix";
+        double rate = mix.has("rate_per_second") ? mix.get("rate_per_second").getAsDouble() : 1;
+        long durationSeconds = mix.has("duration_seconds") ? mix.get("duration_seconds").getAsLong() : 60;
+        return new WorkloadMix(name, rate, TimeUnit.SECONDS.toMillis(durationSeconds), scenarios);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public double getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    public long getDurationMs() {
+        return durationMs;
+    }
+
+    public List<ScenarioDefinition> getScenarios() {
+        return scenarios;
+    }
+
+    /**
+     * An open-model generator for this mix. The request bodies of every scenario are
+     * read up front; {@code random} picks both the scenario and the body of each arrival.
+     */
+    public OpenLoadGenerator generator(ApiClient client, Random random, double ratePerSecond, long durationMs,
+                                       int maxOutstanding, long readoutIntervalMs) throws IOException {
+        List<Scenario> targets = new ArrayList<>();
+        for (ScenarioDefinition scenario : scenarios) {
+            LoadTarget target = LoadTarget.forEndpoint(scenario.getEndpoint(),
+                    RequestBodies.load(scenario.getEndpoint(), scenario.getData()), random);
+            targets.add(new Scenario(scenario.getName(), scenario.getWeight(), target));
+        }
+        return new OpenLoadGenerator(client, targets, name, random, ratePerSecond, durationMs, maxOutstanding,
+                readoutIntervalMs);
+    }
+
+    /**
+     * The mix in {@code workload.file}, run at the file's rate and duration unless
+     * {@code workload.rate_per_second} or {@code workload.duration_seconds} is set. The
+     * response cache is bypassed.
+     */
+    public static OpenLoadGenerator fromConfig(ApiClient client) throws IOException {
+        EnvironmentConfig config = EnvironmentConfig.get();
+        WorkloadMix mix = load(config.getString("workload.file", DEFAULT_FILE));
+        long seed = config.getLong("workload.seed", 0);
+        return mix.generator(client.raw(), seed != 0 ? new Random(seed) : new Random(),
+                config.getDouble("workload.rate_per_second", mix.getRatePerSecond()),
+                TimeUnit.SECONDS.toMillis(config.getLong("workload.duration_seconds",
+                        TimeUnit.MILLISECONDS.toSeconds(mix.getDurationMs()))),
+                config.getInt("workload.max_outstanding", 500),
+                TimeUnit.SECONDS.toMillis(config.getLong("workload.readout_interval_seconds", 10)));
+    }
+
+    @Override
+    public String toString() {
+        return "WorkloadMix{" + name + ", " + ratePerSecond + "/s for " + durationMs + "ms, scenarios=" + scenarios + "}";
+    }
+
+    /**
+     * One scenario of a workload file.
+     */
+    public static final class ScenarioDefinition {
+        private final String name;
+        private final double weight;
+        private final String endpoint;
+        private final List<String> data;
+
+        ScenarioDefinition(String name, double weight, String endpoint, List<String> data) {
+            this.name = name;
+            this.weight = weight;
+            this.endpoint = endpoint;
+            this.data = List.copyOf(data);
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public double getWeight() {
+            return weight;
+        }
+
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        public List<String> getData() {
+            return data;
+        }
+
+        @Override
+        public String toString() {
+            return name + "(" + weight + ", " + endpoint + ", " + data + ")";
+        }
+    }
+
+    /**
+     * Runs the configured mix outside the test suite, e.g.
+     * {@code mvn -q compile exec:java -Dexec.mainClass=com.aiservices.load.WorkloadMix -Dworkload.duration_seconds=60}.
+     */
+    public static void main(String[] args) throws IOException {
+        OpenLoadGenerator.Result result = fromConfig(new ApiClient()).run();
+        System.exit(result.getMetrics().getSent() > 0 ? 0 : 1);
+    }
+}
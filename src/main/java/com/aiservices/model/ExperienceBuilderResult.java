@@ -0,0 +1,149 @@
+package com.aiservices.model;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+import com.google.gson.stream.JsonReader;
+
+/**
+ * Response of the experience builder ({@code buildExperience}). Only the parts the
+ * suites check are modelled; the rest of the (often large) {@code experiencejson} is
+ * skipped while streaming. {@link Experience#has(String)} tells which fields
+ * {@code experiencejson} contained.
+ */
+public record ExperienceBuilderResult(Experience experiencejson) {
+
+    public record Experience(String caption, List<String> summary, List<PlanDay> plan, List<String> experienceTypes,
+                             Location location, List<Faq> faq, Set<String> fields) {
+
+        public boolean has(String field) {
+            return fields.contains(field);
+        }
+
+        static Experience read(JsonReader reader) throws IOException {
+            Builder experience = new Builder();
+            Set<String> fields = StreamingJson.object(reader, (name, in) -> {
+                switch (name) {
+                    case "caption": experience.caption = StreamingJson.string(in); return true;
+                    case "summary": experience.summary = StreamingJson.stringList(in); return true;
+                    case "plan": experience.plan = StreamingJson.list(in, PlanDay::read); return true;
+                    case "experienceTypes": experience.experienceTypes = StreamingJson.stringList(in); return true;
+                    case "location": experience.location = StreamingJson.nullable(in, Location::read); return true;
+                    case "faq": experience.faq = StreamingJson.list(in, Faq::read); return true;
+                    default: return false;
+                }
+            });
+            return new Experience(experience.caption, experience.summary, experience.plan, experience.experienceTypes,
+                    experience.location, experience.faq, fields);
+        }
+
+        private static final class Builder {
+            String caption;
+            List<String> summary;
+            List<PlanDay> plan;
+            List<String> experienceTypes;
+            Location location;
+            List<Faq> faq;
+        }
+    }
+
+    public record PlanDay(Integer day, List<ScheduleItem> schedule) {
+
+        static PlanDay read(JsonReader reader) throws IOException {
+            Builder day = new Builder();
+            StreamingJson.object(reader, (name, in) -> {
+                switch (name) {
+                    case "day": day.day = StreamingJson.integer(in); return true;
+                    case "schedule": day.schedule = StreamingJson.list(in, ScheduleItem::read); return true;
+                    default: return false;
+                }
+            });
+            return new PlanDay(day.day, day.schedule);
+        }
+
+        private static final class Builder {
+            Integer day;
+            List<ScheduleItem> schedule;
+        }
+    }
+
+    public record ScheduleItem(String time, String title) {
+
+        static ScheduleItem read(JsonReader reader) throws IOException {
+            Builder item = new Builder();
+            StreamingJson.object(reader, (name, in) -> {
+                switch (name) {
+                    case "time": item.time = StreamingJson.string(in); return true;
+                    case "title": item.title = StreamingJson.string(in); return true;
+                    default: return false;
+                }
+            });
+            return new ScheduleItem(item.time, item.title);
+        }
+
+        private static final class Builder {
+            String time;
+            String title;
+        }
+    }
+
+    public record Location(String city, String state, String country) {
+
+        static Location read(JsonReader reader) throws IOException {
+            Builder location = new Builder();
+            StreamingJson.object(reader, (name, in) -> {
+                switch (name) {
+                    case "city": location.city = StreamingJson.string(in); return true;
+                    case "state": location.state = StreamingJson.string(in); return true;
+                    case "country": location.country = StreamingJson.string(in); return true;
+                    default: return false;
+                }
+            });
+            return new Location(location.city, location.state, location.country);
+        }
+
+        private static final class Builder {
+            String city;
+            String state;
+            String country;
+        }
+    }
+
+    public record Faq(String question, String answer) {
+
+        static Faq read(JsonReader reader) throws IOException {
+            Builder faq = new Builder();
+            StreamingJson.object(reader, (name, in) -> {
+                switch (name) {
+                    case "question": faq.question = StreamingJson.string(in); return true;
+                    case "answer": faq.answer = StreamingJson.string(in); return true;
+                    default: return false;
+                }
+            });
+            return new Faq(faq.question, faq.answer);
+        }
+
+        private static final class Builder {
+            String question;
+            String answer;
+        }
+    }
+
+    public static ExperienceBuilderResult read(JsonReader reader) throws IOException {
+        String path = reader.getPath();
+        Builder result = new Builder();
+        StreamingJson.object(reader, (name, in) -> {
+            if ("experiencejson".equals(name)) {
+                result.experiencejson = StreamingJson.nullable(in, Experience::read);
+                return true;
+            }
+            return false;
+        });
+        return new ExperienceBuilderResult(StreamingJson.required(result.experiencejson, "experiencejson", path));
+    }
+
+    private static final class Builder {
+        Experience experiencejson;
+    }
+}
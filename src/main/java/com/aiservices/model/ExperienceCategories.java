@@ -0,0 +1,55 @@
+package com.aiservices.model;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.google.gson.stream.JsonReader;
+
+/**
+ * Response of the GenerateCategories prompt. {@code experienceCategory} is required;
+ * {@code experienceTypes} and {@code secondaryTags} may be absent (null).
+ */
+public record ExperienceCategories(List<String> experienceCategory, List<String> experienceTypes,
+                                   SecondaryTags secondaryTags) {
+
+    public record SecondaryTags(List<String> experienceTypes) {
+
+        static SecondaryTags read(JsonReader reader) throws IOException {
+            Builder tags = new Builder();
+            StreamingJson.object(reader, (name, in) -> {
+                if ("experienceTypes".equals(name)) {
+                    tags.experienceTypes = StreamingJson.stringList(in);
+                    return true;
+                }
+                return false;
+            });
+            return new SecondaryTags(tags.experienceTypes);
+        }
+
+        private static final class Builder {
+            List<String> experienceTypes;
+        }
+    }
+
+    public static ExperienceCategories read(JsonReader reader) throws IOException {
+        String path = reader.getPath();
+        Builder categories = new Builder();
+        StreamingJson.object(reader, (name, in) -> {
+            switch (name) {
+                case "experienceCategory": categories.experienceCategory = StreamingJson.stringList(in); return true;
+                case "experienceTypes": categories.experienceTypes = StreamingJson.stringList(in); return true;
+                case "secondaryTags": categories.secondaryTags = StreamingJson.nullable(in, SecondaryTags::read); return true;
+                default: return false;
+            }
+        });
+        return new ExperienceCategories(
+                StreamingJson.required(categories.experienceCategory, "experienceCategory", path),
+                categories.experienceTypes, categories.secondaryTags);
+    }
+
+    private static final class Builder {
+        List<String> experienceCategory;
+        List<String> experienceTypes;
+        SecondaryTags secondaryTags;
+    }
+}
@@ -0,0 +1,90 @@
+package com.aiservices.model;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.google.gson.stream.JsonReader;
+
+/**
+ * Response of {@code /flight_recommendation/predict}: one recommendation per flight,
+ * each with its fare brands ranked. {@code results} is required.
+ */
+public record FlightRecommendations(List<Recommendation> results) {
+
+    public record Recommendation(String uniqueId, String source, String destination, Double duration,
+                                 Double totalStops, String dateOfJourney, String route, List<Brand> brands) {
+
+        static Recommendation read(JsonReader reader) throws IOException {
+            Builder flight = new Builder();
+            StreamingJson.object(reader, (name, in) -> {
+                switch (name) {
+                    case "Unique_id": flight.uniqueId = StreamingJson.string(in); return true;
+                    case "Source": flight.source = StreamingJson.string(in); return true;
+                    case "Destination": flight.destination = StreamingJson.string(in); return true;
+                    case "Duration": flight.duration = StreamingJson.decimal(in); return true;
+                    case "Total_Stops": flight.totalStops = StreamingJson.decimal(in); return true;
+                    case "Date_of_Journey": flight.dateOfJourney = StreamingJson.string(in); return true;
+                    case "Route": flight.route = StreamingJson.string(in); return true;
+                    case "brands": flight.brands = StreamingJson.list(in, Brand::read); return true;
+                    default: return false;
+                }
+            });
+            return new Recommendation(flight.uniqueId, flight.source, flight.destination, flight.duration,
+                    flight.totalStops, flight.dateOfJourney, flight.route, flight.brands);
+        }
+
+        private static final class Builder {
+            String uniqueId;
+            String source;
+            String destination;
+            Double duration;
+            Double totalStops;
+            String dateOfJourney;
+            String route;
+            List<Brand> brands;
+        }
+    }
+
+    public record Brand(String fareId, Double price, String brandName, String cabin, String reason) {
+
+        static Brand read(JsonReader reader) throws IOException {
+            Builder brand = new Builder();
+            StreamingJson.object(reader, (name, in) -> {
+                switch (name) {
+                    case "fareId": brand.fareId = StreamingJson.string(in); return true;
+                    case "price": brand.price = StreamingJson.decimal(in); return true;
+                    case "brandName": brand.brandName = StreamingJson.string(in); return true;
+                    case "cabin": brand.cabin = StreamingJson.string(in); return true;
+                    case "Reason": brand.reason = StreamingJson.string(in); return true;
+                    default: return false;
+                }
+            });
+            return new Brand(brand.fareId, brand.price, brand.brandName, brand.cabin, brand.reason);
+        }
+
+        private static final class Builder {
+            String fareId;
+            Double price;
+            String brandName;
+            String cabin;
+            String reason;
+        }
+    }
+
+    public static FlightRecommendations read(JsonReader reader) throws IOException {
+        String path = reader.getPath();
+        Builder recommendations = new Builder();
+        StreamingJson.object(reader, (name, in) -> {
+            if ("results".equals(name)) {
+                recommendations.results = StreamingJson.list(in, Recommendation::read);
+                return true;
+            }
+            return false;
+        });
+        return new FlightRecommendations(StreamingJson.required(recommendations.results, "results", path));
+    }
+
+    private static final class Builder {
+        List<Recommendation> results;
+    }
+}
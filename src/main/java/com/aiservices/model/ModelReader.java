@@ -0,0 +1,13 @@
+package com.aiservices.model;
+
+import java.io.IOException;
+
+import com.google.gson.stream.JsonReader;
+
+/**
+ * Reads one value of type {@code T} from the current position of a {@link JsonReader}.
+ */
+@FunctionalInterface
+public interface ModelReader<T> {
+    T read(JsonReader reader) throws IOException;
+}
@@ -0,0 +1,40 @@
+package com.aiservices.model;
+
+import java.io.IOException;
+import java.util.Set;
+
+import com.google.gson.stream.JsonReader;
+
+/**
+ * One policy of the extract_policy_information_inventory_smart_fill prompt response
+ * (a JSON array of these). Every field is optional; {@link #has(String)} tells which
+ * fields were sent, including ones not modelled here.
+ */
+public record Policy(String policyType, String timePeriod, Integer hoursBeforeStart, Integer refundPercentage,
+                     Set<String> fields) {
+
+    public boolean has(String field) {
+        return fields.contains(field);
+    }
+
+    public static Policy read(JsonReader reader) throws IOException {
+        Builder policy = new Builder();
+        Set<String> fields = StreamingJson.object(reader, (name, in) -> {
+            switch (name) {
+                case "policyType": policy.policyType = StreamingJson.string(in); return true;
+                case "timePeriod": policy.timePeriod = StreamingJson.string(in); return true;
+                case "hoursBeforeStart": policy.hoursBeforeStart = StreamingJson.integer(in); return true;
+                case "refundPercentage": policy.refundPercentage = StreamingJson.integer(in); return true;
+                default: return false;
+            }
+        });
+        return new Policy(policy.policyType, policy.timePeriod, policy.hoursBeforeStart, policy.refundPercentage, fields);
+    }
+
+    private static final class Builder {
+        String policyType;
+        String timePeriod;
+        Integer hoursBeforeStart;
+        Integer refundPercentage;
+    }
+}
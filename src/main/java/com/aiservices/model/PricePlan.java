@@ -0,0 +1,63 @@
+package com.aiservices.model;
+
+import java.io.IOException;
+import java.util.List;
+
+import com.google.gson.stream.JsonReader;
+
+/**
+ * One plan of the extract_price_plan_inventory prompt response (a JSON array of these).
+ * {@code pricingPackageType}, {@code currency}, {@code price} and {@code features} are required.
+ */
+public record PricePlan(String title, String pricingPackageType, String currency, List<Price> price,
+                        List<String> features) {
+
+    public record Price(String paxType, double baseFare) {
+
+        static Price read(JsonReader reader) throws IOException {
+            String path = reader.getPath();
+            Builder price = new Builder();
+            StreamingJson.object(reader, (name, in) -> {
+                switch (name) {
+                    case "paxType": price.paxType = StreamingJson.string(in); return true;
+                    case "baseFare": price.baseFare = StreamingJson.decimal(in); return true;
+                    default: return false;
+                }
+            });
+            return new Price(price.paxType, StreamingJson.required(price.baseFare, "baseFare", path));
+        }
+
+        private static final class Builder {
+            String paxType;
+            Double baseFare;
+        }
+    }
+
+    public static PricePlan read(JsonReader reader) throws IOException {
+        String path = reader.getPath();
+        Builder plan = new Builder();
+        StreamingJson.object(reader, (name, in) -> {
+            switch (name) {
+                case "title": plan.title = StreamingJson.string(in); return true;
+                case "pricingPackageType": plan.pricingPackageType = StreamingJson.string(in); return true;
+                case "currency": plan.currency = StreamingJson.string(in); return true;
+                case "price": plan.price = StreamingJson.list(in, Price::read); return true;
+                case "features": plan.features = StreamingJson.stringList(in); return true;
+                default: return false;
+            }
+        });
+        return new PricePlan(plan.title,
+                StreamingJson.required(plan.pricingPackageType, "pricingPackageType", path),
+                StreamingJson.required(plan.currency, "currency", path),
+                StreamingJson.required(plan.price, "price", path),
+                StreamingJson.required(plan.features, "features", path));
+    }
+
+    private static final class Builder {
+        String title;
+        String pricingPackageType;
+        String currency;
+        List<Price> price;
+        List<String> features;
+    }
+}
@@ -0,0 +1,57 @@
+package com.aiservices.model;
+
+import java.io.IOException;
+import java.util.Set;
+
+import com.google.gson.stream.JsonReader;
+
+/**
+ * One rule of the extract_price_rules_inventory prompt response (a JSON array of these).
+ * The prompt's output is loose, so every field is optional; {@link #has(String)} tells
+ * which fields were sent, including ones not modelled here (e.g. {@code discount}).
+ */
+public record PriceRule(String title, String ruleName, String name, Double priceAdjustment, Boolean isPercentage,
+                        String startDate, String endDate, String paxType, Integer inventoryCount,
+                        String comparisonOperator, String daysOfWeek, Set<String> fields) {
+
+    public boolean has(String field) {
+        return fields.contains(field);
+    }
+
+    public static PriceRule read(JsonReader reader) throws IOException {
+        Builder rule = new Builder();
+        Set<String> fields = StreamingJson.object(reader, (name, in) -> {
+            switch (name) {
+                case "title": rule.title = StreamingJson.string(in); return true;
+                case "ruleName": rule.ruleName = StreamingJson.string(in); return true;
+                case "name": rule.name = StreamingJson.string(in); return true;
+                case "priceAdjustment": rule.priceAdjustment = StreamingJson.decimal(in); return true;
+                case "isPercentage": rule.isPercentage = StreamingJson.bool(in); return true;
+                case "startDate": rule.startDate = StreamingJson.string(in); return true;
+                case "endDate": rule.endDate = StreamingJson.string(in); return true;
+                case "paxType": rule.paxType = StreamingJson.string(in); return true;
+                case "inventoryCount": rule.inventoryCount = StreamingJson.integer(in); return true;
+                case "comparisonOperator": rule.comparisonOperator = StreamingJson.string(in); return true;
+                case "daysOfWeek": rule.daysOfWeek = StreamingJson.string(in); return true;
+                default: return false;
+            }
+        });
+        return new PriceRule(rule.title, rule.ruleName, rule.name, rule.priceAdjustment, rule.isPercentage,
+                rule.startDate, rule.endDate, rule.paxType, rule.inventoryCount, rule.comparisonOperator,
+                rule.daysOfWeek, fields);
+    }
+
+    private static final class Builder {
+        String title;
+        String ruleName;
+        String name;
+        Double priceAdjustment;
+        Boolean isPercentage;
+        String startDate;
+        String endDate;
+        String paxType;
+        Integer inventoryCount;
+        String comparisonOperator;
+        String daysOfWeek;
+    }
+}
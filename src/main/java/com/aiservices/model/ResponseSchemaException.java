@@ -0,0 +1,25 @@
+package com.aiservices.model;
+
+/**
+ * A response body that does not match the model it is read into: malformed JSON, a
+ * value of the wrong type or a missing required field. {@link #getPath()} is the
+ * JSONPath of the offending value, e.g. {@code $[0].price[1].baseFare}.
+ */
+public class ResponseSchemaException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final String path;
+
+    public ResponseSchemaException(String path, String message) {
+        this(path, message, null);
+    }
+
+    public ResponseSchemaException(String path, String message, Throwable cause) {
+        super(path + ": " + message, cause);
+        this.path = path;
+    }
+
+    public String getPath() {
+        return path;
+    }
+}
@@ -0,0 +1,167 @@
+package com.aiservices.model;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+/**
+ * Helpers for reading the response models with a strict {@link JsonReader}, token by
+ * token, without building a tree. Every accessor checks the token type before
+ * consuming it, so a number sent as a string (or any other drift) fails with a
+ * {@link ResponseSchemaException} naming the exact path instead of being coerced.
+ * JSON {@code null} reads as Java {@code null}.
+ */
+public final class StreamingJson {
+
+    /**
+     * Handles one field of an object; returns false to have the value skipped.
+     */
+    @FunctionalInterface
+    public interface FieldReader {
+        boolean read(String name, JsonReader reader) throws IOException;
+    }
+
+    private StreamingJson() {
+    }
+
+    /**
+     * Reads the whole document from {@code in} with {@code model}; trailing content is
+     * an error.
+     */
+    public static <T> T read(InputStream in, ModelReader<T> model) {
+        JsonReader reader = new JsonReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        // Not try-with-resources: closing resets the path the error must report
+        try {
+            T value = model.read(reader);
+            if (reader.peek() != JsonToken.END_DOCUMENT) {
+                throw new ResponseSchemaException(reader.getPath(), "unexpected content after the document");
+            }
+            return value;
+        } catch (ResponseSchemaException e) {
+            throw e;
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            throw new ResponseSchemaException(reader.getPath(), e.getMessage(), e);
+        } finally {
+            try {
+                reader.close();
+            } catch (IOException ignored) {
+                // the body has been read or rejected already
+            }
+        }
+    }
+
+    /**
+     * Reads an object, passing each field to {@code fields}; fields it does not handle
+     * are skipped. Returns the names of all fields present, in document order.
+     */
+    public static Set<String> object(JsonReader reader, FieldReader fields) throws IOException {
+        expect(reader, JsonToken.BEGIN_OBJECT);
+        Set<String> names = new LinkedHashSet<>();
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            names.add(name);
+            if (!fields.read(name, reader)) {
+                reader.skipValue();
+            }
+        }
+        reader.endObject();
+        return Collections.unmodifiableSet(names);
+    }
+
+    /**
+     * Reads a value with {@code model}, or returns null for JSON {@code null}.
+     */
+    public static <T> T nullable(JsonReader reader, ModelReader<T> model) throws IOException {
+        return nullValue(reader) ? null : model.read(reader);
+    }
+
+    public static <T> List<T> list(JsonReader reader, ModelReader<T> element) throws IOException {
+        if (nullValue(reader)) {
+            return null;
+        }
+        expect(reader, JsonToken.BEGIN_ARRAY);
+        List<T> values = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            values.add(element.read(reader));
+        }
+        reader.endArray();
+        return Collections.unmodifiableList(values);
+    }
+
+    public static List<String> stringList(JsonReader reader) throws IOException {
+        return list(reader, StreamingJson::string);
+    }
+
+    public static String string(JsonReader reader) throws IOException {
+        if (nullValue(reader)) {
+            return null;
+        }
+        expect(reader, JsonToken.STRING);
+        return reader.nextString();
+    }
+
+    public static Integer integer(JsonReader reader) throws IOException {
+        if (nullValue(reader)) {
+            return null;
+        }
+        expect(reader, JsonToken.NUMBER);
+        String path = reader.getPath();
+        try {
+            return reader.nextInt();
+        } catch (NumberFormatException e) {
+            throw new ResponseSchemaException(path, "expected an integer: " + e.getMessage(), e);
+        }
+    }
+
+    public static Double decimal(JsonReader reader) throws IOException {
+        if (nullValue(reader)) {
+            return null;
+        }
+        expect(reader, JsonToken.NUMBER);
+        return reader.nextDouble();
+    }
+
+    public static Boolean bool(JsonReader reader) throws IOException {
+        if (nullValue(reader)) {
+            return null;
+        }
+        expect(reader, JsonToken.BOOLEAN);
+        return reader.nextBoolean();
+    }
+
+    /**
+     * Fails with the object's path when a required field was absent or null.
+     */
+    public static <T> T required(T value, String field, String objectPath) {
+        if (value == null) {
+            throw new ResponseSchemaException(objectPath, "missing required field '" + field + "'");
+        }
+        return value;
+    }
+
+    private static boolean nullValue(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return true;
+        }
+        return false;
+    }
+
+    private static void expect(JsonReader reader, JsonToken expected) throws IOException {
+        JsonToken actual = reader.peek();
+        if (actual != expected) {
+            throw new ResponseSchemaException(reader.getPath(), "expected " + expected + " but was " + actual);
+        }
+    }
+}
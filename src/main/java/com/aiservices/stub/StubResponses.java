@@ -0,0 +1,377 @@
+package com.aiservices.stub;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Response bodies of the {@link StubServer}. Every payload has the shape the live
+ * services return and the suites assert on; values are derived from the request
+ * where that is cheap (currency, fares, location, categories) and otherwise filled
+ * with plausible constants. {@code items} controls the length of generated arrays.
+ */
+final class StubResponses {
+
+    private static final Pattern PRICE = Pattern.compile("(\\$|₹|USD|INR|Rs\\.?)\\s*([0-9][0-9,]*)");
+    private static final Pattern PERCENT = Pattern.compile("([0-9]{1,2})\\s*%");
+    private static final Pattern CITY = Pattern.compile("\\b(?:in|at|around)\\s+([A-Z][a-zA-Z]+)");
+
+    private StubResponses() {
+    }
+
+    /**
+     * Answers /genAI/prompt/execute according to the prompt's title.
+     */
+    static JsonElement prompt(JsonObject request, int items) {
+        String title = request.has("promptTitle") ? request.get("promptTitle").getAsString() : "";
+        JsonObject params = request.has("requestParams") && request.get("requestParams").isJsonObject()
+                ? request.getAsJsonObject("requestParams") : new JsonObject();
+        String description = params.has("description") ? params.get("description").getAsString() : "";
+        switch (title) {
+            case "GenerateCategories":
+                return categories(params, description, items);
+            case "extract_price_plan_inventory":
+                return pricePlans(description, items);
+            case "extract_price_rules_inventory":
+                return priceRules(description, items);
+            case "extract_policy_information_inventory_smart_fill":
+                return policies();
+            default:
+                JsonObject result = new JsonObject();
+                result.addProperty("promptTitle", title);
+                result.addProperty("result", "Stub response for " + (title.isEmpty() ? "prompt" : title));
+                return result;
+        }
+    }
+
+    private static JsonObject categories(JsonObject params, String description, int items) {
+        JsonObject hierarchy = new JsonObject();
+        if (params.has("categoryJson")) {
+            JsonElement parsed = JsonParser.parseString(params.get("categoryJson").getAsString());
+            if (parsed.isJsonArray() && parsed.getAsJsonArray().size() > 0) {
+                hierarchy = parsed.getAsJsonArray().get(0).getAsJsonObject();
+            }
+        }
+        String category = params.has("experienceCategory") ? params.get("experienceCategory").getAsString() : null;
+        if (category == null || !hierarchy.has(category)) {
+            category = bestCategory(hierarchy, description);
+        }
+        JsonArray categories = new JsonArray();
+        categories.add(category);
+        JsonArray types = new JsonArray();
+        if (hierarchy.has(category)) {
+            hierarchy.getAsJsonObject(category).keySet().stream().limit(Math.max(1, items)).forEach(types::add);
+        }
+        JsonObject secondary = new JsonObject();
+        secondary.add("experienceTypes", new JsonArray());
+        JsonObject result = new JsonObject();
+        result.add("experienceCategory", categories);
+        result.add("experienceTypes", types);
+        result.add("secondaryTags", secondary);
+        return result;
+    }
+
+    /**
+     * The category whose own name, types or sub-types occur most often in the description.
+     */
+    private static String bestCategory(JsonObject hierarchy, String description) {
+        String text = description.toLowerCase(Locale.ROOT);
+        String best = hierarchy.keySet().stream().findFirst().orElse("Activity");
+        int bestScore = 0;
+        for (String category : hierarchy.keySet()) {
+            int score = text.contains(category.toLowerCase(Locale.ROOT)) ? 2 : 0;
+            JsonObject types = hierarchy.getAsJsonObject(category);
+            for (String type : types.keySet()) {
+                score += text.contains(type.toLowerCase(Locale.ROOT)) ? 2 : 0;
+                if (types.get(type).isJsonArray()) {
+                    for (JsonElement subType : types.getAsJsonArray(type)) {
+                        score += text.contains(subType.getAsString().toLowerCase(Locale.ROOT)) ? 1 : 0;
+                    }
+                }
+            }
+            if (score > bestScore) {
+                best = category;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+
+    private static JsonArray pricePlans(String description, int items) {
+        String currency = currency(description);
+        int fare = firstPrice(description, 100);
+        String[] paxTypes = {"ADULT", "CHILD", "SENIOR"};
+        JsonArray plans = new JsonArray();
+        for (int i = 0; i < Math.max(1, items); i++) {
+            JsonObject plan = new JsonObject();
+            plan.addProperty("title", i == 0 ? "Standard" : "Option " + (i + 1));
+            plan.addProperty("pricingPackageType", i == 0 ? "PER_PERSON" : "PER_GROUP");
+            plan.addProperty("currency", currency);
+            JsonArray prices = new JsonArray();
+            for (int p = 0; p < Math.min(paxTypes.length, i + 1); p++) {
+                JsonObject price = new JsonObject();
+                price.addProperty("paxType", paxTypes[p]);
+                price.addProperty("baseFare", Math.max(1, fare * (i + 1) - p * fare / 4));
+                prices.add(price);
+            }
+            plan.add("price", prices);
+            JsonArray features = new JsonArray();
+            features.add("Guided experience");
+            features.add("All equipment included");
+            plan.add("features", features);
+            plans.add(plan);
+        }
+        return plans;
+    }
+
+    private static JsonArray priceRules(String description, int items) {
+        Matcher percent = PERCENT.matcher(description);
+        boolean isPercentage = percent.find();
+        double adjustment = isPercentage ? Double.parseDouble(percent.group(1)) : firstPrice(description, 10);
+        LocalDate start = LocalDate.now().withDayOfMonth(1);
+        JsonArray rules = new JsonArray();
+        for (int i = 0; i < Math.max(1, items); i++) {
+            JsonObject rule = new JsonObject();
+            rule.addProperty("title", i == 0 ? "Special Discount" : "Special Discount " + (i + 1));
+            rule.addProperty("priceAdjustment", adjustment);
+            rule.addProperty("isPercentage", isPercentage);
+            rule.addProperty("startDate", start.plusMonths(i).toString());
+            rule.addProperty("endDate", start.plusMonths(i + 1).minusDays(1).toString());
+            rule.addProperty("paxType", "ADULT");
+            rule.addProperty("inventoryCount", 10);
+            rule.addProperty("comparisonOperator", "LESS_THAN_OR_EQUAL");
+            rules.add(rule);
+        }
+        return rules;
+    }
+
+    private static JsonArray policies() {
+        JsonArray policies = new JsonArray();
+        policies.add(policy("CANCELLATION", 24, 100, "24 hours before start"));
+        policies.add(policy("CANCELLATION", 12, 50, "12 hours before start"));
+        policies.add(policy("CANCELLATION", 0, 0, "Less than 12 hours before start"));
+        policies.add(policy("RESCHEDULING", 24, 100, "24 hours before start"));
+        return policies;
+    }
+
+    private static JsonObject policy(String type, int hours, int refund, String period) {
+        JsonObject policy = new JsonObject();
+        policy.addProperty("policyType", type);
+        policy.addProperty("hoursBeforeStart", hours);
+        policy.addProperty("refundPercentage", refund);
+        policy.addProperty("timePeriod", period);
+        return policy;
+    }
+
+    /**
+     * Answers /experience/ai/buildExperience for PACKAGE, SERVICE and host property
+     * (media) requests, or returns null if the request is missing required fields.
+     */
+    static JsonObject experience(JsonObject request, int items) {
+        JsonObject location = new JsonObject();
+        String caption;
+        List<String> summary = new ArrayList<>();
+        if (request.has("media")) {
+            caption = "Nature Retreat";
+            location.addProperty("city", "Coorg");
+            location.addProperty("state", "Karnataka");
+            location.addProperty("country", "India");
+            summary.add("A luxury nature resort stay in Coorg");
+        } else {
+            String channel = request.has("channel") ? request.get("channel").getAsString() : "";
+            if ("PACKAGE".equals(channel)) {
+                if (!request.has("products") || !request.get("products").isJsonArray()
+                        || request.getAsJsonArray("products").size() == 0) {
+                    return null;
+                }
+                JsonObject product = null;
+                List<String> captions = new ArrayList<>();
+                for (JsonElement element : request.getAsJsonArray("products")) {
+                    JsonObject candidate = element.getAsJsonObject();
+                    if (!candidate.has("productCatalogId") || !candidate.has("type") || !candidate.has("location")) {
+                        return null;
+                    }
+                    product = product == null ? candidate : product;
+                    if (candidate.has("caption")) {
+                        captions.add(candidate.get("caption").getAsString());
+                    }
+                }
+                JsonObject productLocation = product.getAsJsonObject("location");
+                for (String key : List.of("city", "state", "country")) {
+                    if (productLocation.has(key)) {
+                        location.add(key, productLocation.get(key));
+                    }
+                }
+                String city = location.has("city") ? location.get("city").getAsString() : "City";
+                caption = city + " Heritage & Wellness Getaway";
+                captions.forEach(c -> summary.add(c + " in " + city));
+            } else if ("SERVICE".equals(channel)) {
+                String description = request.has("description") ? request.get("description").getAsString() : "";
+                if (description.isBlank()) {
+                    return null;
+                }
+                Matcher city = CITY.matcher(description);
+                location.addProperty("city", city.find() ? city.group(1) : "Mumbai");
+                location.addProperty("country", "India");
+                caption = description;
+                summary.add(description);
+            } else {
+                return null;
+            }
+        }
+        if (!location.has("country")) {
+            location.addProperty("country", "India");
+        }
+
+        JsonArray plan = new JsonArray();
+        for (int day = 1; day <= Math.max(1, items); day++) {
+            JsonArray schedule = new JsonArray();
+            schedule.add(activity("10:00", "Morning session"));
+            schedule.add(activity("16:00", "Afternoon walk"));
+            JsonObject entry = new JsonObject();
+            entry.addProperty("day", day);
+            entry.add("schedule", schedule);
+            plan.add(entry);
+        }
+        JsonArray summaryArray = new JsonArray();
+        summary.forEach(summaryArray::add);
+        JsonArray types = new JsonArray();
+        types.add("Wellness Retreats");
+        JsonObject experience = new JsonObject();
+        experience.addProperty("caption", caption);
+        experience.add("summary", summaryArray);
+        experience.add("plan", plan);
+        experience.add("experienceTypes", types);
+        experience.add("location", location);
+        experience.add("faq", new JsonArray());
+        JsonObject result = new JsonObject();
+        result.add("experiencejson", experience);
+        return result;
+    }
+
+    private static JsonObject activity(String time, String title) {
+        JsonObject activity = new JsonObject();
+        activity.addProperty("time", time);
+        activity.addProperty("title", title);
+        return activity;
+    }
+
+    static JsonObject imageSummary(int items) {
+        JsonArray tags = new JsonArray();
+        for (int i = 0; i < Math.max(1, items); i++) {
+            tags.add("tag" + (i + 1));
+        }
+        JsonObject result = new JsonObject();
+        result.addProperty("caption", "Scenic view");
+        result.addProperty("summary", "A scenic view of the destination.");
+        result.add("tags", tags);
+        return result;
+    }
+
+    /**
+     * Answers /flight_recommendation/predict by echoing the submitted flights with their
+     * brands ordered by price, the way the model ranks them.
+     */
+    static JsonObject flightRecommendation(JsonObject request, int items) {
+        JsonArray results = new JsonArray();
+        if (request.has("data") && request.get("data").isJsonArray()) {
+            for (JsonElement customer : request.getAsJsonArray("data")) {
+                JsonObject payload = customer.getAsJsonObject().getAsJsonObject("flight_segmentation_payload");
+                if (payload == null || !payload.has("data")) {
+                    continue;
+                }
+                for (JsonElement flightElement : payload.getAsJsonArray("data")) {
+                    if (results.size() >= Math.max(1, items)) {
+                        break;
+                    }
+                    results.add(recommendation(flightElement.getAsJsonObject()));
+                }
+            }
+        }
+        JsonObject result = new JsonObject();
+        result.add("results", results);
+        return result;
+    }
+
+    private static JsonObject recommendation(JsonObject flight) {
+        JsonObject result = new JsonObject();
+        for (String key : List.of("Unique_id", "Source", "Destination", "Duration", "Total_Stops",
+                "Date_of_Journey", "Flight-Number", "Route")) {
+            if (flight.has(key)) {
+                result.add(key, flight.get(key));
+            }
+        }
+        List<JsonObject> brands = new ArrayList<>();
+        if (flight.has("brands")) {
+            flight.getAsJsonArray("brands").forEach(brand -> brands.add(brand.getAsJsonObject()));
+        }
+        brands.sort(Comparator.comparingDouble(brand -> brand.has("price") ? brand.get("price").getAsDouble() : 0));
+        JsonArray ranked = new JsonArray();
+        for (JsonObject brand : brands) {
+            JsonObject entry = new JsonObject();
+            for (String key : List.of("fareId", "price", "brandName", "cabin")) {
+                if (brand.has(key)) {
+                    entry.add(key, brand.get(key));
+                }
+            }
+            entry.addProperty("Reason", "The flight is affordably priced");
+            ranked.add(entry);
+        }
+        result.add("brands", ranked);
+        return result;
+    }
+
+    /**
+     * A body of {@code size} bytes that starts with an MP4 'ftyp' box.
+     */
+    static byte[] video(int size, Random random) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(size, 32));
+        out.writeBytes(new byte[] {0, 0, 0, 32});
+        out.writeBytes("ftypisom".getBytes(StandardCharsets.US_ASCII));
+        out.writeBytes(new byte[] {0, 0, 2, 0});
+        out.writeBytes("isomiso2avc1mp41".getBytes(StandardCharsets.US_ASCII));
+        byte[] filler = new byte[Math.max(0, size - out.size())];
+        random.nextBytes(filler);
+        out.writeBytes(filler);
+        return out.toByteArray();
+    }
+
+    static JsonObject error(int status, String error, String message, String path) {
+        JsonObject body = new JsonObject();
+        body.addProperty("timestamp", Instant.now().toString());
+        body.addProperty("status", status);
+        body.addProperty("error", error);
+        body.addProperty("message", message);
+        body.addProperty("path", path);
+        return body;
+    }
+
+    private static String currency(String description) {
+        return description.contains("₹") || description.contains("INR") || description.contains("Rs") ? "INR" : "USD";
+    }
+
+    private static int firstPrice(String description, int defaultValue) {
+        Matcher matcher = PRICE.matcher(description);
+        if (matcher.find()) {
+            try {
+                return Math.max(1, Integer.parseInt(matcher.group(2).replace(",", "")));
+            } catch (NumberFormatException e) {
+                return defaultValue;
+            }
+        }
+        return defaultValue;
+    }
+}
@@ -0,0 +1,452 @@
+package com.aiservices.stub;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.aiservices.Constants;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.utils.EnvironmentConfig;
+import com.utils.HtmlReportGenerator;
+
+/**
+ * Local stand-in for the AI, experience, reel and flight services, used by the LOCAL
+ * environment. Every endpoint answers with a response of the live shape after a
+ * configurable latency and error rate; see {@link StubResponses}.
+ */
+public class StubServer {
+
+    private static final List<String> ENDPOINTS = List.of(Constants.EXECUTE_PROMPT_ENDPOINT,
+            Constants.CREATE_EXPERIENCE_ENDPOINT, Constants.IMAGE_SUMMARY_ENDPOINT, Constants.GENERATE_VIDEO_ENDPOINT,
+            Constants.VIDEO_STATUS_ENDPOINT, Constants.FLIGHT_RECOMMENDATION_ENDPOINT);
+
+    private static final String VIDEO_DOWNLOAD_PATH = "/videos/";
+
+    private static volatile StubServer shared;
+
+    private final Random random;
+    private final Map<String, EndpointProfile> profiles = new ConcurrentHashMap<>();
+    // Video id to the time its processing starts.
+    private final Map<String, Long> videoJobs = new ConcurrentHashMap<>();
+    private final long videoProcessingMs;
+    // Time each worker becomes free; empty when the number of workers is unlimited.
+    private final PriorityQueue<Long> videoWorkers = new PriorityQueue<>();
+    private final int videoBytes;
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public StubServer(EnvironmentConfig config) {
+        long seed = config.getLong("stub.seed", 0);
+        this.random = seed != 0 ? new Random(seed) : new Random();
+        this.videoProcessingMs = config.getLong("stub.video_processing_ms", 3000);
+        this.videoBytes = config.getInt("stub.video_bytes", 262144);
+        for (int i = 0; i < config.getInt("stub.video_workers", 0); i++) {
+            videoWorkers.add(0L);
+        }
+        for (String endpoint : ENDPOINTS) {
+            profiles.put(endpoint, EndpointProfile.fromConfig(config, endpoint));
+        }
+    }
+
+    /**
+     * Starts the shared stub on the port of the LOCAL base URL if the LOCAL environment
+     * is selected and {@code stub.autostart} is set; does nothing otherwise.
+     */
+    public static void startIfConfigured(EnvironmentConfig config) {
+        if (shared != null || !"LOCAL".equals(config.getEnvironment()) || !config.getBoolean("stub.autostart", true)) {
+            return;
+        }
+        synchronized (StubServer.class) {
+            if (shared == null) {
+                StubServer stub = new StubServer(config);
+                try {
+                    stub.start(URI.create(config.getBaseUrl()).getPort());
+                } catch (IOException e) {
+                    throw new IllegalStateException("Could not start the stub server for the LOCAL environment: "
+                            + e.getMessage(), e);
+                }
+                Runtime.getRuntime().addShutdownHook(new Thread(stub::stop, "stub-server-shutdown"));
+                HtmlReportGenerator.registerTable("stubServer", stub::reportTable);
+                shared = stub;
+            }
+        }
+    }
+
+    /**
+     * Binds to {@code port} (0 picks a free one) and starts serving.
+     */
+    public synchronized void start(int port) throws IOException {
+        AtomicInteger threads = new AtomicInteger();
+        executor = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task, "stub-server-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/", this::handle);
+        server.createContext(VIDEO_DOWNLOAD_PATH, this::downloadVideo);
+        server.setExecutor(executor);
+        // The dispatcher thread inherits the daemon flag of the thread that starts it;
+        // an in-JVM stub must not keep the test JVM alive.
+        Thread starter = new Thread(server::start, "stub-server-start");
+        starter.setDaemon(true);
+        starter.start();
+        try {
+            starter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while starting the stub server", e);
+        }
+        System.out.println("Stub server listening on http://localhost:" + getPort());
+    }
+
+    public synchronized void stop() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            String endpoint = route(path);
+            if (endpoint == null) {
+                send(exchange, 404, StubResponses.error(404, "Not Found", "No stub for " + path, path));
+                return;
+            }
+            EndpointProfile profile = profiles.get(endpoint);
+            byte[] requestBody;
+            try (InputStream in = exchange.getRequestBody()) {
+                requestBody = in.readAllBytes();
+            }
+            if (profile.workers != null) {
+                try {
+                    profile.workers.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            try {
+                long delayMs = profile.sampleLatencyMs(random);
+                profile.recordRequest(delayMs);
+                if (delayMs > 0) {
+                    try {
+                        Thread.sleep(delayMs);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (profile.errorRate > 0 && nextDouble() < profile.errorRate) {
+                    profile.recordError();
+                    send(exchange, profile.errorStatus, StubResponses.error(profile.errorStatus,
+                            profile.errorStatus >= 500 ? "Service Unavailable" : "Error", "Injected stub failure", path));
+                    return;
+                }
+                respond(exchange, endpoint, path, new String(requestBody, StandardCharsets.UTF_8), profile.items);
+            } finally {
+                if (profile.workers != null) {
+                    profile.workers.release();
+                }
+            }
+        }
+    }
+
+    private void respond(HttpExchange exchange, String endpoint, String path, String body, int items) throws IOException {
+        if (Constants.VIDEO_STATUS_ENDPOINT.equals(endpoint)) {
+            videoStatus(exchange, path.substring(path.lastIndexOf('/') + 1));
+            return;
+        }
+        JsonObject request;
+        try {
+            JsonElement parsed = JsonParser.parseString(body);
+            if (!parsed.isJsonObject()) {
+                throw new JsonParseException("Expected a JSON object");
+            }
+            request = parsed.getAsJsonObject();
+        } catch (JsonParseException | IllegalStateException e) {
+            send(exchange, 400, StubResponses.error(400, "Bad Request", "Malformed JSON request: " + e.getMessage(), path));
+            return;
+        }
+        switch (endpoint) {
+            case Constants.EXECUTE_PROMPT_ENDPOINT:
+                if (!request.has("promptTitle") && !request.has("promptId")) {
+                    send(exchange, 400, StubResponses.error(400, "Bad Request", "promptTitle or promptId is required", path));
+                } else {
+                    send(exchange, 200, StubResponses.prompt(request, items));
+                }
+                break;
+            case Constants.CREATE_EXPERIENCE_ENDPOINT:
+                JsonObject experience = StubResponses.experience(request, items);
+                if (experience == null) {
+                    send(exchange, 400, StubResponses.error(400, "Bad Request", "Invalid experience request", path));
+                } else {
+                    send(exchange, 200, experience);
+                }
+                break;
+            case Constants.IMAGE_SUMMARY_ENDPOINT:
+                send(exchange, 200, StubResponses.imageSummary(items));
+                break;
+            case Constants.GENERATE_VIDEO_ENDPOINT:
+                generateVideo(exchange, request);
+                break;
+            default:
+                send(exchange, 200, StubResponses.flightRecommendation(request, items));
+        }
+    }
+
+    private void generateVideo(HttpExchange exchange, JsonObject request) throws IOException {
+        if (request.has("async") && request.get("async").getAsBoolean()) {
+            String id = UUID.randomUUID().toString();
+            long now = System.currentTimeMillis();
+            long startsAt = scheduleVideo(now);
+            videoJobs.put(id, startsAt);
+            JsonObject job = new JsonObject();
+            job.addProperty("id", id);
+            job.addProperty("status", startsAt > now ? "queued" : "processing");
+            send(exchange, 200, job);
+            return;
+        }
+        byte[] video;
+        synchronized (random) {
+            video = StubResponses.video(videoBytes, random);
+        }
+        exchange.getResponseHeaders().set("Content-Type", "video/mp4");
+        exchange.sendResponseHeaders(200, video.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(video);
+        }
+    }
+
+    private void videoStatus(HttpExchange exchange, String id) throws IOException {
+        Long startsAt = videoJobs.get(id);
+        if (startsAt == null) {
+            send(exchange, 404, StubResponses.error(404, "Not Found", "Unknown video " + id,
+                    exchange.getRequestURI().getPath()));
+            return;
+        }
+        long elapsed = System.currentTimeMillis() - startsAt;
+        boolean completed = elapsed >= videoProcessingMs;
+        JsonObject status = new JsonObject();
+        status.addProperty("id", id);
+        status.addProperty("status", completed ? "completed" : elapsed < 0 ? "queued" : "processing");
+        status.addProperty("progress", completed ? 100 : (int) (100 * Math.max(0, elapsed) / Math.max(1, videoProcessingMs)));
+        if (completed) {
+            status.addProperty("videoUrl", "http://localhost:" + getPort() + VIDEO_DOWNLOAD_PATH + id + ".mp4");
+        }
+        send(exchange, 200, status);
+    }
+
+    /**
+     * Serves the MP4 of a completed video job at its {@code videoUrl}.
+     */
+    private void downloadVideo(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            String name = path.substring(VIDEO_DOWNLOAD_PATH.length());
+            String id = name.endsWith(".mp4") ? name.substring(0, name.length() - ".mp4".length()) : name;
+            Long startsAt = videoJobs.get(id);
+            if (startsAt == null || System.currentTimeMillis() - startsAt < videoProcessingMs) {
+                send(exchange, 404, StubResponses.error(404, "Not Found", "No completed video " + id, path));
+                return;
+            }
+            byte[] video;
+            synchronized (random) {
+                video = StubResponses.video(videoBytes, random);
+            }
+            exchange.getResponseHeaders().set("Content-Type", "video/mp4");
+            exchange.sendResponseHeaders(200, video.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(video);
+            }
+        }
+    }
+
+    /**
+     * When a job submitted at {@code now} starts processing: immediately, or once the
+     * first of the {@code video_workers} becomes free.
+     */
+    private long scheduleVideo(long now) {
+        synchronized (videoWorkers) {
+            if (videoWorkers.isEmpty()) {
+                return now;
+            }
+            long startsAt = Math.max(now, videoWorkers.poll());
+            videoWorkers.add(startsAt + videoProcessingMs);
+            return startsAt;
+        }
+    }
+
+    /**
+     * The configured endpoint a request path ends with, or null.
+     */
+    static String route(String path) {
+        for (String endpoint : ENDPOINTS) {
+            if (endpoint.endsWith("/") ? path.contains(endpoint) && !path.endsWith(endpoint) : path.endsWith(endpoint)) {
+                return endpoint;
+            }
+        }
+        return null;
+    }
+
+    private static void send(HttpExchange exchange, int status, JsonElement body) throws IOException {
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private double nextDouble() {
+        synchronized (random) {
+            return random.nextDouble();
+        }
+    }
+
+    private HtmlReportGenerator.ReportTable reportTable() {
+        HtmlReportGenerator.ReportTable table = new HtmlReportGenerator.ReportTable("Stub Server",
+                List.of("Endpoint", "Latency", "Requests", "Injected Errors", "Avg Delay", "Max Delay"));
+        new TreeMap<>(profiles).forEach((endpoint, profile) -> {
+            if (profile.requests() > 0) {
+                table.addRow(profile.reportRow(endpoint));
+            }
+        });
+        return table;
+    }
+
+    /**
+     * Runs the stub until the JVM is stopped. The port defaults to {@code stub.port}.
+     */
+    public static void main(String[] args) throws IOException, InterruptedException {
+        EnvironmentConfig config = EnvironmentConfig.get();
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : config.getInt("stub.port", 8089);
+        StubServer stub = new StubServer(config);
+        stub.start(port);
+        Runtime.getRuntime().addShutdownHook(new Thread(stub::stop, "stub-server-shutdown"));
+        Thread.currentThread().join();
+    }
+
+    /**
+     * Latency distribution, error injection and payload size of one endpoint.
+     *
+     * "lognormal" is fitted to {@code latency_median_ms} and {@code latency_p99_ms},
+     * "exponential" has the given median, and "fixed" always waits the median.
+     */
+    static final class EndpointProfile {
+        private static final double Z_99 = 2.3263;
+
+        final String distribution;
+        final double medianMs;
+        final double p99Ms;
+        final double errorRate;
+        final int errorStatus;
+        final int items;
+        // Requests served at once; the rest wait for a worker. Null when unlimited.
+        final Semaphore workers;
+
+        private long requests;
+        private long errors;
+        private long totalDelayMs;
+        private long maxDelayMs;
+
+        EndpointProfile(String distribution, double medianMs, double p99Ms, double errorRate, int errorStatus, int items,
+                        int maxConcurrency) {
+            this.distribution = distribution;
+            this.medianMs = medianMs;
+            this.p99Ms = Math.max(medianMs, p99Ms);
+            this.errorRate = errorRate;
+            this.errorStatus = errorStatus;
+            this.items = items;
+            this.workers = maxConcurrency > 0 ? new Semaphore(maxConcurrency, true) : null;
+        }
+
+        static EndpointProfile fromConfig(EnvironmentConfig config, String endpoint) {
+            String prefix = "stub.endpoints." + endpoint + ".";
+            return new EndpointProfile(
+                    config.getString(prefix + "latency_distribution",
+                            config.getString("stub.latency_distribution", "lognormal")).toLowerCase(Locale.ROOT),
+                    config.getDouble(prefix + "latency_median_ms", config.getDouble("stub.latency_median_ms", 50)),
+                    config.getDouble(prefix + "latency_p99_ms", config.getDouble("stub.latency_p99_ms", 250)),
+                    config.getDouble(prefix + "error_rate", config.getDouble("stub.error_rate", 0)),
+                    config.getInt(prefix + "error_status", config.getInt("stub.error_status", 503)),
+                    config.getInt(prefix + "payload_items", config.getInt("stub.payload_items", 3)),
+                    config.getInt(prefix + "max_concurrency", config.getInt("stub.max_concurrency", 0)));
+        }
+
+        long sampleLatencyMs(Random random) {
+            if (medianMs <= 0) {
+                return 0;
+            }
+            double sample;
+            synchronized (random) {
+                switch (distribution) {
+                    case "fixed":
+                        sample = medianMs;
+                        break;
+                    case "exponential":
+                        sample = -medianMs / Math.log(2) * Math.log(1 - random.nextDouble());
+                        break;
+                    default:
+                        double sigma = Math.log(p99Ms / medianMs) / Z_99;
+                        sample = medianMs * Math.exp(sigma * random.nextGaussian());
+                }
+            }
+            return Math.round(sample);
+        }
+
+        synchronized void recordRequest(long delayMs) {
+            requests++;
+            totalDelayMs += delayMs;
+            maxDelayMs = Math.max(maxDelayMs, delayMs);
+        }
+
+        synchronized void recordError() {
+            errors++;
+        }
+
+        synchronized long requests() {
+            return requests;
+        }
+
+        synchronized List<String> reportRow(String endpoint) {
+            List<String> row = new ArrayList<>();
+            row.add(endpoint);
+            row.add("fixed".equals(distribution) ? String.format("fixed %.0fms", medianMs)
+                    : String.format("%s p50=%.0fms p99=%.0fms", distribution, medianMs, p99Ms));
+            row.add(String.valueOf(requests));
+            row.add(errors + (errorRate > 0 ? String.format(" (%.1f%% configured)", 100 * errorRate) : ""));
+            row.add((requests == 0 ? 0 : totalDelayMs / requests) + "ms");
+            row.add(maxDelayMs + "ms");
+            return row;
+        }
+    }
+}
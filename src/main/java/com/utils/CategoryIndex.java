@@ -0,0 +1,161 @@
+package com.utils;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Immutable index of the experience category hierarchy in
+ * {@code resources/data/categories/categoryJson.json}, parsed once per JVM.
+ */
+public final class CategoryIndex {
+
+    public static final String CATEGORY_FILE = "categories/categoryJson.json";
+
+    private static volatile CategoryIndex instance;
+
+    private final String json;
+    private final Map<String, Set<String>> typesByCategory;
+    private final Map<String, String> categoryByType;
+    private final Map<String, String> categoriesIgnoringCase;
+    private final Map<String, String> typesIgnoringCase;
+
+    private CategoryIndex(String json, JsonObject hierarchy) {
+        this.json = json;
+        Map<String, Set<String>> types = new LinkedHashMap<>();
+        Map<String, String> categories = new LinkedHashMap<>();
+        Map<String, String> categoryNames = new LinkedHashMap<>();
+        Map<String, String> typeNames = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonElement> category : hierarchy.entrySet()) {
+            String name = category.getKey().intern();
+            categoryNames.putIfAbsent(name.toLowerCase(Locale.ROOT), name);
+            Set<String> children = new LinkedHashSet<>();
+            if (category.getValue().isJsonObject()) {
+                for (String child : category.getValue().getAsJsonObject().keySet()) {
+                    String type = child.intern();
+                    children.add(type);
+                    // A type listed under two categories belongs to the first
+                    categories.putIfAbsent(type, name);
+                    typeNames.putIfAbsent(type.toLowerCase(Locale.ROOT), type);
+                }
+            }
+            types.put(name, Collections.unmodifiableSet(children));
+        }
+        this.typesByCategory = Collections.unmodifiableMap(types);
+        this.categoryByType = Collections.unmodifiableMap(categories);
+        this.categoriesIgnoringCase = Collections.unmodifiableMap(categoryNames);
+        this.typesIgnoringCase = Collections.unmodifiableMap(typeNames);
+    }
+
+    /**
+     * Returns the shared index, reading {@link #CATEGORY_FILE} on first use.
+     */
+    public static CategoryIndex get() throws IOException {
+        CategoryIndex index = instance;
+        if (index == null) {
+            synchronized (CategoryIndex.class) {
+                index = instance;
+                if (index == null) {
+                    index = parse(JsonFileReader.readJsonFile(CATEGORY_FILE));
+                    instance = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Builds an index from category JSON: an object of categories, or an array holding
+     * one, as in the category file.
+     */
+    public static CategoryIndex parse(String json) throws IOException {
+        JsonElement root = JsonParser.parseString(json);
+        if (root.isJsonArray()) {
+            JsonArray array = root.getAsJsonArray();
+            root = array.isEmpty() ? null : array.get(0);
+        }
+        if (root == null || !root.isJsonObject()) {
+            throw new IOException("Category JSON is not an object of categories");
+        }
+        return new CategoryIndex(json, root.getAsJsonObject());
+    }
+
+    /**
+     * The category JSON exactly as read, for {@code requestParams.categoryJson}.
+     */
+    public String getJson() {
+        return json;
+    }
+
+    /**
+     * Main category names in file order.
+     */
+    public Set<String> getCategories() {
+        return typesByCategory.keySet();
+    }
+
+    public boolean isCategory(String name) {
+        return typesByCategory.containsKey(name);
+    }
+
+    public boolean isExperienceType(String name) {
+        return categoryByType.containsKey(name);
+    }
+
+    /**
+     * The experienceTypes of a main category, or an empty set if it is not one.
+     */
+    public Set<String> typesOf(String category) {
+        return typesByCategory.getOrDefault(category, Set.of());
+    }
+
+    /**
+     * The experienceTypes of all the given categories; names that are not categories are ignored.
+     */
+    public Set<String> typesOf(Collection<String> categories) {
+        if (categories.size() == 1) {
+            return typesOf(categories.iterator().next());
+        }
+        Set<String> types = new LinkedHashSet<>();
+        for (String category : categories) {
+            types.addAll(typesOf(category));
+        }
+        return Collections.unmodifiableSet(types);
+    }
+
+    /**
+     * The main category an experienceType belongs to, or null if it is not one.
+     */
+    public String categoryOf(String experienceType) {
+        return categoryByType.get(experienceType);
+    }
+
+    /**
+     * The category name as written in the file, matched ignoring case, or null.
+     */
+    public String category(String name) {
+        return name == null ? null : categoriesIgnoringCase.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * The experienceType name as written in the file, matched ignoring case, or null.
+     */
+    public String experienceType(String name) {
+        return name == null ? null : typesIgnoringCase.get(name.toLowerCase(Locale.ROOT));
+    }
+
+    @Override
+    public String toString() {
+        return "CategoryIndex{" + typesByCategory.size() + " categories, " + categoryByType.size() + " experienceTypes}";
+    }
+}
@@ -0,0 +1,137 @@
+package com.utils;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.ArgumentsProvider;
+import org.junit.jupiter.params.support.AnnotationConsumer;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+/**
+ * Arguments for {@link DataDirectorySource}: the directory's file names, sorted, then
+ * filtered by glob and tags, sharded and sampled. Sampling draws a fresh seed per run
+ * and prints it; a sharded run must set {@code testdata.seed}.
+ */
+public class DataDirectoryArgumentsProvider implements ArgumentsProvider, AnnotationConsumer<DataDirectorySource> {
+
+    static final String TAGS_FILE = "tags.json";
+    private static final String DATA_DIR = "resources/data/";
+
+    private DataDirectorySource source;
+
+    @Override
+    public void accept(DataDirectorySource source) {
+        this.source = source;
+    }
+
+    @Override
+    public Stream<? extends Arguments> provideArguments(ExtensionContext context) throws Exception {
+        EnvironmentConfig config = EnvironmentConfig.get();
+        String directory = source.value();
+        List<String> names = list(directory);
+        PathMatcher glob = FileSystems.getDefault().getPathMatcher("glob:" + source.glob());
+        Set<String> tagged = source.tags().length == 0 ? null : tagged(directory, Set.of(source.tags()));
+
+        int shardCount = config.getInt("testdata.shard.count", 1);
+        int shardIndex = config.getInt("testdata.shard.index", 0);
+        if (shardCount < 1 || shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("testdata.shard.index must be in [0, testdata.shard.count): "
+                    + shardIndex + " of " + shardCount);
+        }
+        double sample = config.getDouble("testdata.sample", source.sample());
+        long seed = config.getLong("testdata.seed", 0);
+        if (sample < 1.0 && seed == 0) {
+            if (shardCount > 1) {
+                throw new IllegalArgumentException("testdata.seed must be set when sampling a sharded run, so that"
+                        + " every shard draws from the same seed");
+            }
+            seed = new Random().nextLong();
+        }
+        if (sample < 1.0) {
+            System.out.printf("Sampling %.0f%% of %s for %s (testdata.seed=%d)%n", 100 * sample, directory,
+                    context.getDisplayName(), seed);
+        }
+        List<String> matching = names.stream()
+                .filter(name -> !TAGS_FILE.equals(name))
+                .filter(name -> glob.matches(Paths.get(name)))
+                .filter(name -> tagged == null || tagged.contains(name))
+                .toList();
+        List<String> shard = IntStream.range(0, matching.size())
+                .filter(index -> index % shardCount == shardIndex)
+                .mapToObj(matching::get)
+                .toList();
+        if (sample < 1.0 && !shard.isEmpty()) {
+            List<String> shuffled = new ArrayList<>(shard);
+            Collections.shuffle(shuffled, new Random(seed));
+            Set<String> sampled = new HashSet<>(
+                    shuffled.subList(0, Math.max(1, (int) Math.round(sample * shard.size()))));
+            shard = shard.stream().filter(sampled::contains).toList();
+        }
+        return shard.stream()
+                .map(this::argument)
+                .map(Arguments::of);
+    }
+
+    private String argument(String fileName) {
+        String strip = source.strip();
+        return !strip.isEmpty() && fileName.endsWith(strip)
+                ? fileName.substring(0, fileName.length() - strip.length())
+                : fileName;
+    }
+
+    private static List<String> list(String directory) throws IOException {
+        DataPack pack = DataPack.shared();
+        if (pack != null) {
+            return pack.list(directory);
+        }
+        List<String> names = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(Paths.get(DATA_DIR + directory))) {
+            for (Path file : files) {
+                if (Files.isRegularFile(file)) {
+                    names.add(file.getFileName().toString());
+                }
+            }
+        }
+        names.sort(null);
+        return names;
+    }
+
+    /**
+     * File names in the directory's tags.json with at least one of {@code wanted}.
+     */
+    private static Set<String> tagged(String directory, Set<String> wanted) throws IOException {
+        JsonObject tags = JsonFileReader.readJsonObject(directory + "/" + TAGS_FILE);
+        Set<String> names = new HashSet<>();
+        for (var entry : tags.entrySet()) {
+            for (JsonElement tag : entry.getValue().getAsJsonArray()) {
+                if (wanted.contains(tag.getAsString())) {
+                    names.add(entry.getKey());
+                    break;
+                }
+            }
+        }
+        if (names.isEmpty()) {
+            throw new IllegalArgumentException("No file in " + directory + "/" + TAGS_FILE + " is tagged "
+                    + Arrays.toString(wanted.toArray()));
+        }
+        return names;
+    }
+}
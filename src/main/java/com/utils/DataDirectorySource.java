@@ -0,0 +1,50 @@
+package com.utils;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.params.provider.ArgumentsSource;
+
+/**
+ * Supplies a parameterized test with the file names of a {@code resources/data}
+ * directory, e.g. {@code @DataDirectorySource(value = "smartaifill", tags = "price-rules")}.
+ * See {@link DataDirectoryArgumentsProvider} for filtering, sharding and sampling.
+ */
+@Target({ElementType.ANNOTATION_TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@ArgumentsSource(DataDirectoryArgumentsProvider.class)
+public @interface DataDirectorySource {
+
+    /**
+     * The directory under {@code resources/data}.
+     */
+    String value();
+
+    /**
+     * File name glob, matched against names inside the directory.
+     */
+    String glob() default "*.json";
+
+    /**
+     * Suffix removed from each file name to form the argument.
+     */
+    String strip() default ".json";
+
+    /**
+     * Keep only files tagged with at least one of these in the directory's
+     * {@code tags.json} (file name to list of tags); all files when empty.
+     */
+    String[] tags() default {};
+
+    /**
+     * Fraction of the matching files to run, drawn afresh each run unless
+     * {@code testdata.seed} is set: {@code round(sample * files)} of them, chosen
+     * uniformly, but never fewer than one, as JUnit rejects a test with no arguments.
+     * With sharding the fraction applies to each shard's files.
+     */
+    double sample() default 1.0;
+}
@@ -0,0 +1,272 @@
+package com.utils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Read-only, memory-mapped view of a test data pack written by {@link DataPacker}:
+ * every file of {@code resources/data} in one file behind a path index. A pack whose
+ * directories changed after it was written is not used (see {@link #shared()}).
+ */
+public final class DataPack {
+
+    static final int MAGIC = 0x5444504B; // "TDPK"
+    static final int VERSION = 1;
+
+    private static final String DATA_DIR = "resources/data";
+    private static volatile DataPack shared;
+    private static volatile boolean opened;
+
+    private final Path file;
+    private final MappedByteBuffer mapping;
+    private final long createdMillis;
+    private final Map<String, Entry> entries;
+
+    private DataPack(Path file, MappedByteBuffer mapping, long createdMillis, Map<String, Entry> entries) {
+        this.file = file;
+        this.mapping = mapping;
+        this.createdMillis = createdMillis;
+        this.entries = Collections.unmodifiableMap(entries);
+    }
+
+    /**
+     * The suite-wide pack from the "data_pack" block, or null when it is disabled,
+     * missing, unreadable or out of date.
+     */
+    public static DataPack shared() throws IOException {
+        if (!opened) {
+            synchronized (DataPack.class) {
+                if (!opened) {
+                    shared = openConfigured();
+                    opened = true;
+                }
+            }
+        }
+        return shared;
+    }
+
+    private static DataPack openConfigured() throws IOException {
+        EnvironmentConfig config = EnvironmentConfig.get();
+        if (!config.getBoolean("data_pack.enabled", true)) {
+            return null;
+        }
+        Path path = Paths.get(config.getString("data_pack.file", "target/data.pack"));
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        DataPack pack;
+        try {
+            pack = open(path);
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable test data pack " + path + ": " + e.getMessage());
+            return null;
+        }
+        if (config.getBoolean("data_pack.verify", true)) {
+            String stale = pack.findModifiedDirectory(Paths.get(DATA_DIR));
+            if (stale != null) {
+                System.err.println("Test data pack " + path + " is out of date (" + stale + "); reading "
+                        + DATA_DIR + " instead. Rebuild it with mvn process-classes.");
+                return null;
+            }
+        }
+        return pack;
+    }
+
+    /**
+     * Maps a pack file and reads its index.
+     */
+    public static DataPack open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Test data pack larger than 2 GB: " + file);
+            }
+            MappedByteBuffer mapping = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try {
+                if (mapping.getInt() != MAGIC) {
+                    throw new IOException("Not a test data pack: " + file);
+                }
+                int version = mapping.getInt();
+                if (version != VERSION) {
+                    throw new IOException("Unsupported test data pack version " + version + ": " + file);
+                }
+                long createdMillis = mapping.getLong();
+                int count = mapping.getInt();
+                Map<String, Entry> entries = new LinkedHashMap<>(count * 2);
+                for (int i = 0; i < count; i++) {
+                    byte[] name = new byte[Short.toUnsignedInt(mapping.getShort())];
+                    mapping.get(name);
+                    long offset = mapping.getLong();
+                    int length = mapping.getInt();
+                    long modified = mapping.getLong();
+                    if (offset < 0 || offset + length > mapping.capacity()) {
+                        throw new IOException("Corrupt test data pack index: " + file);
+                    }
+                    entries.put(new String(name, StandardCharsets.UTF_8), new Entry((int) offset, length, modified));
+                }
+                return new DataPack(file, mapping, createdMillis, entries);
+            } catch (RuntimeException e) {
+                throw new IOException("Corrupt test data pack: " + file, e);
+            }
+        }
+    }
+
+    /**
+     * The first directory of {@code dataDir} holding packed files that was modified after
+     * the pack was written, or null if there is none.
+     */
+    String findModifiedDirectory(Path dataDir) throws IOException {
+        if (!Files.isDirectory(dataDir)) {
+            return null;
+        }
+        Set<String> directories = new TreeSet<>();
+        directories.add("");
+        for (String name : entries.keySet()) {
+            for (int slash = name.indexOf('/'); slash >= 0; slash = name.indexOf('/', slash + 1)) {
+                directories.add(name.substring(0, slash));
+            }
+        }
+        for (String directory : directories) {
+            Path path = directory.isEmpty() ? dataDir : dataDir.resolve(directory);
+            if (!Files.isDirectory(path)) {
+                return directory + " was removed";
+            }
+            if (Files.getLastModifiedTime(path).toMillis() > createdMillis) {
+                return (directory.isEmpty() ? dataDir.toString() : directory) + " changed";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The first difference between the index and {@code dataDir}, or null if every file
+     * is packed with its current size and modification time.
+     */
+    String findStale(Path dataDir) throws IOException {
+        if (!Files.isDirectory(dataDir)) {
+            return null;
+        }
+        int files = 0;
+        try (Stream<Path> walk = Files.walk(dataDir)) {
+            for (Path path : (Iterable<Path>) walk::iterator) {
+                BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                if (!attributes.isRegularFile()) {
+                    continue;
+                }
+                files++;
+                String name = DataPacker.entryName(dataDir, path);
+                Entry entry = entries.get(name);
+                if (entry == null) {
+                    return name + " is not packed";
+                }
+                if (entry.length != attributes.size() || entry.modified != attributes.lastModifiedTime().toMillis()) {
+                    return name + " changed";
+                }
+            }
+        }
+        return files == entries.size() ? null : (entries.size() - files) + " packed files were removed";
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getCreatedMillis() {
+        return createdMillis;
+    }
+
+    /**
+     * Packed paths, relative to the data directory, in index order.
+     */
+    public List<String> getPaths() {
+        return new ArrayList<>(entries.keySet());
+    }
+
+    public boolean contains(String relativePath) {
+        return entries.containsKey(normalize(relativePath));
+    }
+
+    /**
+     * The size of a packed file, or -1 if it is not packed.
+     */
+    public int length(String relativePath) {
+        Entry entry = entries.get(normalize(relativePath));
+        return entry == null ? -1 : entry.length;
+    }
+
+    /**
+     * The names of the files directly inside {@code directory}, sorted.
+     */
+    public List<String> list(String directory) {
+        String prefix = normalize(directory);
+        prefix = prefix.isEmpty() || prefix.endsWith("/") ? prefix : prefix + "/";
+        List<String> names = new ArrayList<>();
+        for (String path : entries.keySet()) {
+            if (path.startsWith(prefix) && path.indexOf('/', prefix.length()) < 0) {
+                names.add(path.substring(prefix.length()));
+            }
+        }
+        Collections.sort(names);
+        return names;
+    }
+
+    /**
+     * A read-only view of a packed file's bytes, sharing the mapping; null if it is not
+     * packed. Each call returns an independent position and limit.
+     */
+    public ByteBuffer slice(String relativePath) {
+        Entry entry = entries.get(normalize(relativePath));
+        if (entry == null) {
+            return null;
+        }
+        return mapping.slice(entry.offset, entry.length).asReadOnlyBuffer();
+    }
+
+    /**
+     * A packed file decoded as UTF-8, or null if it is not packed.
+     */
+    public String getString(String relativePath) {
+        ByteBuffer bytes = slice(relativePath);
+        return bytes == null ? null : StandardCharsets.UTF_8.decode(bytes).toString();
+    }
+
+    static String normalize(String relativePath) {
+        String path = relativePath.replace('\\', '/');
+        while (path.startsWith("./")) {
+            path = path.substring(2);
+        }
+        return path.startsWith("/") ? path.substring(1) : path;
+    }
+
+    @Override
+    public String toString() {
+        return "DataPack{" + file + ", " + entries.size() + " files, " + mapping.capacity() + " bytes}";
+    }
+
+    private static final class Entry {
+        private final int offset;
+        private final int length;
+        private final long modified;
+
+        private Entry(int offset, int length, long modified) {
+            this.offset = offset;
+            this.length = length;
+            this.modified = modified;
+        }
+    }
+}
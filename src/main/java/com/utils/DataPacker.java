@@ -0,0 +1,112 @@
+package com.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Build step that writes every file under a data directory into one {@link DataPack}.
+ * The pom runs it in the {@code process-classes} phase:
+ * {@code DataPacker resources/data target/data.pack}.
+ *
+ * The pack is rewritten only when a file was added, removed or changed, or a packed
+ * directory was modified, since it was written, and is replaced atomically so a running suite never maps a partial pack.
+ */
+public final class DataPacker {
+
+    private DataPacker() {
+    }
+
+    /**
+     * Packs {@code dataDir} into {@code packFile} unless the existing pack is current.
+     *
+     * @return true if the pack was (re)written
+     */
+    public static boolean pack(Path dataDir, Path packFile) throws IOException {
+        if (Files.isRegularFile(packFile)) {
+            try {
+                DataPack pack = DataPack.open(packFile);
+                if (pack.findStale(dataDir) == null && pack.findModifiedDirectory(dataDir) == null) {
+                    return false;
+                }
+            } catch (IOException e) {
+                System.err.println("Rewriting unreadable test data pack " + packFile + ": " + e.getMessage());
+            }
+        }
+        List<Path> files = new ArrayList<>();
+        try (Stream<Path> walk = Files.walk(dataDir)) {
+            walk.filter(Files::isRegularFile).sorted().forEach(files::add);
+        }
+        List<byte[]> names = new ArrayList<>();
+        List<BasicFileAttributes> attributes = new ArrayList<>();
+        long indexBytes = 4 + 4 + 8 + 4;
+        for (Path file : files) {
+            byte[] name = entryName(dataDir, file).getBytes(StandardCharsets.UTF_8);
+            if (name.length > 0xFFFF) {
+                throw new IOException("Path too long to pack: " + file);
+            }
+            names.add(name);
+            attributes.add(Files.readAttributes(file, BasicFileAttributes.class));
+            indexBytes += 2 + name.length + 8 + 4 + 8;
+        }
+        Path parent = packFile.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, packFile.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream stream = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(stream))) {
+                out.writeInt(DataPack.MAGIC);
+                out.writeInt(DataPack.VERSION);
+                out.writeLong(System.currentTimeMillis());
+                out.writeInt(files.size());
+                long offset = indexBytes;
+                for (int i = 0; i < files.size(); i++) {
+                    long size = attributes.get(i).size();
+                    out.writeShort(names.get(i).length);
+                    out.write(names.get(i));
+                    out.writeLong(offset);
+                    out.writeInt(Math.toIntExact(size));
+                    out.writeLong(attributes.get(i).lastModifiedTime().toMillis());
+                    offset += size;
+                }
+                for (int i = 0; i < files.size(); i++) {
+                    byte[] content = Files.readAllBytes(files.get(i));
+                    if (content.length != attributes.get(i).size()) {
+                        throw new IOException(files.get(i) + " changed while packing");
+                    }
+                    out.write(content);
+                }
+            }
+            Files.move(temp, packFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+        System.out.println("Packed " + files.size() + " test data files from " + dataDir + " into " + packFile);
+        return true;
+    }
+
+    /**
+     * The index name of {@code file}: its path relative to {@code dataDir}, with '/'.
+     */
+    static String entryName(Path dataDir, Path file) {
+        return dataDir.relativize(file).toString().replace('\\', '/');
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path dataDir = Paths.get(args.length > 0 ? args[0] : "resources/data");
+        Path packFile = Paths.get(args.length > 1 ? args[1] : "target/data.pack");
+        if (!pack(dataDir, packFile)) {
+            System.out.println("Test data pack " + packFile + " is up to date");
+        }
+    }
+}
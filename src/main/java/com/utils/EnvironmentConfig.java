@@ -0,0 +1,201 @@
+package com.utils;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Process-wide, immutable view of app_config.json.
+ *
+ * The file is parsed once per JVM on first use. Values can be overridden without
+ * editing the file, in this order of precedence:
+ * 1. System property with the config key, e.g. -Denvironment=PROD or -Dai_services_url=...
+ * 2. Environment variable named AISERVICES_ plus the key upper-cased with dots replaced
+ *    by underscores, e.g. AISERVICES_ENVIRONMENT=PROD or AISERVICES_AI_SERVICES_URL=...
+ * 3. The value in app_config.json for the selected environment.
+ */
+public final class EnvironmentConfig {
+
+    public static final String CONFIG_PATH = "/config/app_config.json";
+    private static final String DEFAULT_ENVIRONMENT = "UAT";
+    // Keeps generic variables such as ENVIRONMENT or BASE_URL from overriding the config
+    private static final String ENV_PREFIX = "AISERVICES_";
+
+    private static volatile EnvironmentConfig instance;
+
+    private final String environment;
+    private final JsonObject root;
+    private final Map<String, String> serviceUrls;
+    private final Map<String, String> apiEndpoints;
+
+    private EnvironmentConfig(JsonObject root) throws IOException {
+        this.root = root;
+        String configured = root.has("environment") ? root.get("environment").getAsString() : DEFAULT_ENVIRONMENT;
+        this.environment = override("environment", configured);
+
+        JsonObject environments = root.getAsJsonObject("environments");
+        if (environments == null || !environments.has(environment)) {
+            throw new IOException("Environment '" + environment + "' is not defined in " + CONFIG_PATH);
+        }
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (Map.Entry<String, JsonElement> entry : environments.getAsJsonObject(environment).entrySet()) {
+            urls.put(entry.getKey(), override(entry.getKey(), entry.getValue().getAsString()));
+        }
+        this.serviceUrls = Collections.unmodifiableMap(urls);
+
+        Map<String, String> endpoints = new LinkedHashMap<>();
+        if (root.has("api_endpoints")) {
+            for (Map.Entry<String, JsonElement> entry : root.getAsJsonObject("api_endpoints").entrySet()) {
+                endpoints.put(entry.getKey(), entry.getValue().getAsString());
+            }
+        }
+        this.apiEndpoints = Collections.unmodifiableMap(endpoints);
+    }
+
+    /**
+     * Returns the shared configuration, parsing app_config.json on first use.
+     */
+    public static EnvironmentConfig get() throws IOException {
+        EnvironmentConfig config = instance;
+        if (config == null) {
+            synchronized (EnvironmentConfig.class) {
+                config = instance;
+                if (config == null) {
+                    config = load(CONFIG_PATH);
+                    instance = config;
+                }
+            }
+        }
+        return config;
+    }
+
+    /**
+     * Parses a configuration file from the classpath without caching it.
+     */
+    public static EnvironmentConfig load(String configPath) throws IOException {
+        InputStream stream = EnvironmentConfig.class.getResourceAsStream(configPath);
+        if (stream == null) {
+            throw new IOException("Configuration file not found: " + configPath);
+        }
+        try (var reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            JsonElement configElement = JsonParser.parseReader(reader);
+            if (configElement == null || !configElement.isJsonObject()) {
+                throw new IOException("Configuration file not found or invalid JSON: " + configPath);
+            }
+            return new EnvironmentConfig(configElement.getAsJsonObject());
+        }
+    }
+
+    public String getEnvironment() {
+        return environment;
+    }
+
+    public String getBaseUrl() {
+        return getServiceUrl("base_url");
+    }
+
+    public String getExperienceServiceUrl() {
+        return getServiceUrl("experience_service_url");
+    }
+
+    public String getAiServicesUrl() {
+        return getServiceUrl("ai_services_url");
+    }
+
+    public String getFlightRecommendationUrl() {
+        return getServiceUrl("flight_recommendation_url");
+    }
+
+    /**
+     * Returns a URL from the selected environment block.
+     *
+     * @throws IllegalStateException if the key is not configured
+     */
+    public String getServiceUrl(String key) {
+        String url = serviceUrls.get(key);
+        if (url == null) {
+            throw new IllegalStateException("'" + key + "' is not configured for environment " + environment);
+        }
+        return url;
+    }
+
+    public Map<String, String> getServiceUrls() {
+        return serviceUrls;
+    }
+
+    /**
+     * Returns an entry of the api_endpoints block, e.g. "execute_prompt".
+     *
+     * @throws IllegalStateException if the endpoint is not configured
+     */
+    public String getApiEndpoint(String name) {
+        String endpoint = apiEndpoints.get(name);
+        if (endpoint == null) {
+            throw new IllegalStateException("API endpoint '" + name + "' is not configured");
+        }
+        return endpoint;
+    }
+
+    public Map<String, String> getApiEndpoints() {
+        return apiEndpoints;
+    }
+
+    /**
+     * Looks up a dotted setting such as "retry.max_attempts", applying the
+     * system property and environment variable overrides.
+     */
+    public String getString(String key, String defaultValue) {
+        JsonElement element = root;
+        for (String part : key.split("\\.")) {
+            if (element == null || !element.isJsonObject()) {
+                element = null;
+                break;
+            }
+            element = element.getAsJsonObject().get(part);
+        }
+        String configured = element != null && element.isJsonPrimitive() ? element.getAsString() : defaultValue;
+        return override(key, configured);
+    }
+
+    public int getInt(String key, int defaultValue) {
+        return Integer.parseInt(getString(key, String.valueOf(defaultValue)).trim());
+    }
+
+    public long getLong(String key, long defaultValue) {
+        return Long.parseLong(getString(key, String.valueOf(defaultValue)).trim());
+    }
+
+    public double getDouble(String key, double defaultValue) {
+        return Double.parseDouble(getString(key, String.valueOf(defaultValue)).trim());
+    }
+
+    public boolean getBoolean(String key, boolean defaultValue) {
+        return Boolean.parseBoolean(getString(key, String.valueOf(defaultValue)).trim());
+    }
+
+    /**
+     * Returns a copy of a top-level configuration block, or an empty object if absent.
+     */
+    public JsonObject getSection(String name) {
+        JsonElement section = root.get(name);
+        return section != null && section.isJsonObject() ? section.getAsJsonObject().deepCopy() : new JsonObject();
+    }
+
+    private static String override(String key, String configured) {
+        String value = System.getProperty(key);
+        if (value == null || value.isEmpty()) {
+            value = System.getenv(ENV_PREFIX + key.toUpperCase(Locale.ROOT).replace('.', '_'));
+        }
+        return value == null || value.isEmpty() ? configured : value;
+    }
+}
@@ -3,32 +3,27 @@ package com.utils;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.util.concurrent.CompletionException;
+
 import com.aiservices.ApiClient;
+import com.aiservices.ApiResponse;
+import com.aiservices.VideoJob;
+import com.aiservices.VideoJobTracker;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 
 public class GenericValidations {
     
-    public static String waitForVideoProcessing(ApiClient client, Object response) {
-        JsonObject responseBodyObj = JsonParser.parseString(response.toString()).getAsJsonObject();
+    public static String waitForVideoProcessing(ApiClient client, ApiResponse response) {
+        JsonObject responseBodyObj = response.getObject();
         String videoId = responseBodyObj.get("id").getAsString();
         String status = responseBodyObj.get("status").getAsString();
         assertEquals("processing", status);
         System.out.println(videoId);
-        int count = 0;
-        while (!"completed".equals(status)) {
-            try {
-                Thread.sleep(5000);
-            } catch (InterruptedException e) {
-                e.printStackTrace();
-            }
-            var videoStatusResponse = client.getApiData("/video-status/" + videoId);
-            JsonObject videoStatusResponseObj = JsonParser.parseString(videoStatusResponse.toString()).getAsJsonObject();
-            status = videoStatusResponseObj.get("status").getAsString();
-            System.out.println(status);
-            if (count++ > 20) {
-                fail("Video status was not 'completed' after 2 minute");
-            }
+        try {
+            VideoJob job = VideoJobTracker.shared().track(client, response).join();
+            System.out.println(job.getStatus() + " after " + job.getTimeToCompleteMs() + "ms, " + job.getPolls() + " polls");
+        } catch (CompletionException e) {
+            fail("Video status was not 'completed': " + e.getCause().getMessage(), e.getCause());
         }
         return videoId;
     }
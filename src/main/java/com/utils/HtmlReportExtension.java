@@ -4,6 +4,7 @@ import org.junit.jupiter.api.extension.BeforeEachCallback;
 import org.junit.jupiter.api.extension.AfterEachCallback;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.api.extension.AfterAllCallback;
+import org.opentest4j.TestAbortedException;
 
 /**
  * Simple JUnit 5 Extension for HTML Report Generation
@@ -24,8 +25,9 @@ public class HtmlReportExtension implements BeforeEachCallback, AfterEachCallbac
         String testName = context.getDisplayName();
         String className = context.getTestClass().map(Class::getSimpleName).orElse("Unknown");
         
-        // Check if test passed or failed
+        // Check if test passed, failed or was aborted (e.g. by an open circuit breaker)
         boolean passed = !context.getExecutionException().isPresent();
+        boolean skipped = context.getExecutionException().filter(TestAbortedException.class::isInstance).isPresent();
         String errorMessage = null;
         
         if (context.getExecutionException().isPresent()) {
@@ -43,9 +45,13 @@ public class HtmlReportExtension implements BeforeEachCallback, AfterEachCallbac
             HtmlReportGenerator.addTestDetail(testName, className, "stackTrace", stackTrace.toString());
         }
         
-        HtmlReportGenerator.endTest(testName, className, passed, errorMessage);
+        if (skipped) {
+            HtmlReportGenerator.endTest(testName, className, "SKIPPED", errorMessage);
+        } else {
+            HtmlReportGenerator.endTest(testName, className, passed, errorMessage);
+        }
         
-        String statusMessage = passed ? "Test completed successfully" : "Test failed";
+        String statusMessage = passed ? "Test completed successfully" : skipped ? "Test skipped" : "Test failed";
         HtmlReportGenerator.addLog(testName, className, statusMessage);
     }
     
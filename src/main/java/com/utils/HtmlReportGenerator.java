@@ -13,6 +13,7 @@ import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 
 /**
  * Simple HTML Report Generator for Test Execution Details
@@ -23,6 +24,7 @@ public class HtmlReportGenerator {
     private static final List<TestResult> testResults = new CopyOnWriteArrayList<>();
     private static final String REPORT_DIR = "target/html-reports";
     private static final String TEMPLATE_DIR = "resources/config/templates";
+    private static final Map<String, Supplier<ReportTable>> reportTables = Collections.synchronizedMap(new LinkedHashMap<>());
     
     // Test execution tracking
     public static class TestExecution {
@@ -95,6 +97,7 @@ public class HtmlReportGenerator {
         public int skippedTests;
         public String executionTime;
         public List<TestResult> results;
+        public List<ReportTable> tables;
         public String reportGeneratedAt;
         
         public double getPassRate() {
@@ -106,6 +109,40 @@ public class HtmlReportGenerator {
         }
     }
     
+    /**
+     * Additional table rendered below the test results, e.g. client-side metrics
+     */
+    public static class ReportTable {
+        public String title;
+        public List<String> columns;
+        public List<ReportRow> rows = new ArrayList<>();
+        
+        public ReportTable(String title, List<String> columns) {
+            this.title = title;
+            this.columns = columns;
+        }
+        
+        public void addRow(List<String> cells) {
+            rows.add(new ReportRow(cells));
+        }
+    }
+    
+    public static class ReportRow {
+        public List<String> cells;
+        
+        public ReportRow(List<String> cells) {
+            this.cells = cells;
+        }
+    }
+    
+    /**
+     * Register a table to include in the report. The supplier is called when the
+     * report is generated; tables without rows are left out.
+     */
+    public static void registerTable(String key, Supplier<ReportTable> supplier) {
+        reportTables.put(key, supplier);
+    }
+    
     /**
      * Start tracking a test execution
      */
@@ -120,13 +157,20 @@ public class HtmlReportGenerator {
      * End test execution and record result
      */
     public static void endTest(String testName, String className, boolean passed, String errorMessage) {
+        endTest(testName, className, passed ? "PASSED" : "FAILED", errorMessage);
+    }
+    
+    /**
+     * End test execution with an explicit status (PASSED, FAILED or SKIPPED)
+     */
+    public static void endTest(String testName, String className, String status, String errorMessage) {
         String key = className + "." + testName;
         TestExecution execution = testExecutions.get(key);
         
         if (execution != null) {
             execution.endTime = LocalDateTime.now();
             execution.durationMs = java.time.Duration.between(execution.startTime, execution.endTime).toMillis();
-            execution.status = passed ? "PASSED" : "FAILED";
+            execution.status = status;
             execution.errorMessage = errorMessage;
             
             testResults.add(new TestResult(execution));
@@ -199,6 +243,13 @@ public class HtmlReportGenerator {
         summary.failedTests = (int) testResults.stream().filter(r -> "FAILED".equals(r.status)).count();
         summary.skippedTests = (int) testResults.stream().filter(r -> "SKIPPED".equals(r.status)).count();
         summary.results = new ArrayList<>(testResults);
+        summary.tables = new ArrayList<>();
+        synchronized (reportTables) {
+            reportTables.values().stream()
+                .map(Supplier::get)
+                .filter(table -> table != null && !table.rows.isEmpty())
+                .forEach(summary.tables::add);
+        }
         summary.reportGeneratedAt = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"));
         
         // Calculate total execution time
@@ -339,6 +390,30 @@ public class HtmlReportGenerator {
                 </tbody>
             </table>
         </section>
+        {{#tables}}
+
+        <section class="test-results report-table">
+            <h2>{{title}}</h2>
+            <table class="results-table">
+                <thead>
+                    <tr>
+                        {{#columns}}
+                        <th>{{.}}</th>
+                        {{/columns}}
+                    </tr>
+                </thead>
+                <tbody>
+                    {{#rows}}
+                    <tr>
+                        {{#cells}}
+                        <td>{{.}}</td>
+                        {{/cells}}
+                    </tr>
+                    {{/rows}}
+                </tbody>
+            </table>
+        </section>
+        {{/tables}}
     </div>
     
     <script>
@@ -0,0 +1,79 @@
+package com.utils;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+/**
+ * JUnit parallel execution strategy with a fixed parallelism independent of the CPU
+ * count, for suites that mostly wait on the network.
+ *
+ * Enable with:
+ * junit.jupiter.execution.parallel.config.strategy=custom
+ * junit.jupiter.execution.parallel.config.custom.class=com.utils.IoBoundParallelExecutionStrategy
+ * junit.jupiter.execution.parallel.config.io.parallelism=32
+ */
+public class IoBoundParallelExecutionStrategy implements ParallelExecutionConfigurationStrategy {
+
+    static final String PARALLELISM_PROPERTY = "io.parallelism";
+    static final String MAX_POOL_SIZE_PROPERTY = "io.max-pool-size";
+    private static final int DEFAULT_PARALLELISM = 32;
+    private static final int MAX_POOL_SIZE_FACTOR = 8;
+    private static final int KEEP_ALIVE_SECONDS = 30;
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters parameters) {
+        int parallelism = parameters.get(PARALLELISM_PROPERTY, Integer::valueOf).orElse(DEFAULT_PARALLELISM);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(PARALLELISM_PROPERTY + " must be at least 1 but was " + parallelism);
+        }
+        int maxPoolSize = parameters.get(MAX_POOL_SIZE_PROPERTY, Integer::valueOf)
+                .orElse(parallelism * MAX_POOL_SIZE_FACTOR);
+        System.out.println("I/O-bound parallel execution: parallelism=" + parallelism + ", maxPoolSize=" + maxPoolSize);
+        return new IoBoundConfiguration(parallelism, Math.max(parallelism, maxPoolSize));
+    }
+
+    private static class IoBoundConfiguration implements ParallelExecutionConfiguration {
+        private final int parallelism;
+        private final int maxPoolSize;
+
+        IoBoundConfiguration(int parallelism, int maxPoolSize) {
+            this.parallelism = parallelism;
+            this.maxPoolSize = maxPoolSize;
+        }
+
+        @Override
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        @Override
+        public int getMinimumRunnable() {
+            return parallelism;
+        }
+
+        @Override
+        public int getMaxPoolSize() {
+            return maxPoolSize;
+        }
+
+        @Override
+        public int getCorePoolSize() {
+            return parallelism;
+        }
+
+        @Override
+        public int getKeepAliveSeconds() {
+            return KEEP_ALIVE_SECONDS;
+        }
+
+        @Override
+        public Predicate<? super ForkJoinPool> getSaturatePredicate() {
+            // Keep running with the threads we have rather than failing the suite
+            return pool -> true;
+        }
+    }
+}
@@ -1,14 +1,14 @@
 package com.utils;
 
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-import com.google.gson.JsonElement;
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
 public class JsonFileReader {
     /**
      * Reads JSON content from a file in the resources/data directory.
@@ -19,59 +19,65 @@ public class JsonFileReader {
      * @throws IOException if file not found or read error
      */
     public static String readJsonFile(String relativePath) throws IOException {
+        TestDataCache cache = TestDataCache.shared();
+        if (cache != null) {
+            return cache.read(relativePath);
+        }
+        DataPack pack = DataPack.shared();
+        if (pack != null && pack.contains(relativePath)) {
+            return pack.getString(relativePath);
+        }
         return new String(Files.readAllBytes(
-                Paths.get("resources/data/" + relativePath)));
+                Paths.get("resources/data/" + relativePath)), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Parses a JSON file from the resources/data directory. The parse is cached with
+     * the file, so repeated reads only copy the tree; the copy is the caller's to modify.
+     *
+     * @param relativePath The relative path to the JSON file from
+     *                     resources/data folder at project root
+     * @return The parsed JSON
+     * @throws IOException if file not found or read error
+     */
+    public static JsonElement readJsonTree(String relativePath) throws IOException {
+        TestDataCache cache = TestDataCache.shared();
+        if (cache != null) {
+            return cache.readTree(relativePath);
+        }
+        return JsonParser.parseString(readJsonFile(relativePath));
+    }
+
+    /**
+     * {@link #readJsonTree(String)} for a file holding a JSON object.
+     */
+    public static JsonObject readJsonObject(String relativePath) throws IOException {
+        return readJsonTree(relativePath).getAsJsonObject();
     }
 
     /**
      * Reads the value for the key env.base_url from the given JSON file.
+     * The default configuration is served from the shared {@link EnvironmentConfig}.
      * 
      * @param filePath The relative or absolute path to the JSON file.
      * @return The value for env.base_url, or null if not found.
      * @throws IOException if file not found or parse error.
      */
     public static String getEnvBaseUrl(String filePath) throws IOException {
-        try (var reader = new BufferedReader(
-                new InputStreamReader(JsonFileReader.class.getResourceAsStream(filePath)))) {
-            JsonElement configElement = JsonParser.parseReader(reader);
-            if (configElement == null) {
-                throw new IOException("Configuration file not found or invalid JSON: " + filePath);
-            }
-            JsonObject config = configElement.getAsJsonObject();
-            String env = config.has("environment") ? config.get("environment").getAsString() : "UAT";
-            JsonObject environments = config.getAsJsonObject("environments");
-            JsonObject envObj = environments.getAsJsonObject(env);
-            return envObj.get("base_url").getAsString();
-        }
+        return config(filePath).getBaseUrl();
     }
 
     public static String getExperienceServiceURL(String configPath) throws IOException {
-        try (var reader = new BufferedReader(
-                new InputStreamReader(JsonFileReader.class.getResourceAsStream(configPath)))) {
-            JsonElement configElement = JsonParser.parseReader(reader);
-            if (configElement == null) {
-                throw new IOException("Configuration file not found or invalid JSON: " + configPath);
-            }
-            JsonObject config = configElement.getAsJsonObject();
-            String env = config.has("environment") ? config.get("environment").getAsString() : "UAT";
-            JsonObject environments = config.getAsJsonObject("environments");
-            JsonObject envObj = environments.getAsJsonObject(env);
-            return envObj.get("experience_service_url").getAsString();
-        }
+        return config(configPath).getExperienceServiceUrl();
     }
 
     public static String getAiServicesURL(String configPath) throws IOException {
-        try (var reader = new BufferedReader(
-                new InputStreamReader(JsonFileReader.class.getResourceAsStream(configPath)))) {
-            JsonElement configElement = JsonParser.parseReader(reader);
-            if (configElement == null) {
-                throw new IOException("Configuration file not found or invalid JSON: " + configPath);
-            }
-            JsonObject config = configElement.getAsJsonObject();
-            String env = config.has("environment") ? config.get("environment").getAsString() : "UAT";
-            JsonObject environments = config.getAsJsonObject("environments");
-            JsonObject envObj = environments.getAsJsonObject(env);
-            return envObj.get("ai_services_url").getAsString();
-        }
+        return config(configPath).getAiServicesUrl();
+    }
+
+    private static EnvironmentConfig config(String configPath) throws IOException {
+        return EnvironmentConfig.CONFIG_PATH.equals(configPath)
+                ? EnvironmentConfig.get()
+                : EnvironmentConfig.load(configPath);
     }
 }
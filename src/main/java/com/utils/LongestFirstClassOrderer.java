@@ -0,0 +1,49 @@
+package com.utils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.ClassDescriptor;
+import org.junit.jupiter.api.ClassOrderer;
+import org.junit.jupiter.api.ClassOrdererContext;
+
+/**
+ * Orders test classes longest first by their wall time in previous runs
+ * ({@link TestDurationHistory}), so slow suites start first on the concurrent pool.
+ *
+ * Enable with:
+ * junit.jupiter.testclass.order.default=com.utils.LongestFirstClassOrderer
+ */
+public class LongestFirstClassOrderer implements ClassOrderer {
+
+    static final String PARALLELISM_PARAMETER = "junit.jupiter.execution.parallel.config.io.parallelism";
+
+    @Override
+    public void orderClasses(ClassOrdererContext context) {
+        TestDurationHistory history = TestDurationHistory.shared();
+        List<? extends ClassDescriptor> classes = context.getClassDescriptors();
+        if (history.isEmpty() || classes.size() < 2) {
+            return;
+        }
+        long unknown = history.meanClassMillis();
+        List<Long> declared = new ArrayList<>();
+        classes.forEach(descriptor -> declared.add(estimate(history, descriptor, unknown)));
+        classes.sort(Comparator.comparingLong((ClassDescriptor descriptor) -> estimate(history, descriptor, unknown))
+                .reversed()
+                .thenComparing(descriptor -> descriptor.getTestClass().getName()));
+        int workers = context.getConfigurationParameter(PARALLELISM_PARAMETER).map(Integer::parseInt).orElse(1);
+        List<Long> ordered = new ArrayList<>();
+        classes.forEach(descriptor -> ordered.add(estimate(history, descriptor, unknown)));
+        System.out.printf("Longest-first class order from %s: predicted makespan %.1fs on %d workers "
+                        + "(%.1fs in discovery order), first %s%n", history,
+                TestDurationHistory.makespan(ordered, workers) / 1000.0, workers,
+                TestDurationHistory.makespan(declared, workers) / 1000.0,
+                classes.get(0).getTestClass().getSimpleName());
+    }
+
+    private static long estimate(TestDurationHistory history, ClassDescriptor descriptor, long unknown) {
+        long millis = history.classMillis(descriptor.getTestClass().getName());
+        return millis >= 0 ? millis : unknown;
+    }
+}
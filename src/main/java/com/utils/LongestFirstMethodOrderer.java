@@ -0,0 +1,42 @@
+package com.utils;
+
+import java.util.Comparator;
+
+import org.junit.jupiter.api.MethodDescriptor;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.MethodOrdererContext;
+import org.junit.jupiter.api.Order;
+
+/**
+ * Orders the methods of a test class longest first by their wall time in previous
+ * runs; classes using {@link Order} keep annotation order.
+ *
+ * Enable with:
+ * junit.jupiter.testmethod.order.default=com.utils.LongestFirstMethodOrderer
+ */
+public class LongestFirstMethodOrderer implements MethodOrderer {
+
+    private static final MethodOrderer ORDER_ANNOTATION = new MethodOrderer.OrderAnnotation();
+
+    @Override
+    public void orderMethods(MethodOrdererContext context) {
+        if (context.getMethodDescriptors().stream().anyMatch(method -> method.isAnnotated(Order.class))) {
+            ORDER_ANNOTATION.orderMethods(context);
+            return;
+        }
+        TestDurationHistory history = TestDurationHistory.shared();
+        if (history.isEmpty()) {
+            return;
+        }
+        String className = context.getTestClass().getName();
+        context.getMethodDescriptors().sort(Comparator
+                .comparingLong((MethodDescriptor method) -> estimate(history, className, method))
+                .reversed()
+                .thenComparing(method -> method.getMethod().getName()));
+    }
+
+    private static long estimate(TestDurationHistory history, String className, MethodDescriptor method) {
+        long millis = history.methodMillis(className, method.getMethod().getName());
+        return millis >= 0 ? millis : Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,202 @@
+package com.utils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+/**
+ * In-memory LRU cache of the files under {@code resources/data}, bounded by total size.
+ * A file on disk is read again when its modification time or size changes; files in
+ * the {@link DataPack} are decoded from the pack. Parsed JSON is cached as well.
+ */
+public final class TestDataCache {
+
+    private static final String DATA_DIR = "resources/data/";
+    // Modification time of entries read from the data pack
+    private static final long PACKED = Long.MIN_VALUE;
+    private static volatile TestDataCache shared;
+
+    private final long maxBytes;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong reloads = new AtomicLong();
+    private final AtomicLong parses = new AtomicLong();
+    private final AtomicLong treeHits = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    public TestDataCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * The suite-wide cache configured from the "data_cache" block, or null when
+     * {@code data_cache.enabled} is false.
+     */
+    public static TestDataCache shared() throws IOException {
+        if (shared == null) {
+            synchronized (TestDataCache.class) {
+                if (shared == null) {
+                    EnvironmentConfig config = EnvironmentConfig.get();
+                    if (!config.getBoolean("data_cache.enabled", true)) {
+                        return null;
+                    }
+                    shared = new TestDataCache(config.getLong("data_cache.max_bytes", 16 * 1024 * 1024));
+                    HtmlReportGenerator.registerTable("dataCache", shared::reportTable);
+                }
+            }
+        }
+        return shared;
+    }
+
+    /**
+     * The text of a file under {@code resources/data}.
+     */
+    public String read(String relativePath) throws IOException {
+        return entry(relativePath).text;
+    }
+
+    /**
+     * A deep copy of the parsed JSON of a file under {@code resources/data}; the caller
+     * may modify it freely.
+     */
+    public JsonElement readTree(String relativePath) throws IOException {
+        Entry entry = entry(relativePath);
+        JsonElement tree = entry.tree;
+        if (tree == null) {
+            parses.incrementAndGet();
+            tree = JsonParser.parseString(entry.text);
+            // Two threads may both parse a fresh entry; either tree will do
+            entry.tree = tree;
+        } else {
+            treeHits.incrementAndGet();
+        }
+        return tree.deepCopy();
+    }
+
+    private Entry entry(String relativePath) throws IOException {
+        DataPack pack = DataPack.shared();
+        if (pack != null && pack.contains(relativePath)) {
+            return packedEntry(pack, relativePath);
+        }
+        Path path = Paths.get(DATA_DIR + relativePath);
+        BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        long modified = attributes.lastModifiedTime().toMillis();
+        long size = attributes.size();
+        Entry cached;
+        synchronized (entries) {
+            cached = entries.get(relativePath);
+        }
+        if (cached != null && cached.modified == modified && cached.size == size) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        if (cached != null) {
+            reloads.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+        }
+        Entry entry = new Entry(new String(Files.readAllBytes(path), StandardCharsets.UTF_8), modified, size);
+        store(relativePath, entry);
+        return entry;
+    }
+
+    private Entry packedEntry(DataPack pack, String relativePath) {
+        Entry cached;
+        synchronized (entries) {
+            cached = entries.get(relativePath);
+        }
+        if (cached != null && cached.modified == PACKED) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        Entry entry = new Entry(pack.getString(relativePath), PACKED, pack.length(relativePath));
+        store(relativePath, entry);
+        return entry;
+    }
+
+    private void store(String relativePath, Entry entry) {
+        synchronized (entries) {
+            Entry previous = entries.remove(relativePath);
+            if (previous != null) {
+                cachedBytes -= previous.size;
+            }
+            if (entry.size > maxBytes) {
+                return;
+            }
+            entries.put(relativePath, entry);
+            cachedBytes += entry.size;
+            var eldest = entries.entrySet().iterator();
+            while (cachedBytes > maxBytes && eldest.hasNext()) {
+                cachedBytes -= eldest.next().getValue().size;
+                eldest.remove();
+                evictions.incrementAndGet();
+            }
+        }
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Cached files that were read again because they changed on disk.
+     */
+    public long getReloads() {
+        return reloads.get();
+    }
+
+    @Override
+    public String toString() {
+        return "TestDataCache{hits=" + hits + ", misses=" + misses + ", reloads=" + reloads + ", parses=" + parses
+                + ", treeHits=" + treeHits + ", evictions=" + evictions + "}";
+    }
+
+    private HtmlReportGenerator.ReportTable reportTable() {
+        HtmlReportGenerator.ReportTable table = new HtmlReportGenerator.ReportTable("Test Data Cache",
+                List.of("Hits", "Misses", "Reloads", "Parses", "Parse Hits", "Files", "Size (KB)", "Evictions"));
+        if (hits.get() + misses.get() == 0) {
+            return table;
+        }
+        int files;
+        long bytes;
+        synchronized (entries) {
+            files = entries.size();
+            bytes = cachedBytes;
+        }
+        table.addRow(List.of(String.valueOf(hits), String.valueOf(misses), String.valueOf(reloads),
+                String.valueOf(parses), String.valueOf(treeHits), String.valueOf(files), String.valueOf(bytes / 1024),
+                String.valueOf(evictions)));
+        return table;
+    }
+
+    private static final class Entry {
+        private final String text;
+        private final long modified;
+        private final long size;
+        private volatile JsonElement tree;
+
+        private Entry(String text, long modified, long size) {
+            this.text = text;
+            this.modified = modified;
+            this.size = size;
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.utils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+/**
+ * Wall time of each test class and method in previous runs, in milliseconds, read from
+ * {@code scheduler.history_file} or, failing that, the last surefire reports.
+ */
+public final class TestDurationHistory {
+
+    private static volatile TestDurationHistory shared;
+
+    private final Map<String, Long> methodMillis;
+    private final Map<String, Long> classMillis;
+
+    TestDurationHistory(Map<String, Long> durations) {
+        Map<String, Long> methods = new TreeMap<>();
+        Map<String, Long> classes = new TreeMap<>();
+        Map<String, Long> summed = new TreeMap<>();
+        durations.forEach((key, millis) -> {
+            if (key.indexOf('#') >= 0) {
+                methods.put(key, millis);
+                summed.merge(className(key), millis, Long::sum);
+            } else {
+                classes.put(key, millis);
+            }
+        });
+        summed.forEach(classes::putIfAbsent);
+        this.methodMillis = Collections.unmodifiableMap(methods);
+        this.classMillis = Collections.unmodifiableMap(classes);
+    }
+
+    /**
+     * The history of previous runs, loaded once per JVM.
+     */
+    public static TestDurationHistory shared() {
+        if (shared == null) {
+            synchronized (TestDurationHistory.class) {
+                if (shared == null) {
+                    shared = load();
+                }
+            }
+        }
+        return shared;
+    }
+
+    private static TestDurationHistory load() {
+        Map<String, Long> durations = new TreeMap<>();
+        try {
+            EnvironmentConfig config = EnvironmentConfig.get();
+            readSurefireReports(Paths.get(config.getString("scheduler.surefire_reports", "target/surefire-reports")), durations);
+            durations.putAll(readHistory(historyFile()));
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Ignoring unreadable test duration history: " + e.getMessage());
+        }
+        return new TestDurationHistory(durations);
+    }
+
+    static Path historyFile() throws IOException {
+        return Paths.get(EnvironmentConfig.get().getString("scheduler.history_file", "target/test-durations.json"));
+    }
+
+    static Map<String, Long> readHistory(Path file) throws IOException {
+        Map<String, Long> durations = new TreeMap<>();
+        if (!Files.isRegularFile(file)) {
+            return durations;
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            JsonElement root = JsonParser.parseReader(reader);
+            if (root != null && root.isJsonObject()) {
+                for (Map.Entry<String, JsonElement> entry : root.getAsJsonObject().entrySet()) {
+                    durations.put(entry.getKey(), entry.getValue().getAsLong());
+                }
+            }
+        }
+        return durations;
+    }
+
+    /**
+     * Blends {@code latest} into the history file: classes and methods that ran get
+     * {@code smoothing * latest + (1 - smoothing) * previous}, the others are kept.
+     */
+    static void update(Path file, Map<String, Long> latest, double smoothing) throws IOException {
+        Map<String, Long> durations = readHistory(file);
+        latest.forEach((key, millis) -> durations.merge(key, millis,
+                (previous, current) -> Math.round(smoothing * current + (1 - smoothing) * previous)));
+        JsonObject json = new JsonObject();
+        durations.forEach(json::addProperty);
+        Path parent = file.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        Gson gson = new GsonBuilder().setPrettyPrinting().create();
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            gson.toJson(json, writer);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Adds the {@code testcase} times of every {@code TEST-*.xml} report in {@code dir}.
+     */
+    static void readSurefireReports(Path dir, Map<String, Long> durations) throws IOException {
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        try (DirectoryStream<Path> reports = Files.newDirectoryStream(dir, "TEST-*.xml")) {
+            for (Path report : reports) {
+                try {
+                    Document doc = factory.newDocumentBuilder().parse(report.toFile());
+                    NodeList testCases = doc.getElementsByTagName("testcase");
+                    for (int i = 0; i < testCases.getLength(); i++) {
+                        Element testCase = (Element) testCases.item(i);
+                        String name = testCase.getAttribute("name");
+                        int parameters = name.indexOf('(');
+                        String method = parameters >= 0 ? name.substring(0, parameters) : name;
+                        long millis = Math.round(Double.parseDouble(testCase.getAttribute("time").replace(",", "")) * 1000);
+                        durations.merge(testCase.getAttribute("classname") + "#" + method, millis, Long::sum);
+                    }
+                } catch (Exception e) {
+                    System.err.println("Skipping unreadable surefire report " + report + ": " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Wall time of running {@code durations} in list order on {@code workers} workers,
+     * each task going to the worker that frees up first.
+     */
+    static long makespan(List<Long> durations, int workers) {
+        PriorityQueue<Long> loads = new PriorityQueue<>();
+        for (int i = 0; i < Math.max(1, workers); i++) {
+            loads.add(0L);
+        }
+        long makespan = 0;
+        for (long millis : durations) {
+            long finish = loads.poll() + millis;
+            makespan = Math.max(makespan, finish);
+            loads.add(finish);
+        }
+        return makespan;
+    }
+
+    private static String className(String key) {
+        int hash = key.indexOf('#');
+        return hash >= 0 ? key.substring(0, hash) : key;
+    }
+
+    public boolean isEmpty() {
+        return methodMillis.isEmpty() && classMillis.isEmpty();
+    }
+
+    /**
+     * Wall time of a class in previous runs, or -1 if it has not run.
+     */
+    public long classMillis(String className) {
+        return classMillis.getOrDefault(className, -1L);
+    }
+
+    /**
+     * Wall time of a method (all invocations) in previous runs, or -1 if it has not run.
+     */
+    public long methodMillis(String className, String methodName) {
+        return methodMillis.getOrDefault(className + "#" + methodName, -1L);
+    }
+
+    /**
+     * Mean over the classes with a history, used as the estimate for new classes.
+     */
+    public long meanClassMillis() {
+        return (long) classMillis.values().stream().mapToLong(Long::longValue).average().orElse(0);
+    }
+
+    @Override
+    public String toString() {
+        return "TestDurationHistory{" + classMillis.size() + " classes, " + methodMillis.size() + " methods}";
+    }
+}
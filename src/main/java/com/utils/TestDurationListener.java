@@ -0,0 +1,105 @@
+package com.utils;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.junit.platform.commons.annotation.Testable;
+import org.junit.platform.commons.support.AnnotationSupport;
+import org.junit.platform.commons.support.HierarchyTraversalMode;
+import org.junit.platform.commons.support.ReflectionSupport;
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.ClassSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * Records the wall time of every test class and method into the
+ * {@link TestDurationHistory}. A class is skipped unless all of its test methods ran,
+ * and sharded runs record nothing.
+ */
+public class TestDurationListener implements TestExecutionListener {
+
+    private final Map<String, Long> started = new ConcurrentHashMap<>();
+    private final Map<String, Long> latest = new ConcurrentHashMap<>();
+    private volatile TestPlan testPlan;
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        this.testPlan = testPlan;
+    }
+
+    @Override
+    public void executionStarted(TestIdentifier identifier) {
+        if (key(identifier) != null) {
+            started.put(identifier.getUniqueId(), System.nanoTime());
+        }
+    }
+
+    @Override
+    public void executionFinished(TestIdentifier identifier, TestExecutionResult result) {
+        Long startNanos = started.remove(identifier.getUniqueId());
+        if (startNanos != null) {
+            latest.put(key(identifier), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        }
+    }
+
+    /**
+     * {@code className} for a complete class, {@code className#methodName} for a method
+     * directly inside a class, null for anything else (invocations, partial classes).
+     */
+    private String key(TestIdentifier identifier) {
+        if (testPlan == null) {
+            return null;
+        }
+        Object source = identifier.getSource().orElse(null);
+        if (source instanceof ClassSource) {
+            ClassSource testClass = (ClassSource) source;
+            return isComplete(identifier, testClass.getJavaClass()) ? testClass.getClassName() : null;
+        }
+        if (source instanceof MethodSource && testPlan.getParent(identifier)
+                .flatMap(TestIdentifier::getSource).filter(ClassSource.class::isInstance).isPresent()) {
+            MethodSource method = (MethodSource) source;
+            return method.getClassName() + "#" + method.getMethodName();
+        }
+        return null;
+    }
+
+    private boolean isComplete(TestIdentifier classIdentifier, Class<?> testClass) {
+        Set<String> planned = testPlan.getChildren(classIdentifier).stream()
+                .map(child -> child.getSource().orElse(null))
+                .filter(MethodSource.class::isInstance)
+                .map(child -> ((MethodSource) child).getMethodName())
+                .collect(Collectors.toSet());
+        Set<String> declared = ReflectionSupport.findMethods(testClass,
+                        method -> AnnotationSupport.isAnnotated(method, Testable.class), HierarchyTraversalMode.TOP_DOWN)
+                .stream()
+                .map(Method::getName)
+                .collect(Collectors.toSet());
+        return planned.containsAll(declared);
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (latest.isEmpty()) {
+            return;
+        }
+        try {
+            EnvironmentConfig config = EnvironmentConfig.get();
+            if (config.getInt("testdata.shard.count", 1) > 1) {
+                return;
+            }
+            double smoothing = config.getDouble("scheduler.smoothing", 0.5);
+            TestDurationHistory.update(TestDurationHistory.historyFile(), new TreeMap<>(latest), smoothing);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Could not update the test duration history: " + e.getMessage());
+        }
+    }
+}
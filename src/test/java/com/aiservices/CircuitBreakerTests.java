@@ -0,0 +1,89 @@
+package com.aiservices;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * State transitions and the trial-call limit of {@link CircuitBreaker}, on a fake clock.
+ */
+public class CircuitBreakerTests {
+
+    private final AtomicLong now = new AtomicLong(1_000_000);
+
+    private CircuitBreaker breaker(int failureThreshold, int halfOpenMaxCalls) {
+        return new CircuitBreaker("http://breaker.test", failureThreshold, 1000, halfOpenMaxCalls, now::get);
+    }
+
+    private static void failCall(CircuitBreaker breaker) {
+        breaker.acquirePermission();
+        breaker.onResponse(503);
+    }
+
+    @Test
+    @DisplayName("Consecutive failures open the circuit; a success in between resets the count")
+    @Tag("unit")
+    public void testOpensAfterThreshold() {
+        CircuitBreaker breaker = breaker(3, 1);
+        failCall(breaker);
+        failCall(breaker);
+        breaker.acquirePermission();
+        breaker.onResponse(404);
+        failCall(breaker);
+        failCall(breaker);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        failCall(breaker);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        CircuitOpenException rejected = assertThrows(CircuitOpenException.class, breaker::acquirePermission);
+        assertEquals("http://breaker.test", rejected.getService());
+        assertTrue(rejected.getMessage().contains("HTTP 503"), rejected.getMessage());
+    }
+
+    @Test
+    @DisplayName("After the open window the breaker lets trial calls through up to the limit, and a success closes it")
+    @Tag("unit")
+    public void testHalfOpenTrialsThenClose() {
+        CircuitBreaker breaker = breaker(1, 2);
+        failCall(breaker);
+        now.addAndGet(999);
+        assertThrows(CircuitOpenException.class, breaker::acquirePermission);
+
+        now.addAndGet(1);
+        breaker.acquirePermission();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.acquirePermission();
+        assertThrows(CircuitOpenException.class, breaker::acquirePermission, "third trial call");
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        for (int i = 0; i < 5; i++) {
+            breaker.acquirePermission();
+            breaker.onSuccess();
+        }
+    }
+
+    @Test
+    @DisplayName("A failed trial call opens the circuit again for a full window")
+    @Tag("unit")
+    public void testHalfOpenFailureReopens() {
+        CircuitBreaker breaker = breaker(2, 1);
+        failCall(breaker);
+        failCall(breaker);
+        now.addAndGet(1000);
+        failCall(breaker);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        now.addAndGet(999);
+        assertThrows(CircuitOpenException.class, breaker::acquirePermission);
+        now.addAndGet(1);
+        breaker.acquirePermission();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onResponse(200);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+}
@@ -0,0 +1,149 @@
+package com.aiservices;
+
+import com.sun.net.httpserver.HttpServer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntToLongFunction;
+import java.util.function.LongSupplier;
+
+/**
+ * Hedged exchanges of {@link ApiClient} against a local server whose latency is set
+ * per copy: the first response wins, the other copy is aborted, and hedges stay within
+ * {@code maxExtraLoad}.
+ */
+public class HedgedRequestTests {
+
+    private static final String ENDPOINT = "/hedge-test";
+    private static final long HEDGE_DELAY_MS = 100;
+
+    private final AtomicInteger received = new AtomicInteger();
+    private final ExecutorService workers = Executors.newCachedThreadPool();
+    private HttpServer server;
+
+    @AfterEach
+    public void stopServer() {
+        if (server != null) {
+            server.stop(0);
+        }
+        workers.shutdownNow();
+    }
+
+    /**
+     * Starts a server that answers its n-th request (from 1) after {@code delayMs(n)}
+     * with {@code {"copy": n}}, and returns its base URL.
+     */
+    private String startServer(IntToLongFunction delayMs) throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.setExecutor(workers);
+        server.createContext(ENDPOINT, exchange -> {
+            int copy = received.incrementAndGet();
+            try {
+                Thread.sleep(delayMs.applyAsLong(copy));
+                byte[] body = ("{\"copy\": " + copy + "}").getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException e) {
+                // The client aborted this copy
+            } finally {
+                exchange.close();
+            }
+        });
+        server.start();
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    private static HedgingPolicy policy(double maxExtraLoad) {
+        // Never enough samples for a percentile, so every call hedges after HEDGE_DELAY_MS
+        return new HedgingPolicy(ENDPOINT, true, 95, Integer.MAX_VALUE, HEDGE_DELAY_MS, 0, maxExtraLoad, 10);
+    }
+
+    private static CompletableFuture<ApiResponse> send(String baseUrl, HedgingPolicy policy) {
+        ApiRequest request = ApiRequest.get(baseUrl + ENDPOINT).service(baseUrl, ENDPOINT).hedged();
+        return ApiClient.hedgedExchange(request, policy);
+    }
+
+    /**
+     * Waits for a counter that is updated after the caller's future has completed.
+     */
+    private static void awaitCount(String name, long expected, LongSupplier count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count.getAsLong() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, count.getAsLong(), name);
+    }
+
+    @Test
+    @DisplayName("A hedge that answers first wins and the slow primary is aborted")
+    @Tag("unit")
+    public void testHedgeWins() throws Exception {
+        String baseUrl = startServer(copy -> copy == 1 ? 3000 : 0);
+        HedgingPolicy policy = policy(1.0);
+        long start = System.nanoTime();
+        ApiResponse response = send(baseUrl, policy).get(2, TimeUnit.SECONDS);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertEquals(2, response.getObject().get("copy").getAsInt(), "the hedge's response wins");
+        assertTrue(elapsedMs < 3000, "answered after " + elapsedMs + "ms");
+        assertEquals(1, policy.getHedges());
+        awaitCount("hedge wins", 1, policy::getHedgeWins);
+        awaitCount("aborted exchanges", 1, policy::getAborted);
+    }
+
+    @Test
+    @DisplayName("A primary that answers after the hedge was sent but before it returns wins and the hedge is aborted")
+    @Tag("unit")
+    public void testPrimaryWins() throws Exception {
+        String baseUrl = startServer(copy -> copy == 1 ? 300 : 3000);
+        HedgingPolicy policy = policy(1.0);
+        ApiResponse response = send(baseUrl, policy).get(2, TimeUnit.SECONDS);
+
+        assertEquals(1, response.getObject().get("copy").getAsInt(), "the primary's response wins");
+        assertEquals(2, received.get(), "the hedge was sent");
+        assertEquals(1, policy.getHedges());
+        awaitCount("aborted exchanges", 1, policy::getAborted);
+        assertEquals(0, policy.getHedgeWins());
+    }
+
+    @Test
+    @DisplayName("Hedges are capped at maxExtraLoad of the requests sent")
+    @Tag("unit")
+    public void testExtraLoadCap() throws Exception {
+        String baseUrl = startServer(copy -> 400);
+        HedgingPolicy policy = policy(0.5);
+        List<CompletableFuture<ApiResponse>> calls = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            calls.add(send(baseUrl, policy));
+        }
+        for (CompletableFuture<ApiResponse> call : calls) {
+            assertEquals(200, call.get(2, TimeUnit.SECONDS).getStatus());
+        }
+
+        assertEquals(4, policy.getRequests());
+        assertEquals(2, policy.getHedges());
+        assertEquals(2, policy.getRejectedHedges());
+        assertEquals(6, received.get(), "requests that reached the server");
+    }
+}
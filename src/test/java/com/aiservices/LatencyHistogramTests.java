@@ -0,0 +1,89 @@
+package com.aiservices;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Bucketing and percentile accuracy of {@link LatencyHistogram}.
+ */
+public class LatencyHistogramTests {
+
+    @Test
+    @DisplayName("An empty histogram reports zeros")
+    @Tag("unit")
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.percentile(99));
+        assertEquals(0.0, histogram.getMean());
+    }
+
+    @Test
+    @DisplayName("Small values are exact and percentiles are capped at the maximum")
+    @Tag("unit")
+    public void testExactRange() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 50; i++) {
+            histogram.record(i);
+        }
+        assertEquals(25, histogram.percentile(50));
+        assertEquals(50, histogram.percentile(100));
+        assertEquals(1, histogram.percentile(0));
+        assertEquals(25.5, histogram.getMean());
+        assertEquals(50, histogram.getMax());
+    }
+
+    @Test
+    @DisplayName("Bucket bounds are contiguous and every value maps into its bucket")
+    @Tag("unit")
+    public void testBuckets() {
+        long previousHighest = -1;
+        for (int index = 0; index < 1000; index++) {
+            long highest = LatencyHistogram.highestEquivalent(index);
+            assertTrue(highest > previousHighest, "bucket " + index);
+            assertEquals(index, LatencyHistogram.index(previousHighest + 1));
+            assertEquals(index, LatencyHistogram.index(highest));
+            previousHighest = highest;
+        }
+    }
+
+    @Test
+    @DisplayName("Percentiles of a wide distribution are within 1.6% of the exact value")
+    @Tag("unit")
+    public void testAccuracy() {
+        Random random = new Random(42);
+        long[] values = new long[20000];
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(8 + 2 * random.nextGaussian());
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+        for (double percentile : new double[] {50, 90, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long reported = histogram.percentile(percentile);
+            assertTrue(reported >= exact && reported <= exact * 1.016 + 1,
+                    "p" + percentile + " exact " + exact + " reported " + reported);
+        }
+        assertEquals(values[values.length - 1], histogram.getMax());
+    }
+
+    @Test
+    @DisplayName("Negative values count as zero and huge ones land in the last bucket")
+    @Tag("unit")
+    public void testOutOfRange() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        histogram.record(Long.MAX_VALUE / 2);
+        assertEquals(2, histogram.getCount());
+        assertEquals(0, histogram.percentile(50));
+        assertEquals((1L << 36) - 1, histogram.percentile(100));
+        assertEquals(Long.MAX_VALUE / 2, histogram.getMax());
+    }
+}
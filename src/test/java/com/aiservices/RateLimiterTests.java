@@ -0,0 +1,88 @@
+package com.aiservices;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token refill, concurrency cap and FIFO order of {@link RateLimiter}.
+ */
+public class RateLimiterTests {
+
+    @Test
+    @DisplayName("The burst is granted at once and the rest at the refill rate")
+    @Tag("unit")
+    public void testRefill() {
+        RateLimiter limiter = new RateLimiter("refill", 20, 5, 0);
+        long start = System.nanoTime();
+        List<CompletableFuture<RateLimiter.Permit>> permits = new ArrayList<>();
+        for (int i = 0; i < 15; i++) {
+            permits.add(limiter.acquire());
+        }
+        for (int i = 0; i < 5; i++) {
+            assertTrue(permits.get(i).isDone(), "burst permit " + i);
+        }
+        assertFalse(permits.get(5).isDone());
+        CompletableFuture.allOf(permits.toArray(new CompletableFuture<?>[0])).join();
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        // 10 permits beyond the burst at 20/s take 500ms
+        assertTrue(elapsedMs >= 450, "elapsed " + elapsedMs + "ms");
+        assertEquals(15, limiter.getAcquired());
+        assertTrue(limiter.getDelayed() >= 9, "delayed " + limiter.getDelayed());
+    }
+
+    @Test
+    @DisplayName("Waiters are served in arrival order as slots are released")
+    @Tag("unit")
+    public void testFifoConcurrency() {
+        RateLimiter limiter = new RateLimiter("fifo", 0, 1, 2);
+        List<Integer> order = new CopyOnWriteArrayList<>();
+        List<CompletableFuture<RateLimiter.Permit>> permits = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            int id = i;
+            CompletableFuture<RateLimiter.Permit> permit = limiter.acquire();
+            permit.thenRun(() -> order.add(id));
+            permits.add(permit);
+        }
+        assertEquals(List.of(0, 1), order);
+        assertEquals(4, limiter.getQueued());
+        for (int i = 0; i < 6; i++) {
+            permits.get(i).join().release();
+        }
+        assertEquals(List.of(0, 1, 2, 3, 4, 5), order);
+        assertEquals(0, limiter.getQueued());
+    }
+
+    @Test
+    @DisplayName("Releasing a permit twice frees only one slot")
+    @Tag("unit")
+    public void testDoubleRelease() {
+        RateLimiter limiter = new RateLimiter("release", 0, 1, 1);
+        RateLimiter.Permit first = limiter.acquire().join();
+        CompletableFuture<RateLimiter.Permit> second = limiter.acquire();
+        CompletableFuture<RateLimiter.Permit> third = limiter.acquire();
+        first.release();
+        first.release();
+        assertTrue(second.isDone());
+        assertFalse(third.isDone());
+        second.join().release();
+        assertTrue(third.isDone());
+    }
+
+    @Test
+    @DisplayName("Zero rate and zero concurrency means unlimited")
+    @Tag("unit")
+    public void testUnlimited() {
+        assertTrue(new RateLimiter("none", 0, 1, 0).isUnlimited());
+        assertFalse(new RateLimiter("rate", 1, 1, 0).isUnlimited());
+        assertFalse(new RateLimiter("slots", 0, 1, 4).isUnlimited());
+    }
+}
@@ -0,0 +1,96 @@
+package com.aiservices;
+
+import kong.unirest.Headers;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Single-flight coalescing and storage rules of {@link ResponseCache}, without the network.
+ */
+public class ResponseCacheTests {
+
+    private final ResponseCache cache = new ResponseCache(60, 10, null);
+    private final ApiRequest request = ApiRequest.post("http://cache.test/genAI/prompt/execute", "{\"prompt\":1}");
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private CompletableFuture<ApiResponse> get(CompletableFuture<ApiResponse> exchange) {
+        return cache.get(request, () -> {
+            loads.incrementAndGet();
+            return exchange;
+        });
+    }
+
+    private static ApiResponse response(int status, String body) {
+        return new ApiResponse(status, "", new Headers(), body);
+    }
+
+    @Test
+    @DisplayName("Identical concurrent requests share one exchange; followers get their own copy, later calls hit")
+    @Tag("unit")
+    public void testCoalescing() {
+        CompletableFuture<ApiResponse> exchange = new CompletableFuture<>();
+        CompletableFuture<ApiResponse> leader = get(exchange);
+        CompletableFuture<ApiResponse> follower = get(new CompletableFuture<>());
+        assertFalse(follower.isDone());
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getCoalesced());
+
+        ApiResponse answer = response(200, "{\"answer\":42}");
+        exchange.complete(answer);
+        assertSame(answer, leader.join());
+        ApiResponse copy = follower.join();
+        assertNotSame(answer, copy);
+        assertEquals(200, copy.getStatus());
+        assertEquals(answer.getBody(), copy.getBody());
+
+        assertEquals(answer.getBody(), get(new CompletableFuture<>()).join().getBody());
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getMemoryHits());
+    }
+
+    @Test
+    @DisplayName("A failed leader fails its followers and the next call starts a new exchange")
+    @Tag("unit")
+    public void testLeaderFailure() {
+        CompletableFuture<ApiResponse> exchange = new CompletableFuture<>();
+        CompletableFuture<ApiResponse> leader = get(exchange);
+        CompletableFuture<ApiResponse> follower = get(new CompletableFuture<>());
+        exchange.completeExceptionally(new IOException("connection reset"));
+
+        assertThrows(CompletionException.class, leader::join);
+        CompletionException error = assertThrows(CompletionException.class, follower::join);
+        Throwable cause = error;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        assertEquals("connection reset", cause.getMessage());
+
+        CompletableFuture<ApiResponse> retry = get(CompletableFuture.completedFuture(response(200, "{}")));
+        assertEquals(200, retry.join().getStatus());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("Non-2xx responses reach their followers but are not stored")
+    @Tag("unit")
+    public void testErrorsNotStored() {
+        CompletableFuture<ApiResponse> exchange = new CompletableFuture<>();
+        get(exchange);
+        CompletableFuture<ApiResponse> follower = get(new CompletableFuture<>());
+        exchange.complete(response(503, "{\"error\":\"busy\"}"));
+        assertEquals(503, follower.join().getStatus());
+
+        assertEquals(200, get(CompletableFuture.completedFuture(response(200, "{}"))).join().getStatus());
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.getMemoryHits());
+    }
+}
@@ -0,0 +1,115 @@
+package com.aiservices;
+
+import kong.unirest.Headers;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.Set;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import javax.net.ssl.SSLPeerUnverifiedException;
+
+/**
+ * Retry classification, backoff and budget of {@link RetryPolicy}, without the network.
+ */
+public class RetryPolicyTests {
+
+    private static final Set<Integer> STATUSES = Set.of(429, 500, 502, 503, 504);
+
+    private static RetryPolicy policy(int maxAttempts, double jitter, RetryBudget budget) {
+        return new RetryPolicy(maxAttempts, 100, 1000, 2.0, jitter, 5000, STATUSES, budget);
+    }
+
+    private static ApiResponse response(int status, String retryAfter) {
+        Headers headers = new Headers();
+        if (retryAfter != null) {
+            headers.add("Retry-After", retryAfter);
+        }
+        return new ApiResponse(status, "", headers, "{}");
+    }
+
+    @Test
+    @DisplayName("Gateway statuses and I/O errors are retried; client errors, unknown hosts and certificates are not")
+    @Tag("unit")
+    public void testClassifier() {
+        RetryPolicy policy = policy(3, 0, RetryBudget.unlimited());
+        assertTrue(policy.isRetryable(response(503, null), null));
+        assertTrue(policy.isRetryable(response(429, null), null));
+        assertFalse(policy.isRetryable(response(200, null), null));
+        assertFalse(policy.isRetryable(response(400, null), null));
+        assertFalse(policy.isRetryable(null, null));
+
+        assertTrue(policy.isRetryable(null, new SocketTimeoutException("Read timed out")));
+        assertTrue(policy.isRetryable(null, new TimeoutException()));
+        assertTrue(policy.isRetryable(null, new CompletionException(new RuntimeException(new IOException("reset")))));
+        assertFalse(policy.isRetryable(null, new UnknownHostException("nowhere.invalid")));
+        assertFalse(policy.isRetryable(null, new RuntimeException(new SSLPeerUnverifiedException("peer"))));
+        assertFalse(policy.isRetryable(null, new IllegalStateException("bug")));
+    }
+
+    @Test
+    @DisplayName("Backoff doubles per attempt, is capped, and jitter only shortens it")
+    @Tag("unit")
+    public void testBackoff() {
+        RetryPolicy exact = policy(10, 0, RetryBudget.unlimited());
+        assertEquals(100, exact.backoffMs(1));
+        assertEquals(200, exact.backoffMs(2));
+        assertEquals(800, exact.backoffMs(4));
+        assertEquals(1000, exact.backoffMs(5));
+        assertEquals(1000, exact.backoffMs(9));
+
+        RetryPolicy jittered = policy(10, 0.5, RetryBudget.unlimited());
+        for (int i = 0; i < 200; i++) {
+            long delay = jittered.backoffMs(3);
+            assertTrue(delay >= 200 && delay <= 400, "delay " + delay);
+        }
+    }
+
+    @Test
+    @DisplayName("The last attempt and non-retryable outcomes return -1")
+    @Tag("unit")
+    public void testAttemptLimit() {
+        RetryPolicy policy = policy(3, 0, RetryBudget.unlimited());
+        assertEquals(100, policy.retryDelayMs(1, response(503, null), null));
+        assertEquals(200, policy.retryDelayMs(2, response(503, null), null));
+        assertEquals(-1, policy.retryDelayMs(3, response(503, null), null));
+        assertEquals(-1, policy.retryDelayMs(1, response(404, null), null));
+        assertEquals(-1, RetryPolicy.none().retryDelayMs(1, response(503, null), null));
+    }
+
+    @Test
+    @DisplayName("Retry-After extends the delay and a value beyond the cap stops retrying")
+    @Tag("unit")
+    public void testRetryAfter() {
+        RetryPolicy policy = policy(3, 0, RetryBudget.unlimited());
+        assertEquals(3000, policy.retryDelayMs(1, response(429, "3"), null));
+        assertEquals(100, policy.retryDelayMs(1, response(429, "0"), null));
+        assertEquals(-1, policy.retryDelayMs(1, response(429, "60"), null));
+        assertEquals(100, policy.retryDelayMs(1, response(429, "soon"), null));
+        assertEquals(-1, RetryPolicy.retryAfterMs(response(429, null)));
+    }
+
+    @Test
+    @DisplayName("The suite budget allows its minimum plus a ratio of requests, then refuses")
+    @Tag("unit")
+    public void testBudget() {
+        RetryBudget budget = new RetryBudget(0.5, 1);
+        RetryPolicy policy = policy(5, 0, budget);
+        assertEquals(100, policy.retryDelayMs(1, response(503, null), null));
+        // One request so far: 1 + 0.5 * 1 retries allowed
+        assertEquals(-1, policy.retryDelayMs(2, response(503, null), null));
+        assertEquals(1, budget.getRejectedRetries());
+        policy.retryDelayMs(1, response(200, null), null);
+        assertEquals(200, policy.retryDelayMs(2, response(503, null), null));
+        assertEquals(2, budget.getRetries());
+        assertEquals(2, budget.getRequests());
+    }
+}
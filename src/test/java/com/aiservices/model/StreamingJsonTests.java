@@ -0,0 +1,121 @@
+package com.aiservices.model;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Strict reading of prompt responses shaped like the stub's, including bodies that
+ * drift from the model.
+ */
+public class StreamingJsonTests {
+
+    private static final String PRICE_PLANS = "[{\"title\":\"Standard\",\"pricingPackageType\":\"PerPerson\","
+            + "\"currency\":\"USD\",\"price\":[{\"paxType\":\"Adult\",\"baseFare\":120.5},"
+            + "{\"paxType\":\"Child\",\"baseFare\":60}],\"features\":[\"Guide\",\"Lunch\"],\"notes\":{\"a\":[1]}},"
+            + "{\"title\":null,\"pricingPackageType\":\"Group\",\"currency\":\"EUR\",\"price\":[],\"features\":[]}]";
+
+    private static <T> T read(String body, ModelReader<T> model) {
+        return StreamingJson.read(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), model);
+    }
+
+    private static List<PricePlan> plans(String body) {
+        return read(body, reader -> StreamingJson.list(reader, PricePlan::read));
+    }
+
+    @Test
+    @DisplayName("Price plans are read with unknown fields skipped and null optionals kept as null")
+    @Tag("unit")
+    public void testReadsPricePlans() {
+        List<PricePlan> plans = plans(PRICE_PLANS);
+        assertEquals(2, plans.size());
+        assertEquals("PerPerson", plans.get(0).pricingPackageType());
+        assertEquals(60.0, plans.get(0).price().get(1).baseFare());
+        assertEquals(List.of("Guide", "Lunch"), plans.get(0).features());
+        assertNull(plans.get(1).title());
+        assertTrue(plans.get(1).price().isEmpty());
+    }
+
+    @Test
+    @DisplayName("A number sent as a string is rejected with the JSONPath of the value")
+    @Tag("unit")
+    public void testRejectsTypeDrift() {
+        ResponseSchemaException e = assertThrows(ResponseSchemaException.class,
+                () -> plans(PRICE_PLANS.replace("\"baseFare\":60", "\"baseFare\":\"60\"")));
+        assertEquals("$[0].price[1].baseFare", e.getPath());
+        assertTrue(e.getMessage().contains("expected NUMBER but was STRING"), e.getMessage());
+    }
+
+    @Test
+    @DisplayName("A missing or null required field names the object it belongs to")
+    @Tag("unit")
+    public void testRejectsMissingRequiredField() {
+        ResponseSchemaException missing = assertThrows(ResponseSchemaException.class,
+                () -> plans(PRICE_PLANS.replace(",\"currency\":\"EUR\"", "")));
+        assertEquals("$[1]", missing.getPath());
+        assertTrue(missing.getMessage().contains("missing required field 'currency'"), missing.getMessage());
+
+        ResponseSchemaException nullFare = assertThrows(ResponseSchemaException.class,
+                () -> plans(PRICE_PLANS.replace("\"baseFare\":120.5", "\"baseFare\":null")));
+        assertEquals("$[0].price[0]", nullFare.getPath());
+    }
+
+    @Test
+    @DisplayName("An object where an array is expected is rejected")
+    @Tag("unit")
+    public void testRejectsWrongContainer() {
+        ResponseSchemaException e = assertThrows(ResponseSchemaException.class,
+                () -> plans("{\"plans\":" + PRICE_PLANS + "}"));
+        assertEquals("$", e.getPath());
+        assertTrue(e.getMessage().contains("expected BEGIN_ARRAY but was BEGIN_OBJECT"), e.getMessage());
+    }
+
+    @Test
+    @DisplayName("A fractional value in an integer field is rejected")
+    @Tag("unit")
+    public void testRejectsFractionalInteger() {
+        ResponseSchemaException e = assertThrows(ResponseSchemaException.class,
+                () -> read("[{\"title\":\"Early bird\",\"inventoryCount\":2.5}]",
+                        reader -> StreamingJson.list(reader, PriceRule::read)));
+        assertEquals("$[0].inventoryCount", e.getPath());
+        assertTrue(e.getMessage().contains("expected an integer"), e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Content after the document is rejected")
+    @Tag("unit")
+    public void testRejectsTrailingContent() {
+        assertThrows(ResponseSchemaException.class, () -> plans(PRICE_PLANS + " {\"extra\":true}"));
+        assertThrows(ResponseSchemaException.class, () -> plans(PRICE_PLANS + "]"));
+    }
+
+    @Test
+    @DisplayName("Truncated and malformed bodies fail with a schema exception")
+    @Tag("unit")
+    public void testRejectsMalformedBodies() {
+        ResponseSchemaException truncated = assertThrows(ResponseSchemaException.class,
+                () -> plans(PRICE_PLANS.substring(0, PRICE_PLANS.length() / 2)));
+        assertTrue(truncated.getPath().startsWith("$[0]"), truncated.getPath());
+        assertThrows(ResponseSchemaException.class, () -> plans("[{\"title\":'single quoted'}]"));
+        assertThrows(ResponseSchemaException.class, () -> plans(""));
+    }
+
+    @Test
+    @DisplayName("Fields present in a price rule are reported, including ones not modelled")
+    @Tag("unit")
+    public void testPriceRuleFields() {
+        List<PriceRule> rules = read("[{\"title\":\"Weekend\",\"priceAdjustment\":-10,\"isPercentage\":true,"
+                + "\"discount\":5}]", reader -> StreamingJson.list(reader, PriceRule::read));
+        PriceRule rule = rules.get(0);
+        assertEquals(-10.0, rule.priceAdjustment());
+        assertTrue(rule.isPercentage());
+        assertTrue(rule.has("discount"));
+        assertFalse(rule.has("endDate"));
+    }
+}
@@ -6,14 +6,19 @@ import org.junit.jupiter.api.Tag;
 
 import com.aiservices.ApiClient;
 import com.aiservices.Constants;
+import com.aiservices.model.ExperienceBuilderResult;
+import com.aiservices.model.ExperienceBuilderResult.Experience;
+import com.aiservices.model.ExperienceBuilderResult.Faq;
+import com.aiservices.model.ExperienceBuilderResult.Location;
+import com.aiservices.model.ExperienceBuilderResult.PlanDay;
+import com.aiservices.model.ExperienceBuilderResult.ScheduleItem;
 import com.utils.JsonFileReader;
-import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
 
 import org.junit.jupiter.api.DisplayName;
 import static org.junit.jupiter.api.Assertions.*;
 import java.io.IOException;
+import java.util.List;
 
 public class ExperienceBuilderTests {
     
@@ -31,14 +36,13 @@ public class ExperienceBuilderTests {
         System.out.println("Experience created successfully for " + packageDataFileName + ": " + response);
         
         // Parse the response JSON
-        JsonObject responseObject = JsonParser.parseString(response.toString()).getAsJsonObject();
-        responseObject.addProperty("test_filename", packageDataFileName);
+        ExperienceBuilderResult result = response.read(ExperienceBuilderResult::read);
         
         // Validate basic response structure
-        validateBasicResponseStructure(responseObject);
+        validateBasicResponseStructure(packageDataFileName, result);
         
         // Perform specific validations for known test cases
-        performSpecificValidations(packageDataFileName, responseObject);
+        performSpecificValidations(packageDataFileName, result);
     }
     
     @ParameterizedTest
@@ -55,14 +59,13 @@ public class ExperienceBuilderTests {
         System.out.println("Experience created successfully for service " + serviceDataFileName + ": " + response);
         
         // Parse the response JSON
-        JsonObject responseObject = JsonParser.parseString(response.toString()).getAsJsonObject();
-        responseObject.addProperty("test_filename", serviceDataFileName);
+        ExperienceBuilderResult result = response.read(ExperienceBuilderResult::read);
         
         // Validate basic response structure for service
-        validateBasicResponseStructure(responseObject);
+        validateBasicResponseStructure(serviceDataFileName, result);
         
         // Perform specific validations for known service test cases
-        performServiceSpecificValidations(serviceDataFileName, responseObject);
+        performServiceSpecificValidations(serviceDataFileName, result);
     }
     
     @ParameterizedTest
@@ -70,7 +73,8 @@ public class ExperienceBuilderTests {
     @DisplayName("Test Experience Builder - Negative Cases for Bad Requests")
     @Tag("regression")
     public void testCreateExperienceWithInvalidPackage(String invalidPackageType) throws IOException {
-        ApiClient client = new ApiClient();
+        // Each bad request must reach the service, never a cached answer
+        ApiClient client = new ApiClient().withoutResponseCache();
         String jsonBody = generateInvalidTestData(invalidPackageType);
         
         System.out.println("Testing invalid package type: " + invalidPackageType);
@@ -98,7 +102,7 @@ public class ExperienceBuilderTests {
         } else {
             // If response is a JSON object, check for error structure
             try {
-                JsonObject responseObject = JsonParser.parseString(response.toString()).getAsJsonObject();
+                JsonObject responseObject = response.getObject();
                 
                 // Check for standard error response structure
                 if (responseObject.has("status")) {
@@ -141,14 +145,13 @@ public class ExperienceBuilderTests {
         System.out.println("Experience created successfully for host property " + hostPropertyDataFileName + ": " + response);
         
         // Parse the response JSON
-        JsonObject responseObject = JsonParser.parseString(response.toString()).getAsJsonObject();
-        responseObject.addProperty("test_filename", hostPropertyDataFileName);
+        ExperienceBuilderResult result = response.read(ExperienceBuilderResult::read);
         
         // Validate basic response structure for host property
-        validateBasicResponseStructure(responseObject);
+        validateBasicResponseStructure(hostPropertyDataFileName, result);
         
         // Perform specific validations for host property test cases
-        performHostPropertySpecificValidations(hostPropertyDataFileName, responseObject);
+        performHostPropertySpecificValidations(hostPropertyDataFileName, result);
     }
 
     @ParameterizedTest
@@ -165,11 +168,10 @@ public class ExperienceBuilderTests {
         System.out.println("Experience created successfully for consolidated inventory discount " + dataFileName + ": " + response);
         
         // Parse the response JSON
-        JsonObject responseObject = JsonParser.parseString(response.toString()).getAsJsonObject();
-        responseObject.addProperty("test_filename", dataFileName);
+        ExperienceBuilderResult result = response.read(ExperienceBuilderResult::read);
         
         // Validate basic response structure
-        validateBasicResponseStructure(responseObject);
+        validateBasicResponseStructure(dataFileName, result);
         // Optionally add more validations for discount/cancellation logic here
     }
 
@@ -178,7 +180,8 @@ public class ExperienceBuilderTests {
     @DisplayName("Test Experience Builder - Negative Cases for Service Bad Requests")
     @Tag("regression")
     public void testCreateExperienceWithInvalidService(String invalidServiceType) throws IOException {
-        ApiClient client = new ApiClient();
+        // Each bad request must reach the service, never a cached answer
+        ApiClient client = new ApiClient().withoutResponseCache();
         String jsonBody = generateInvalidServiceTestData(invalidServiceType);
         
         System.out.println("Testing invalid service type: " + invalidServiceType);
@@ -206,7 +209,7 @@ public class ExperienceBuilderTests {
         } else {
             // If response is a JSON object, check for error structure
             try {
-                JsonObject responseObject = JsonParser.parseString(response.toString()).getAsJsonObject();
+                JsonObject responseObject = response.getObject();
                 
                 // Check for standard error response structure
                 if (responseObject.has("status")) {
@@ -303,14 +306,11 @@ public class ExperienceBuilderTests {
         }
     }
     
-    private void validateBasicResponseStructure(JsonObject response) {
-        System.out.println("Validating basic response structure for " + response.get("test_filename").getAsString());
-        
-        // Check that response contains the Experience Builder specific field
-        assertTrue(response.has("experiencejson"), "Response should contain experiencejson field");
+    private void validateBasicResponseStructure(String testFileName, ExperienceBuilderResult response) {
+        System.out.println("Validating basic response structure for " + testFileName);
         
-        JsonObject experienceJson = response.getAsJsonObject("experiencejson");
-        assertNotNull(experienceJson, "experiencejson should not be null");
+        // experiencejson is required by the model, so reading the response already checked it
+        Experience experienceJson = response.experiencejson();
         
         // Validate key fields in the experience JSON
         assertTrue(experienceJson.has("caption"), "Experience should have a caption");
@@ -320,7 +320,7 @@ public class ExperienceBuilderTests {
         assertTrue(experienceJson.has("location"), "Experience should have location");
     }
     
-    private void performSpecificValidations(String packageDataFileName, JsonObject response) {
+    private void performSpecificValidations(String packageDataFileName, ExperienceBuilderResult response) {
         System.out.println("Performing specific validations for " + packageDataFileName);
         
         if (packageDataFileName.contains("mumbai")) {
@@ -330,7 +330,7 @@ public class ExperienceBuilderTests {
         // Add more specific validations for other package types as needed
     }
     
-    private void performServiceSpecificValidations(String serviceDataFileName, JsonObject response) {
+    private void performServiceSpecificValidations(String serviceDataFileName, ExperienceBuilderResult response) {
         System.out.println("Performing service specific validations for " + serviceDataFileName);
         
         if (serviceDataFileName.contains("bengaluru_bike_rental")) {
@@ -341,7 +341,7 @@ public class ExperienceBuilderTests {
         // Add more specific validations for other service types as needed
     }
     
-    private void performHostPropertySpecificValidations(String hostPropertyDataFileName, JsonObject response) {
+    private void performHostPropertySpecificValidations(String hostPropertyDataFileName, ExperienceBuilderResult response) {
         System.out.println("Performing host property specific validations for " + hostPropertyDataFileName);
         
         if (hostPropertyDataFileName.contains("coorg_brochure")) {
@@ -350,113 +350,113 @@ public class ExperienceBuilderTests {
         // Add more specific validations for other host property types as needed
     }
     
-    private void validateMumbaiExperienceResponse(JsonObject response) {
-        JsonObject experienceJson = response.getAsJsonObject("experiencejson");
+    private void validateMumbaiExperienceResponse(ExperienceBuilderResult response) {
+        Experience experienceJson = response.experiencejson();
         
         // Validate location is Mumbai
-        JsonObject location = experienceJson.getAsJsonObject("location");
-        assertTrue(location.get("city").getAsString().equalsIgnoreCase("Mumbai"), 
+        Location location = experienceJson.location();
+        assertTrue(location.city().equalsIgnoreCase("Mumbai"), 
                   "Experience location should be Mumbai");
-        assertTrue(location.get("country").getAsString().equalsIgnoreCase("India"), 
+        assertTrue(location.country().equalsIgnoreCase("India"), 
                   "Experience country should be India");
         
         // Validate the caption contains meaningful text
-        String caption = experienceJson.get("caption").getAsString();
+        String caption = experienceJson.caption();
         assertFalse(caption.isEmpty(), "Caption should not be empty");
         assertTrue(caption.toLowerCase().contains("mumbai") || caption.toLowerCase().contains("heritage") || 
                    caption.toLowerCase().contains("wellness"), 
                    "Caption should mention Mumbai, heritage, or wellness themes");
         
         // Validate that the plan contains activities
-        JsonArray plan = experienceJson.getAsJsonArray("plan");
+        List<PlanDay> plan = experienceJson.plan();
         assertTrue(plan.size() > 0, "Plan should contain at least one day");
         
-        JsonObject firstDay = plan.get(0).getAsJsonObject();
-        JsonArray schedule = firstDay.getAsJsonArray("schedule");
+        PlanDay firstDay = plan.get(0);
+        List<ScheduleItem> schedule = firstDay.schedule();
         assertTrue(schedule.size() >= 2, "First day should contain at least 2 activities (spa + heritage walk)");
         
         // Validate FAQ section exists (may or may not have questions)
         assertTrue(experienceJson.has("faq"), "FAQ section should exist");
-        JsonArray faq = experienceJson.getAsJsonArray("faq");
+        List<Faq> faq = experienceJson.faq();
         assertNotNull(faq, "FAQ array should not be null");
         
         System.out.println("Mumbai experience validation passed successfully");
     }
     
-    private void validateBengaluruBikeRentalResponse(JsonObject response) {
-        JsonObject experienceJson = response.getAsJsonObject("experiencejson");  
+    private void validateBengaluruBikeRentalResponse(ExperienceBuilderResult response) {
+        Experience experienceJson = response.experiencejson();  
         // Validate location contains Bengaluru
-        JsonObject location = experienceJson.getAsJsonObject("location");
-        assertTrue(location.get("city").getAsString().equalsIgnoreCase("Bengaluru") || 
-                   location.get("city").getAsString().equalsIgnoreCase("Bangalore"), 
+        Location location = experienceJson.location();
+        assertTrue(location.city().equalsIgnoreCase("Bengaluru") || 
+                   location.city().equalsIgnoreCase("Bangalore"), 
                    "Experience location should be Bengaluru/Bangalore");
-        assertTrue(location.get("country").getAsString().equalsIgnoreCase("India"), 
+        assertTrue(location.country().equalsIgnoreCase("India"), 
                    "Experience country should be India");
         
         // Validate the caption or summary contains bike rental related terms
-        String caption = experienceJson.get("caption").getAsString();
+        String caption = experienceJson.caption();
         assertFalse(caption.isEmpty(), "Caption should not be empty");
         
-        JsonArray summary = experienceJson.getAsJsonArray("summary");
-        String summaryText = summary.toString().toLowerCase();
+        List<String> summary = experienceJson.summary();
+        String summaryText = String.valueOf(summary).toLowerCase();
         assertTrue(summaryText.contains("bike") || summaryText.contains("rental") || 
                    summaryText.contains("cycling") || summaryText.contains("bengaluru") ||
                    summaryText.contains("bangalore"),
                    "Summary should mention bike, rental, cycling, or Bengaluru themes");
         
         // Validate experience types are relevant
-        JsonArray experienceTypes = experienceJson.getAsJsonArray("experienceTypes");
+        List<String> experienceTypes = experienceJson.experienceTypes();
         assertTrue(experienceTypes.size() > 0, "Experience should have at least one type");
         
         System.out.println("Bengaluru bike rental validation passed successfully");
     }
     
-    private void validateMumbaiWeddingPhotographyResponse(JsonObject response) {
-        JsonObject experienceJson = response.getAsJsonObject("experiencejson");    
+    private void validateMumbaiWeddingPhotographyResponse(ExperienceBuilderResult response) {
+        Experience experienceJson = response.experiencejson();    
         // Validate location is Mumbai
-        JsonObject location = experienceJson.getAsJsonObject("location");
-        assertTrue(location.get("city").getAsString().equalsIgnoreCase("Mumbai"), 
+        Location location = experienceJson.location();
+        assertTrue(location.city().equalsIgnoreCase("Mumbai"), 
                   "Experience location should be Mumbai");
-        assertTrue(location.get("country").getAsString().equalsIgnoreCase("India"), 
+        assertTrue(location.country().equalsIgnoreCase("India"), 
                   "Experience country should be India");
         
         // Validate the caption or summary contains photography/wedding related terms
-        String caption = experienceJson.get("caption").getAsString();
+        String caption = experienceJson.caption();
         assertFalse(caption.isEmpty(), "Caption should not be empty");
         
-        JsonArray summary = experienceJson.getAsJsonArray("summary");
-        String summaryText = summary.toString().toLowerCase();
+        List<String> summary = experienceJson.summary();
+        String summaryText = String.valueOf(summary).toLowerCase();
         assertTrue(summaryText.contains("photography") || summaryText.contains("wedding") || 
                    summaryText.contains("photographer") || summaryText.contains("videographer") ||
                    summaryText.contains("ceremony"),
                    "Summary should mention photography, wedding, or ceremony themes");
         
         // Validate experience types are relevant
-        JsonArray experienceTypes = experienceJson.getAsJsonArray("experienceTypes");
+        List<String> experienceTypes = experienceJson.experienceTypes();
         assertTrue(experienceTypes.size() > 0, "Experience should have at least one type");
         
         System.out.println("Mumbai wedding photography validation passed successfully");
     }
     
-    private void validateCoorgBrochureResponse(JsonObject response) {
-        JsonObject experienceJson = response.getAsJsonObject("experiencejson");
+    private void validateCoorgBrochureResponse(ExperienceBuilderResult response) {
+        Experience experienceJson = response.experiencejson();
         
         // Validate location contains Coorg or Karnataka
-        JsonObject location = experienceJson.getAsJsonObject("location");
-        String city = location.get("city").getAsString().toLowerCase();
-        String state = location.has("state") ? location.get("state").getAsString().toLowerCase() : "";
+        Location location = experienceJson.location();
+        String city = location.city().toLowerCase();
+        String state = location.state() != null ? location.state().toLowerCase() : "";
         assertTrue(city.contains("coorg") || city.contains("kodagu") || state.contains("karnataka"), 
                   "Experience location should be in Coorg/Kodagu, Karnataka");
-        assertTrue(location.get("country").getAsString().equalsIgnoreCase("India"), 
+        assertTrue(location.country().equalsIgnoreCase("India"), 
                   "Experience country should be India");
         
         // Validate the caption contains meaningful text
-        String caption = experienceJson.get("caption").getAsString();
+        String caption = experienceJson.caption();
         assertFalse(caption.isEmpty(), "Caption should not be empty");
         
         // Validate summary contains relevant terms
-        JsonArray summary = experienceJson.getAsJsonArray("summary");
-        String summaryText = summary.toString().toLowerCase();
+        List<String> summary = experienceJson.summary();
+        String summaryText = String.valueOf(summary).toLowerCase();
         assertTrue(summaryText.contains("coorg") || summaryText.contains("nature") || 
                    summaryText.contains("resort") || summaryText.contains("luxury") ||
                    summaryText.contains("earthsong") || summaryText.contains("birdsong"),
@@ -464,11 +464,11 @@ public class ExperienceBuilderTests {
         
         // Validate that the plan contains activities
         assertTrue(experienceJson.has("plan"), "Experience should have a plan");
-        JsonArray plan = experienceJson.getAsJsonArray("plan");
+        List<PlanDay> plan = experienceJson.plan();
         assertTrue(plan.size() > 0, "Plan should contain at least one day");
         
         // Validate experience types are relevant for host property
-        JsonArray experienceTypes = experienceJson.getAsJsonArray("experienceTypes");
+        List<String> experienceTypes = experienceJson.experienceTypes();
         assertTrue(experienceTypes.size() > 0, "Experience should have at least one type");
         
         System.out.println("Coorg brochure host property validation passed successfully");
@@ -0,0 +1,67 @@
+package com.aiservicestests;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+import com.aiservices.ApiClient;
+import com.aiservices.load.ConcurrencySweep;
+import com.aiservices.load.LoadMetrics;
+import com.aiservices.load.OpenLoadGenerator;
+import com.aiservices.load.WorkloadMix;
+import com.utils.EnvironmentConfig;
+import com.utils.HtmlReportExtension;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Load runs against the AI services. Off by default; each is switched on by its
+ * config block, and results are added to the HTML report.
+ */
+@ExtendWith(HtmlReportExtension.class)
+public class LoadTests {
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Open-model load on the AI prompt service at a constant arrival rate")
+    public void testPromptServiceOpenLoad() throws IOException {
+        EnvironmentConfig config = EnvironmentConfig.get();
+        assumeTrue(config.getBoolean("load.enabled", false), "Open-model load is off; run with -Dload.enabled=true");
+        OpenLoadGenerator.Result result = OpenLoadGenerator.fromConfig(new ApiClient()).run();
+        LoadMetrics metrics = result.getMetrics();
+        assertTrue(metrics.getSent() > 0, "No requests were sent");
+        double maxErrorRate = config.getDouble("load.max_error_rate", 0.05);
+        assertTrue(metrics.getErrorRate() <= maxErrorRate, String.format("Error rate %.1f%% above %.1f%%: %s",
+                100 * metrics.getErrorRate(), 100 * maxErrorRate, metrics.getErrors()));
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Weighted multi-endpoint workload mix on the AI services")
+    public void testWorkloadMix() throws IOException {
+        EnvironmentConfig config = EnvironmentConfig.get();
+        assumeTrue(config.getBoolean("workload.enabled", false), "Workload mix is off; run with -Dworkload.enabled=true");
+        OpenLoadGenerator.Result result = WorkloadMix.fromConfig(new ApiClient()).run();
+        assertTrue(result.getMetrics().getSent() > 0, "No requests were sent");
+        double maxErrorRate = config.getDouble("workload.max_error_rate", 0.05);
+        for (Map.Entry<String, LoadMetrics> scenario : result.getScenarioMetrics().entrySet()) {
+            LoadMetrics metrics = scenario.getValue();
+            assertTrue(metrics.getErrorRate() <= maxErrorRate, String.format("%s: error rate %.1f%% above %.1f%%: %s",
+                    scenario.getKey(), 100 * metrics.getErrorRate(), 100 * maxErrorRate, metrics.getErrors()));
+        }
+    }
+
+    @Test
+    @Tag("benchmark")
+    @DisplayName("Concurrency sweep to find the saturation knee of an AI service endpoint")
+    public void testConcurrencySweep() throws IOException {
+        assumeTrue(EnvironmentConfig.get().getBoolean("sweep.enabled", false),
+                "Concurrency sweep is off; run with -Dsweep.enabled=true");
+        ConcurrencySweep.Result result = ConcurrencySweep.fromConfig(new ApiClient()).run();
+        assertNotNull(result.getKnee(), "No request completed at any concurrency level: " + result.getSteps());
+    }
+}
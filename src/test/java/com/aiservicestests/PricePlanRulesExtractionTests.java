@@ -1,25 +1,26 @@
 package com.aiservicestests;
 
 import org.junit.jupiter.params.ParameterizedTest;
-import org.junit.jupiter.params.provider.ValueSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.api.Tag;
 
 import com.aiservices.ApiClient;
 import com.aiservices.Constants;
+import com.utils.DataDirectorySource;
 import com.utils.JsonFileReader;
 import com.utils.HtmlReportGenerator;
 import com.utils.HtmlReportExtension;
-import com.google.gson.JsonArray;
-import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
+import com.aiservices.model.Policy;
+import com.aiservices.model.PricePlan;
+import com.aiservices.model.PriceRule;
 
 import org.junit.jupiter.api.DisplayName;
 import static org.junit.jupiter.api.Assertions.*;
 import java.io.IOException;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.List;
 
 /**
  * Price Plan Rules Extraction Tests with HTML Reporting
@@ -37,7 +38,7 @@ public class PricePlanRulesExtractionTests {
     }
     
     @ParameterizedTest
-    @ValueSource(strings = {"extract_price_plan_inventory", "kerala_ayurveda_inr", "water_sports_age_groups", "bike_tour_package"})
+    @DataDirectorySource(value = "smartaifill", tags = "price-plan")
     @DisplayName("Test AI Prompt Execution - Extract Price Plan Inventory")
     @Tag("smoke")
     @Tag("regression")
@@ -67,21 +68,20 @@ public class PricePlanRulesExtractionTests {
             System.out.println("AI Prompt executed successfully for " + promptDataFileName + ": " + response);
             
             // Parse the response JSON
-            JsonArray responseArray = JsonParser.parseString(response.toString()).getAsJsonArray();
+            List<PricePlan> responseArray = response.readList(PricePlan::read);
             assertTrue(responseArray.size() > 0, "Response should contain at least one item");
             HtmlReportGenerator.addLog(currentTestName, currentClassName, "Response array validation - PASSED");
             HtmlReportGenerator.addTestDetail(currentTestName, currentClassName, "responseItemCount_" + promptDataFileName, responseArray.size());
             
             // Validate each item in the response array
             for (int itemIndex = 0; itemIndex < responseArray.size(); itemIndex++) {
-                JsonObject item = responseArray.get(itemIndex).getAsJsonObject();
+                PricePlan item = responseArray.get(itemIndex);
                 HtmlReportGenerator.addLog(currentTestName, currentClassName, 
                     "Validating item " + (itemIndex + 1) + " for " + promptDataFileName);
                 System.out.println("Validating item " + (itemIndex + 1) + " for " + promptDataFileName);
                 
                 // Validate pricingPackageType
-                assertTrue(item.has("pricingPackageType"), "Response should contain pricingPackageType");
-                String pricingPackageType = item.get("pricingPackageType").getAsString();
+                String pricingPackageType = item.pricingPackageType();
                 assertNotNull(pricingPackageType, "pricingPackageType should not be null");
                 assertFalse(pricingPackageType.isEmpty(), "pricingPackageType should not be empty");
                 HtmlReportGenerator.addLog(currentTestName, currentClassName, "pricingPackageType validation - PASSED");
@@ -90,8 +90,7 @@ public class PricePlanRulesExtractionTests {
                 System.out.println("Pricing Package Type: " + pricingPackageType);
                 
                 // Validate currency
-                assertTrue(item.has("currency"), "Response should contain currency");
-                String currency = item.get("currency").getAsString();
+                String currency = item.currency();
                 assertNotNull(currency, "currency should not be null");
                 assertFalse(currency.isEmpty(), "currency should not be empty");
                 HtmlReportGenerator.addLog(currentTestName, currentClassName, "currency validation - PASSED");
@@ -100,17 +99,14 @@ public class PricePlanRulesExtractionTests {
                 System.out.println("Currency: " + currency);
                 
                 // Validate price
-                assertTrue(item.has("price"), "Response should contain price");
-                JsonArray priceArray = item.get("price").getAsJsonArray();
+                List<PricePlan.Price> priceArray = item.price();
                 assertTrue(priceArray.size() > 0, "Price array should contain at least one item");
                 HtmlReportGenerator.addLog(currentTestName, currentClassName, "price array validation - PASSED");
                 HtmlReportGenerator.addTestDetail(currentTestName, currentClassName, 
                     "priceArraySize_item" + itemIndex + "_" + promptDataFileName, priceArray.size());
                 
                 for (int priceIndex = 0; priceIndex < priceArray.size(); priceIndex++) {
-                    JsonObject priceObject = priceArray.get(priceIndex).getAsJsonObject();
-                    assertTrue(priceObject.has("baseFare"), "Price object should contain baseFare");
-                    int baseFare = priceObject.get("baseFare").getAsInt();
+                    int baseFare = (int) priceArray.get(priceIndex).baseFare();
                     assertTrue(baseFare > 0, "Base fare should be greater than 0");
                     HtmlReportGenerator.addLog(currentTestName, currentClassName, 
                         "baseFare validation for price " + (priceIndex + 1) + " - PASSED");
@@ -120,8 +116,7 @@ public class PricePlanRulesExtractionTests {
                 }
                 
                 // Validate features
-                assertTrue(item.has("features"), "Response should contain features");
-                JsonArray featuresArray = item.get("features").getAsJsonArray();
+                List<String> featuresArray = item.features();
                 assertTrue(featuresArray.size() > 0, "Features array should contain at least one item");
                 HtmlReportGenerator.addLog(currentTestName, currentClassName, "features array validation - PASSED");
                 HtmlReportGenerator.addTestDetail(currentTestName, currentClassName, 
@@ -130,7 +125,7 @@ public class PricePlanRulesExtractionTests {
                 
                 // Validate each feature is not empty
                 for (int featureIndex = 0; featureIndex < featuresArray.size(); featureIndex++) {
-                    String feature = featuresArray.get(featureIndex).getAsString();
+                    String feature = featuresArray.get(featureIndex);
                     assertNotNull(feature, "Feature should not be null");
                     assertFalse(feature.trim().isEmpty(), "Feature should not be empty");
                     HtmlReportGenerator.addTestDetail(currentTestName, currentClassName, 
@@ -156,27 +151,27 @@ public class PricePlanRulesExtractionTests {
         }
     }
     
-    private void performSpecificValidations(String testFileName, JsonArray responseArray) {
-        JsonObject firstItem = responseArray.get(0).getAsJsonObject();
+    private void performSpecificValidations(String testFileName, List<PricePlan> responseArray) {
+        PricePlan firstItem = responseArray.get(0);
         HtmlReportGenerator.addLog(currentTestName, currentClassName, "Performing specific validations for: " + testFileName);
         
         switch (testFileName) {
             case "extract_price_plan_inventory":
                 // Original spa package test
                 HtmlReportGenerator.addLog(currentTestName, currentClassName, "Validating extract_price_plan_inventory specific requirements");
-                assertEquals("USD", firstItem.get("currency").getAsString(), "Currency should be USD");
+                assertEquals("USD", firstItem.currency(), "Currency should be USD");
                 HtmlReportGenerator.addLog(currentTestName, currentClassName, "Currency USD validation - PASSED");
                 
-                assertEquals(99, firstItem.get("price").getAsJsonArray().get(0).getAsJsonObject().get("baseFare").getAsInt(), "Base fare should be 99");
+                assertEquals(99, (int) firstItem.price().get(0).baseFare(), "Base fare should be 99");
                 HtmlReportGenerator.addLog(currentTestName, currentClassName, "Base fare 99 validation - PASSED");
                 
                 String[] expectedFeatures = {"Hair Serum Application", "Scalp Massage", "Cooling Eye Mask"};
-                JsonArray featuresArray = firstItem.get("features").getAsJsonArray();
+                List<String> featuresArray = firstItem.features();
                 assertEquals(expectedFeatures.length, featuresArray.size(), "Should have exactly 3 features");
                 HtmlReportGenerator.addLog(currentTestName, currentClassName, "Features count validation - PASSED");
                 
                 for (int i = 0; i < expectedFeatures.length; i++) {
-                    String actualFeature = featuresArray.get(i).getAsString();
+                    String actualFeature = featuresArray.get(i);
                     assertEquals(expectedFeatures[i], actualFeature, "Feature " + (i+1) + " should match expected value");
                     HtmlReportGenerator.addTestDetail(currentTestName, currentClassName, "expectedFeature" + i, expectedFeatures[i]);
                     HtmlReportGenerator.addTestDetail(currentTestName, currentClassName, "actualFeature" + i, actualFeature);
@@ -187,13 +182,13 @@ public class PricePlanRulesExtractionTests {
             case "kerala_ayurveda_inr":
                 // INR currency test
                 HtmlReportGenerator.addLog(currentTestName, currentClassName, "Validating kerala_ayurveda_inr specific requirements");
-                assertEquals("INR", firstItem.get("currency").getAsString(), "Currency should be INR");
+                assertEquals("INR", firstItem.currency(), "Currency should be INR");
                 HtmlReportGenerator.addLog(currentTestName, currentClassName, "Currency INR validation - PASSED");
                 
-                assertEquals(15999, firstItem.get("price").getAsJsonArray().get(0).getAsJsonObject().get("baseFare").getAsInt(), "Base fare should be 15999");
+                assertEquals(15999, (int) firstItem.price().get(0).baseFare(), "Base fare should be 15999");
                 HtmlReportGenerator.addLog(currentTestName, currentClassName, "Base fare 15999 validation - PASSED");
                 
-                JsonArray ayurvedaFeatures = firstItem.get("features").getAsJsonArray();
+                List<String> ayurvedaFeatures = firstItem.features();
                 assertTrue(ayurvedaFeatures.size() >= 3, "Should have at least 3 features for Ayurveda package");
                 HtmlReportGenerator.addLog(currentTestName, currentClassName, "Ayurveda features count validation - PASSED");
                 HtmlReportGenerator.addTestDetail(currentTestName, currentClassName, "ayurvedaFeaturesCount", ayurvedaFeatures.size());
@@ -202,10 +197,10 @@ public class PricePlanRulesExtractionTests {
             case "water_sports_age_groups":
                 // Multiple age groups test
                 HtmlReportGenerator.addLog(currentTestName, currentClassName, "Validating water_sports_age_groups specific requirements");
-                assertEquals("INR", firstItem.get("currency").getAsString(), "Currency should be INR");
+                assertEquals("INR", firstItem.currency(), "Currency should be INR");
                 HtmlReportGenerator.addLog(currentTestName, currentClassName, "Currency INR validation - PASSED");
                 
-                JsonArray priceArray = firstItem.get("price").getAsJsonArray();
+                List<PricePlan.Price> priceArray = firstItem.price();
                 
                 // Should have prices for different age groups
                 assertTrue(priceArray.size() >= 1, "Should have at least one price entry");
@@ -215,7 +210,7 @@ public class PricePlanRulesExtractionTests {
                 // Check if we have the expected price values (500 or 800)
                 boolean hasExpectedPrice = false;
                 for (int i = 0; i < priceArray.size(); i++) {
-                    int fare = priceArray.get(i).getAsJsonObject().get("baseFare").getAsInt();
+                    int fare = (int) priceArray.get(i).baseFare();
                     HtmlReportGenerator.addTestDetail(currentTestName, currentClassName, "priceEntry" + i, fare);
                     if (fare == 500 || fare == 800) {
                         hasExpectedPrice = true;
@@ -229,13 +224,13 @@ public class PricePlanRulesExtractionTests {
             case "bike_tour_package":
                 // Bike tour test
                 HtmlReportGenerator.addLog(currentTestName, currentClassName, "Validating bike_tour_package specific requirements");
-                assertEquals("USD", firstItem.get("currency").getAsString(), "Currency should be USD");
+                assertEquals("USD", firstItem.currency(), "Currency should be USD");
                 HtmlReportGenerator.addLog(currentTestName, currentClassName, "Currency USD validation - PASSED");
                 
-                assertEquals(75, firstItem.get("price").getAsJsonArray().get(0).getAsJsonObject().get("baseFare").getAsInt(), "Base fare should be 75");
+                assertEquals(75, (int) firstItem.price().get(0).baseFare(), "Base fare should be 75");
                 HtmlReportGenerator.addLog(currentTestName, currentClassName, "Base fare 75 validation - PASSED");
                 
-                JsonArray bikeFeatures = firstItem.get("features").getAsJsonArray();
+                List<String> bikeFeatures = firstItem.features();
                 assertTrue(bikeFeatures.size() >= 4, "Should have at least 4 features for bike tour package");
                 HtmlReportGenerator.addLog(currentTestName, currentClassName, "Bike tour features count validation - PASSED");
                 HtmlReportGenerator.addTestDetail(currentTestName, currentClassName, "bikeFeaturesCount", bikeFeatures.size());
@@ -247,8 +242,8 @@ public class PricePlanRulesExtractionTests {
     }
     
     @ParameterizedTest
-    // @ValueSource(strings = {"rainy_day_discount_rules", "early_bird_family_discount", "senior_citizen_discount", "weekend_flash_sale", "weekend_special_offers", "august_rainy_day_discount", "weekend_rainy_day_discount"})
-    @ValueSource(strings = {"weekend_rainy_day_discount"})
+    // All seven rules files are slow together; each run samples a random quarter of them (-Dtestdata.sample=1 for all)
+    @DataDirectorySource(value = "smartaifill", tags = "price-rules", sample = 0.25)
     @DisplayName("Test AI Prompt Execution - Extract Price Rules Inventory")
     @Tag("regression")
     public void testExtractPriceRulesInventory(String promptDataFileName) throws IOException {
@@ -260,12 +255,12 @@ public class PricePlanRulesExtractionTests {
         System.out.println("AI Price Rules executed successfully for " + promptDataFileName + ": " + response);
         
         // Parse the response JSON
-        JsonArray responseArray = JsonParser.parseString(response.toString()).getAsJsonArray();
+        List<PriceRule> responseArray = response.readList(PriceRule::read);
         assertTrue(responseArray.size() > 0, "Response should contain at least one price rule");
         
         // Validate each price rule in the response array
         for (int ruleIndex = 0; ruleIndex < responseArray.size(); ruleIndex++) {
-            JsonObject rule = responseArray.get(ruleIndex).getAsJsonObject();
+            PriceRule rule = responseArray.get(ruleIndex);
             System.out.println("Validating price rule " + (ruleIndex + 1) + " for " + promptDataFileName);
             
             // Validate rule name/title
@@ -278,7 +273,7 @@ public class PricePlanRulesExtractionTests {
             
             // Validate start date
             if (rule.has("startDate")) {
-                String startDate = rule.get("startDate").getAsString();
+                String startDate = rule.startDate();
                 assertNotNull(startDate, "Start date should not be null");
                 assertFalse(startDate.isEmpty(), "Start date should not be empty");
                 System.out.println("Start Date: " + startDate);
@@ -286,7 +281,7 @@ public class PricePlanRulesExtractionTests {
             
             // Validate end date
             if (rule.has("endDate")) {
-                String endDate = rule.get("endDate").getAsString();
+                String endDate = rule.endDate();
                 assertNotNull(endDate, "End date should not be null");
                 assertFalse(endDate.isEmpty(), "End date should not be empty");
                 System.out.println("End Date: " + endDate);
@@ -294,20 +289,20 @@ public class PricePlanRulesExtractionTests {
             
             // Validate price adjustment
             if (rule.has("priceAdjustment")) {
-                double priceAdjustment = rule.get("priceAdjustment").getAsDouble();
+                double priceAdjustment = rule.priceAdjustment();
                 assertTrue(priceAdjustment > 0, "Price adjustment should be greater than 0");
                 System.out.println("Price Adjustment: " + priceAdjustment);
             }
             
             // Validate percentage flag
             if (rule.has("isPercentage")) {
-                boolean isPercentage = rule.get("isPercentage").getAsBoolean();
+                boolean isPercentage = rule.isPercentage();
                 System.out.println("Is Percentage: " + isPercentage);
             }
             
             // Validate pax type
             if (rule.has("paxType")) {
-                String paxType = rule.get("paxType").getAsString();
+                String paxType = rule.paxType();
                 assertNotNull(paxType, "Pax type should not be null");
                 assertFalse(paxType.isEmpty(), "Pax type should not be empty");
                 System.out.println("Pax Type: " + paxType);
@@ -315,29 +310,29 @@ public class PricePlanRulesExtractionTests {
             
             // Validate inventory count
             if (rule.has("inventoryCount")) {
-                int inventoryCount = rule.get("inventoryCount").getAsInt();
+                int inventoryCount = rule.inventoryCount();
                 assertTrue(inventoryCount >= 0, "Inventory count should be non-negative");
                 System.out.println("Inventory Count: " + inventoryCount);
             }
             
             // Validate comparison operator
             if (rule.has("comparisonOperator")) {
-                String comparisonOperator = rule.get("comparisonOperator").getAsString();
+                String comparisonOperator = rule.comparisonOperator();
                 assertNotNull(comparisonOperator, "Comparison operator should not be null");
                 assertFalse(comparisonOperator.isEmpty(), "Comparison operator should not be empty");
                 System.out.println("Comparison Operator: " + comparisonOperator);
             }
             
             // Log all fields for debugging
-            System.out.println("Price rule fields: " + rule.keySet());
+            System.out.println("Price rule fields: " + rule.fields());
         }
         
         // Perform specific validations for known test cases
         performPriceRulesSpecificValidations(promptDataFileName, responseArray);
     }
     
-    private void performPriceRulesSpecificValidations(String testFileName, JsonArray responseArray) {
-        JsonObject firstRule = responseArray.get(0).getAsJsonObject();
+    private void performPriceRulesSpecificValidations(String testFileName, List<PriceRule> responseArray) {
+        PriceRule firstRule = responseArray.get(0);
         
         switch (testFileName) {
             case "rainy_day_discount_rules":
@@ -346,41 +341,41 @@ public class PricePlanRulesExtractionTests {
                 
                 // Check for title
                 assertTrue(firstRule.has("title"), "Should have title field");
-                String title = firstRule.get("title").getAsString();
+                String title = firstRule.title();
                 assertTrue(title.toLowerCase().contains("rainy") || title.toLowerCase().contains("discount"), 
                     "Title should contain 'rainy' or 'discount'");
                 
                 // Check for price adjustment (should be $12)
                 assertTrue(firstRule.has("priceAdjustment"), "Should have priceAdjustment field");
-                double priceAdjustment = firstRule.get("priceAdjustment").getAsDouble();
+                double priceAdjustment = firstRule.priceAdjustment();
                 assertEquals(12.0, priceAdjustment, 0.01, "Price adjustment should be 12.0");
                 
                 // Check that it's not a percentage
                 assertTrue(firstRule.has("isPercentage"), "Should have isPercentage field");
-                assertFalse(firstRule.get("isPercentage").getAsBoolean(), "Should not be a percentage discount");
+                assertFalse(firstRule.isPercentage(), "Should not be a percentage discount");
                 
                 // Check for date range (June 15-20)
                 assertTrue(firstRule.has("startDate"), "Should have start date");
                 assertTrue(firstRule.has("endDate"), "Should have end date");
                 
-                String startDate = firstRule.get("startDate").getAsString();
-                String endDate = firstRule.get("endDate").getAsString();
+                String startDate = firstRule.startDate();
+                String endDate = firstRule.endDate();
                 assertTrue(startDate.contains("2025-06-15"), "Start date should be June 15, 2025");
                 assertTrue(endDate.contains("2025-06-20"), "End date should be June 20, 2025");
                 
                 // Check for adult-specific condition
                 assertTrue(firstRule.has("paxType"), "Should have paxType field");
-                String paxType = firstRule.get("paxType").getAsString();
+                String paxType = firstRule.paxType();
                 assertEquals("ADULT", paxType, "Pax type should be ADULT");
                 
                 // Check for inventory condition (less than 50 items - should be 49)
                 assertTrue(firstRule.has("inventoryCount"), "Should have inventoryCount field");
-                int inventoryCount = firstRule.get("inventoryCount").getAsInt();
+                int inventoryCount = firstRule.inventoryCount();
                 assertEquals(49, inventoryCount, "Inventory count should be 49 (less than 50)");
                 
                 // Check comparison operator
                 assertTrue(firstRule.has("comparisonOperator"), "Should have comparisonOperator field");
-                String comparisonOperator = firstRule.get("comparisonOperator").getAsString();
+                String comparisonOperator = firstRule.comparisonOperator();
                 assertEquals("lessorequal", comparisonOperator, "Comparison operator should be lessorequal");
                 
                 break;
@@ -391,23 +386,23 @@ public class PricePlanRulesExtractionTests {
                 
                 // Check for title
                 assertTrue(firstRule.has("title"), "Should have title field");
-                String earlyBirdTitle = firstRule.get("title").getAsString();
+                String earlyBirdTitle = firstRule.title();
                 assertTrue(earlyBirdTitle.toLowerCase().contains("early") || earlyBirdTitle.toLowerCase().contains("bird") || 
                           earlyBirdTitle.toLowerCase().contains("family"), "Title should contain 'early', 'bird', or 'family'");
                 
                 // Check for percentage discount (should be 25%)
                 assertTrue(firstRule.has("priceAdjustment"), "Should have priceAdjustment field");
-                double earlyBirdAdjustment = firstRule.get("priceAdjustment").getAsDouble();
+                double earlyBirdAdjustment = firstRule.priceAdjustment();
                 assertEquals(25.0, earlyBirdAdjustment, 0.01, "Price adjustment should be 25.0");
                 
                 // Check that it's a percentage
                 assertTrue(firstRule.has("isPercentage"), "Should have isPercentage field");
-                assertTrue(firstRule.get("isPercentage").getAsBoolean(), "Should be a percentage discount");
+                assertTrue(firstRule.isPercentage(), "Should be a percentage discount");
                 
                 // Check for March date range
                 if (firstRule.has("startDate") && firstRule.has("endDate")) {
-                    String ebStartDate = firstRule.get("startDate").getAsString();
-                    String ebEndDate = firstRule.get("endDate").getAsString();
+                    String ebStartDate = firstRule.startDate();
+                    String ebEndDate = firstRule.endDate();
                     assertTrue(ebStartDate.contains("2025-03-01") || ebStartDate.contains("March"), 
                               "Start date should be March 1, 2025");
                     assertTrue(ebEndDate.contains("2025-03-31") || ebEndDate.contains("March"), 
@@ -416,7 +411,7 @@ public class PricePlanRulesExtractionTests {
                 
                 // Check for inventory limit (100 bookings)
                 if (firstRule.has("inventoryCount")) {
-                    int ebInventoryCount = firstRule.get("inventoryCount").getAsInt();
+                    int ebInventoryCount = firstRule.inventoryCount();
                     assertEquals(100, ebInventoryCount, "Inventory count should be 100");
                 }
                 
@@ -428,18 +423,18 @@ public class PricePlanRulesExtractionTests {
                 
                 // Check for title
                 assertTrue(firstRule.has("title"), "Should have title field");
-                String seniorTitle = firstRule.get("title").getAsString();
+                String seniorTitle = firstRule.title();
                 assertTrue(seniorTitle.toLowerCase().contains("senior") || seniorTitle.toLowerCase().contains("citizen"), 
                           "Title should contain 'senior' or 'citizen'");
                 
                 // Check for flat discount (should be ₹200)
                 assertTrue(firstRule.has("priceAdjustment"), "Should have priceAdjustment field");
-                double seniorAdjustment = firstRule.get("priceAdjustment").getAsDouble();
+                double seniorAdjustment = firstRule.priceAdjustment();
                 assertEquals(200.0, seniorAdjustment, 0.01, "Price adjustment should be 200.0");
                 
                 // Check that it's not a percentage
                 assertTrue(firstRule.has("isPercentage"), "Should have isPercentage field");
-                assertFalse(firstRule.get("isPercentage").getAsBoolean(), "Should not be a percentage discount");
+                assertFalse(firstRule.isPercentage(), "Should not be a percentage discount");
                 
                 // Check for senior age condition (65+)
                 if (firstRule.has("minAge") || firstRule.has("ageLimit")) {
@@ -455,23 +450,23 @@ public class PricePlanRulesExtractionTests {
                 
                 // Check for title
                 assertTrue(firstRule.has("title"), "Should have title field");
-                String weekendTitle = firstRule.get("title").getAsString();
+                String weekendTitle = firstRule.title();
                 assertTrue(weekendTitle.toLowerCase().contains("weekend") || weekendTitle.toLowerCase().contains("flash") || 
                           weekendTitle.toLowerCase().contains("sale"), "Title should contain 'weekend', 'flash', or 'sale'");
                 
                 // Check for percentage discount (should be 15%)
                 assertTrue(firstRule.has("priceAdjustment"), "Should have priceAdjustment field");
-                double weekendAdjustment = firstRule.get("priceAdjustment").getAsDouble();
+                double weekendAdjustment = firstRule.priceAdjustment();
                 assertEquals(15.0, weekendAdjustment, 0.01, "Price adjustment should be 15.0");
                 
                 // Check that it's a percentage
                 assertTrue(firstRule.has("isPercentage"), "Should have isPercentage field");
-                assertTrue(firstRule.get("isPercentage").getAsBoolean(), "Should be a percentage discount");
+                assertTrue(firstRule.isPercentage(), "Should be a percentage discount");
                 
                 // Check for July 2025 date range
                 if (firstRule.has("startDate") && firstRule.has("endDate")) {
-                    String wsStartDate = firstRule.get("startDate").getAsString();
-                    String wsEndDate = firstRule.get("endDate").getAsString();
+                    String wsStartDate = firstRule.startDate();
+                    String wsEndDate = firstRule.endDate();
                     assertTrue(wsStartDate.contains("2025-07") || wsStartDate.contains("July"), 
                               "Start date should be July 2025");
                     assertTrue(wsEndDate.contains("2025-07") || wsEndDate.contains("July"), 
@@ -480,13 +475,13 @@ public class PricePlanRulesExtractionTests {
                 
                 // Check for inventory condition (> 75 units)
                 if (firstRule.has("inventoryCount")) {
-                    int wsInventoryCount = firstRule.get("inventoryCount").getAsInt();
+                    int wsInventoryCount = firstRule.inventoryCount();
                     assertEquals(75, wsInventoryCount, "Inventory count should be 75");
                 }
                 
                 // Check comparison operator (should be greater than)
                 if (firstRule.has("comparisonOperator")) {
-                    String wsComparisonOperator = firstRule.get("comparisonOperator").getAsString();
+                    String wsComparisonOperator = firstRule.comparisonOperator();
                     assertTrue(wsComparisonOperator.contains("greater") || wsComparisonOperator.contains("exceed"), 
                               "Comparison operator should indicate greater than");
                 }
@@ -499,38 +494,38 @@ public class PricePlanRulesExtractionTests {
                 
                 // Check for title
                 if (firstRule.has("title")) {
-                    String wsoTitle = firstRule.get("title").getAsString();
+                    String wsoTitle = firstRule.title();
                     assertTrue(wsoTitle.toLowerCase().contains("weekend") || wsoTitle.toLowerCase().contains("special"), 
                               "Title should contain 'weekend' or 'special'");
                 }
                 
                 // Check for percentage discount (should be 20%)
                 if (firstRule.has("priceAdjustment")) {
-                    double wsoDiscount = firstRule.get("priceAdjustment").getAsDouble();
+                    double wsoDiscount = firstRule.priceAdjustment();
                     assertEquals(20.0, wsoDiscount, "Price adjustment should be 20%");
                 }
                 
                 // Check if it's percentage type
                 if (firstRule.has("isPercentage")) {
-                    boolean wsoIsPercentage = firstRule.get("isPercentage").getAsBoolean();
+                    boolean wsoIsPercentage = firstRule.isPercentage();
                     assertTrue(wsoIsPercentage, "Should be percentage discount");
                 }
                 
                 // Check for August 2025 timeframe
                 if (firstRule.has("startDate")) {
-                    String wsoStartDate = firstRule.get("startDate").getAsString();
+                    String wsoStartDate = firstRule.startDate();
                     assertTrue(wsoStartDate.contains("2025-08"), "Start date should be in August 2025");
                 }
                 
                 // Check for inventory condition (should be > 50)
                 if (firstRule.has("inventoryCount")) {
-                    int wsoInventoryCount = firstRule.get("inventoryCount").getAsInt();
+                    int wsoInventoryCount = firstRule.inventoryCount();
                     assertEquals(50, wsoInventoryCount, "Inventory count should be 50");
                 }
                 
                 // Check for Friday, Saturday, Sunday (days of week)
                 if (firstRule.has("daysOfWeek")) {
-                    String wsoDaysOfWeek = firstRule.get("daysOfWeek").getAsString();
+                    String wsoDaysOfWeek = firstRule.daysOfWeek();
                     assertTrue(wsoDaysOfWeek.contains("5") || wsoDaysOfWeek.contains("6") || wsoDaysOfWeek.contains("0"), 
                               "Should include weekend days (Friday=5, Saturday=6, Sunday=0)");
                 }
@@ -543,39 +538,39 @@ public class PricePlanRulesExtractionTests {
                 
                 // Check for title
                 if (firstRule.has("title")) {
-                    String ardTitle = firstRule.get("title").getAsString();
+                    String ardTitle = firstRule.title();
                     assertTrue(ardTitle.toLowerCase().contains("rainy") || ardTitle.toLowerCase().contains("discount"), 
                               "Title should contain 'rainy' or 'discount'");
                 }
                 
                 // Check for fixed discount amount ($20 or $25)
                 if (firstRule.has("priceAdjustment")) {
-                    double ardDiscount = firstRule.get("priceAdjustment").getAsDouble();
+                    double ardDiscount = firstRule.priceAdjustment();
                     assertTrue(ardDiscount == 20.0 || ardDiscount == 25.0, "Price adjustment should be $20 or $25");
                 }
                 
                 // Check if it's NOT percentage type (fixed amount)
                 if (firstRule.has("isPercentage")) {
-                    boolean ardIsPercentage = firstRule.get("isPercentage").getAsBoolean();
+                    boolean ardIsPercentage = firstRule.isPercentage();
                     assertFalse(ardIsPercentage, "Should be fixed amount discount, not percentage");
                 }
                 
                 // Check for August 2025 timeframe
                 if (firstRule.has("startDate")) {
-                    String ardStartDate = firstRule.get("startDate").getAsString();
+                    String ardStartDate = firstRule.startDate();
                     assertTrue(ardStartDate.contains("2025-08"), "Start date should be in August 2025");
                 }
                 
                 // Check for adult and senior citizen pax types
                 if (firstRule.has("paxType")) {
-                    String ardPaxType = firstRule.get("paxType").getAsString();
+                    String ardPaxType = firstRule.paxType();
                     assertTrue(ardPaxType.contains("ADULT") || ardPaxType.contains("SENIOR"), 
                               "Should include ADULT or SENIOR citizen pax types");
                 }
                 
                 // Check for inventory condition (should be < 50)
                 if (firstRule.has("inventoryCount")) {
-                    int ardInventoryCount = firstRule.get("inventoryCount").getAsInt();
+                    int ardInventoryCount = firstRule.inventoryCount();
                     assertTrue(ardInventoryCount <= 50, "Inventory count should be 50 or less");
                 }
                 
@@ -587,7 +582,7 @@ public class PricePlanRulesExtractionTests {
                 
                 // Check for title
                 if (firstRule.has("title")) {
-                    String wrdTitle = firstRule.get("title").getAsString();
+                    String wrdTitle = firstRule.title();
                     assertTrue(wrdTitle.toLowerCase().contains("rainy") || wrdTitle.toLowerCase().contains("discount"), 
                               "Title should contain 'rainy' or 'discount'");
                 }
@@ -595,7 +590,7 @@ public class PricePlanRulesExtractionTests {
                 // Assert that startDate should be present in the response
                 assertTrue(firstRule.has("startDate"), "Response should contain startDate for weekend rainy day discount");
                 if (firstRule.has("startDate")) {
-                    String wrdStartDate = firstRule.get("startDate").getAsString();
+                    String wrdStartDate = firstRule.startDate();
                     assertNotNull(wrdStartDate, "Start date should not be null");
                     assertFalse(wrdStartDate.isEmpty(), "Start date should not be empty");
                     System.out.println("Start Date: " + wrdStartDate);
@@ -604,7 +599,7 @@ public class PricePlanRulesExtractionTests {
                 // Assert that endDate should be present in the response
                 assertTrue(firstRule.has("endDate"), "Response should contain endDate for weekend rainy day discount");
                 if (firstRule.has("endDate")) {
-                    String wrdEndDate = firstRule.get("endDate").getAsString();
+                    String wrdEndDate = firstRule.endDate();
                     assertNotNull(wrdEndDate, "End date should not be null");
                     assertFalse(wrdEndDate.isEmpty(), "End date should not be empty");
                     System.out.println("End Date: " + wrdEndDate);
@@ -612,32 +607,32 @@ public class PricePlanRulesExtractionTests {
                 
                 // Check for $15 discount amount
                 if (firstRule.has("priceAdjustment")) {
-                    double wrdDiscount = firstRule.get("priceAdjustment").getAsDouble();
+                    double wrdDiscount = firstRule.priceAdjustment();
                     assertEquals(15.0, wrdDiscount, "Price adjustment should be $15");
                 }
                 
                 // Check if it's NOT percentage type (fixed amount)
                 if (firstRule.has("isPercentage")) {
-                    boolean wrdIsPercentage = firstRule.get("isPercentage").getAsBoolean();
+                    boolean wrdIsPercentage = firstRule.isPercentage();
                     assertFalse(wrdIsPercentage, "Should be fixed amount discount, not percentage");
                 }
                 
                 // Check for weekend days (this weekend)
                 if (firstRule.has("daysOfWeek")) {
-                    String wrdDaysOfWeek = firstRule.get("daysOfWeek").getAsString();
+                    String wrdDaysOfWeek = firstRule.daysOfWeek();
                     assertTrue(wrdDaysOfWeek.contains("6") || wrdDaysOfWeek.contains("0"), 
                               "Should include weekend days (Saturday=6, Sunday=0)");
                 }
                 
                 // Check for adult pax type only
                 if (firstRule.has("paxType")) {
-                    String wrdPaxType = firstRule.get("paxType").getAsString();
+                    String wrdPaxType = firstRule.paxType();
                     assertTrue(wrdPaxType.contains("ADULT"), "Should include ADULT pax type");
                 }
                 
                 // Check for inventory condition (should be < 50)
                 if (firstRule.has("inventoryCount")) {
-                    int wrdInventoryCount = firstRule.get("inventoryCount").getAsInt();
+                    int wrdInventoryCount = firstRule.inventoryCount();
                     assertTrue(wrdInventoryCount <= 50, "Inventory count should be 50 or less");
                 }
                 
@@ -648,7 +643,7 @@ public class PricePlanRulesExtractionTests {
     }
     
     @ParameterizedTest
-    @ValueSource(strings = {"cancellation_policies"})
+    @DataDirectorySource(value = "smartaifill", tags = "policy")
     @DisplayName("Test AI Prompt Execution - Extract Policy Information Inventory")
     @Tag("regression")
     public void testExtractPolicyInformationInventory(String promptDataFileName) throws IOException {
@@ -660,12 +655,12 @@ public class PricePlanRulesExtractionTests {
         System.out.println("AI Policy Information executed successfully for " + promptDataFileName + ": " + response);
         
         // Parse the response JSON
-        JsonArray responseArray = JsonParser.parseString(response.toString()).getAsJsonArray();
+        List<Policy> responseArray = response.readList(Policy::read);
         assertTrue(responseArray.size() > 0, "Response should contain at least one policy");
         
         // Validate each policy in the response array
         for (int policyIndex = 0; policyIndex < responseArray.size(); policyIndex++) {
-            JsonObject policy = responseArray.get(policyIndex).getAsJsonObject();
+            Policy policy = responseArray.get(policyIndex);
             System.out.println("Validating policy " + (policyIndex + 1) + " for " + promptDataFileName);
             
             // Validate policy type
@@ -682,40 +677,40 @@ public class PricePlanRulesExtractionTests {
             
             // Validate policy details if present
             if (policy.has("timePeriod")) {
-                String timePeriod = policy.get("timePeriod").getAsString();
+                String timePeriod = policy.timePeriod();
                 assertNotNull(timePeriod, "Time period should not be null");
                 assertFalse(timePeriod.isEmpty(), "Time period should not be empty");
                 System.out.println("Time Period: " + timePeriod);
             }
             
             if (policy.has("hoursBeforeStart")) {
-                int hoursBeforeStart = policy.get("hoursBeforeStart").getAsInt();
+                int hoursBeforeStart = policy.hoursBeforeStart();
                 assertTrue(hoursBeforeStart >= 0, "Hours before start should be non-negative");
                 System.out.println("Hours Before Start: " + hoursBeforeStart);
             }
             
             if (policy.has("refundPercentage")) {
-                int refundPercentage = policy.get("refundPercentage").getAsInt();
+                int refundPercentage = policy.refundPercentage();
                 assertTrue(refundPercentage >= 0 && refundPercentage <= 100, "Refund percentage should be between 0 and 100");
                 System.out.println("Refund Percentage: " + refundPercentage + "%");
             }
             
             if (policy.has("policyType")) {
-                String policyType = policy.get("policyType").getAsString();
+                String policyType = policy.policyType();
                 assertNotNull(policyType, "Policy type should not be null");
                 assertFalse(policyType.isEmpty(), "Policy type should not be empty");
                 System.out.println("Policy Type: " + policyType);
             }
             
             // Log all fields for debugging
-            System.out.println("Policy fields: " + policy.keySet());
+            System.out.println("Policy fields: " + policy.fields());
         }
         
         // Perform specific validations for cancellation policies
         performPolicySpecificValidations(promptDataFileName, responseArray);
     }
     
-    private void performPolicySpecificValidations(String testFileName, JsonArray responseArray) {
+    private void performPolicySpecificValidations(String testFileName, List<Policy> responseArray) {
         switch (testFileName) {
             case "cancellation_policies":
                 // Validate the cancellation policies
@@ -730,38 +725,38 @@ public class PricePlanRulesExtractionTests {
                 boolean hasReschedulingPolicy = false;
                 
                 for (int i = 0; i < responseArray.size(); i++) {
-                    JsonObject policy = responseArray.get(i).getAsJsonObject();
+                    Policy policy = responseArray.get(i);
                     
                     // Check for 24-hour full refund policy
-                    if (policy.has("hoursBeforeStart") && policy.get("hoursBeforeStart").getAsInt() == 24) {
+                    if (policy.has("hoursBeforeStart") && policy.hoursBeforeStart() == 24) {
                         has24HourPolicy = true;
                         if (policy.has("refundPercentage")) {
-                            assertEquals(100, policy.get("refundPercentage").getAsInt(), "24-hour policy should have 100% refund");
+                            assertEquals(100, policy.refundPercentage(), "24-hour policy should have 100% refund");
                         }
                         System.out.println("Found 24-hour full refund policy");
                     }
                     
                     // Check for 12-hour 50% refund policy
-                    if (policy.has("hoursBeforeStart") && policy.get("hoursBeforeStart").getAsInt() == 12) {
+                    if (policy.has("hoursBeforeStart") && policy.hoursBeforeStart() == 12) {
                         has12HourPolicy = true;
                         if (policy.has("refundPercentage")) {
-                            assertEquals(50, policy.get("refundPercentage").getAsInt(), "12-hour policy should have 50% refund");
+                            assertEquals(50, policy.refundPercentage(), "12-hour policy should have 50% refund");
                         }
                         System.out.println("Found 12-hour 50% refund policy");
                     }
                     
                     // Check for after 12-hour no refund policy
-                    if (policy.has("hoursBeforeStart") && policy.get("hoursBeforeStart").getAsInt() < 12) {
+                    if (policy.has("hoursBeforeStart") && policy.hoursBeforeStart() < 12) {
                         hasAfter12HourPolicy = true;
                         if (policy.has("refundPercentage")) {
-                            assertEquals(0, policy.get("refundPercentage").getAsInt(), "After 12-hour policy should have 0% refund");
+                            assertEquals(0, policy.refundPercentage(), "After 12-hour policy should have 0% refund");
                         }
                         System.out.println("Found after 12-hour no refund policy");
                     }
                     
                     // Check for rescheduling policy
                     if (policy.has("policyType")) {
-                        String policyType = policy.get("policyType").getAsString();
+                        String policyType = policy.policyType();
                         if (policyType.toLowerCase().contains("reschedul")) {
                             hasReschedulingPolicy = true;
                             System.out.println("Found rescheduling policy");
@@ -1,12 +1,12 @@
 package com.experienceCategoriesTests;
 
 import com.aiservices.ApiClient;
+import com.aiservices.ApiResponse;
+import com.aiservices.model.ExperienceCategories;
 import com.aiservices.Constants;
+import com.utils.CategoryIndex;
 import com.utils.JsonFileReader;
 import com.google.gson.JsonObject;
-import com.google.gson.JsonParser;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonArray;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -14,7 +14,7 @@ import org.junit.jupiter.params.provider.ValueSource;
 import static org.junit.jupiter.api.Assertions.*;
 import java.io.IOException;
 import java.util.Set;
-import java.util.HashSet;
+import java.util.List;
 
 /**
  * Test class to validate AI-generated experience categories
@@ -44,25 +44,22 @@ public class ExperienceCategoriesTests {
     public void testGenerateExperienceCategories(String experienceCategory) throws IOException {
         client = new ApiClient();
         System.out.println("Starting Experience Categories Generation Test for: category_" + experienceCategory);
-        String categoryJsonString = JsonFileReader.readJsonFile("categories/categoryJson.json");
+        CategoryIndex categoryIndex = CategoryIndex.get();
 
         String descriptionFileName = "category_" + experienceCategory.toLowerCase() + "_description.json";
 
-        String descriptionJsonString = JsonFileReader.readJsonFile("categories/" + descriptionFileName);
-        JsonObject descriptionData = JsonParser.parseString(descriptionJsonString).getAsJsonObject();
+        JsonObject descriptionData = JsonFileReader.readJsonObject("categories/" + descriptionFileName);
         JsonObject requestParams = descriptionData.getAsJsonObject("requestParams");
-        requestParams.addProperty("categoryJson", categoryJsonString);
-        Object responseObj = client.executeAIPrompt(Constants.EXECUTE_PROMPT_ENDPOINT, descriptionData.toString());
+        requestParams.addProperty("categoryJson", categoryIndex.getJson());
+        ApiResponse responseObj = client.executeAIPrompt(Constants.EXECUTE_PROMPT_ENDPOINT, descriptionData.toString());
        
         assertNotNull(responseObj, "Response should not be null");
-        String responseString = responseObj.toString();
-        JsonObject responseObject = JsonParser.parseString(responseString).getAsJsonObject();
-        assertTrue(responseObject.has("experienceCategory"), "Response should contain experienceCategory field");
-        JsonElement experienceCategoryElement = responseObject.get("experienceCategory");
-        assertNotNull(experienceCategoryElement, "experienceCategory should not be null");
+        // experienceCategory is required by the model, so reading the response already checked it
+        ExperienceCategories categories = responseObj.read(ExperienceCategories::read);
+        List<String> experienceCategoryElement = categories.experienceCategory();
         boolean foundCategory = false;
-        for (JsonElement element : experienceCategoryElement.getAsJsonArray()) {
-            if (element.getAsString().equalsIgnoreCase(experienceCategory)) {
+        for (String element : experienceCategoryElement) {
+            if (element.equalsIgnoreCase(experienceCategory)) {
                 foundCategory = true;
                 break;
             }
@@ -74,14 +71,11 @@ public class ExperienceCategoriesTests {
         StringBuilder allValidationErrors = new StringBuilder();
         
         // Validate experienceTypes are valid sub-categories of experienceCategory
-        if (responseObject.has("experienceTypes")) {
-            JsonElement experienceTypesElement = responseObject.get("experienceTypes");
-            if (experienceTypesElement.isJsonArray()) {
-                String validationError = validateExperienceTypes(categoryJsonString, experienceCategoryElement, 
-                                                                experienceTypesElement, "category_" + experienceCategory);
-                if (validationError != null) {
-                    allValidationErrors.append(validationError).append("\n");
-                }
+        if (categories.experienceTypes() != null) {
+            String validationError = validateExperienceTypes(categoryIndex, experienceCategoryElement, 
+                                                            categories.experienceTypes(), "category_" + experienceCategory);
+            if (validationError != null) {
+                allValidationErrors.append(validationError).append("\n");
             }
         }
         
@@ -115,47 +109,40 @@ public class ExperienceCategoriesTests {
         System.out.println("Starting Category Generation with Description Test for: " + experienceFile);
 
         // Load expected categories configuration
-        String expectedCategoriesJsonString = JsonFileReader.readJsonFile("categories/expected_categories.json");
-        JsonObject expectedCategoriesData = JsonParser.parseString(expectedCategoriesJsonString).getAsJsonObject();
+        JsonObject expectedCategoriesData = JsonFileReader.readJsonObject("categories/expected_categories.json");
         String expectedCategory = expectedCategoriesData.get(experienceFile).getAsString();
         System.out.println("Expected category for " + experienceFile + ": " + expectedCategory);
         
-        // Load category JSON
-        String categoryJsonString = JsonFileReader.readJsonFile("categories/categoryJson.json");
+        // Category hierarchy, parsed once per run
+        CategoryIndex categoryIndex = CategoryIndex.get();
 
         // Load the specific experience description
         String descriptionFileName = experienceFile + "_description.json";
-        String descriptionJsonString = JsonFileReader.readJsonFile("categories/" + descriptionFileName);
-        JsonObject descriptionData = JsonParser.parseString(descriptionJsonString).getAsJsonObject();
+        JsonObject descriptionData = JsonFileReader.readJsonObject("categories/" + descriptionFileName);
         JsonObject requestParams = descriptionData.getAsJsonObject("requestParams");
         
         // Add categoryJson and experienceCategory to request
-        requestParams.addProperty("categoryJson", categoryJsonString);
+        requestParams.addProperty("categoryJson", categoryIndex.getJson());
         System.out.println("Added experienceCategory parameter: " + expectedCategory);
         
         // Execute AI prompt
-        Object responseObj = client.executeAIPrompt(Constants.EXECUTE_PROMPT_ENDPOINT, descriptionData.toString());
+        ApiResponse responseObj = client.executeAIPrompt(Constants.EXECUTE_PROMPT_ENDPOINT, descriptionData.toString());
        
         // Validate response is not null
         assertNotNull(responseObj, "Response should not be null for " + experienceFile);
         String responseString = responseObj.toString();
-        JsonObject responseObject = JsonParser.parseString(responseString).getAsJsonObject();
-        
-        // Validate response structure
-        assertTrue(responseObject.has("experienceCategory"), "Response should contain experienceCategory field for " + experienceFile);
-        JsonElement experienceCategoryElement = responseObject.get("experienceCategory");
-        assertNotNull(experienceCategoryElement, "experienceCategory should not be null for " + experienceFile);
+        // Validate response structure; experienceCategory is required by the model
+        ExperienceCategories categories = responseObj.read(ExperienceCategories::read);
+        List<String> experienceCategoryElement = categories.experienceCategory();
         
         // Validate that the expected category is present in the AI response
         boolean foundExpectedCategory = false;
-        if (experienceCategoryElement.isJsonArray()) {
-            for (JsonElement element : experienceCategoryElement.getAsJsonArray()) {
-                if (element.getAsString().equalsIgnoreCase(expectedCategory)) {
-                    foundExpectedCategory = true;
-                    break;
-                }
+        for (String element : experienceCategoryElement) {
+            if (element.equalsIgnoreCase(expectedCategory)) {
+                foundExpectedCategory = true;
+                break;
             }
-        } 
+        }
         
         assertTrue(foundExpectedCategory, 
             "AI should categorize '" + experienceFile + "' as '" + expectedCategory + "' but got: " + experienceCategoryElement);
@@ -164,14 +151,11 @@ public class ExperienceCategoriesTests {
         StringBuilder allValidationErrors = new StringBuilder();
         
         // Validate experienceTypes are valid sub-categories of experienceCategory
-        if (responseObject.has("experienceTypes")) {
-            JsonElement experienceTypesElement = responseObject.get("experienceTypes");
-            if (experienceTypesElement.isJsonArray()) {
-                String validationError = validateExperienceTypes(categoryJsonString, experienceCategoryElement, 
-                                                                experienceTypesElement, experienceFile);
-                if (validationError != null) {
-                    allValidationErrors.append(validationError).append("\n");
-                }
+        if (categories.experienceTypes() != null) {
+            String validationError = validateExperienceTypes(categoryIndex, experienceCategoryElement, 
+                                                            categories.experienceTypes(), experienceFile);
+            if (validationError != null) {
+                allValidationErrors.append(validationError).append("\n");
             }
         }
         
@@ -189,34 +173,20 @@ public class ExperienceCategoriesTests {
      * Validates that experienceTypes are valid sub-categories of the generated experienceCategory
      * Returns validation errors instead of failing immediately
      */
-    private String validateExperienceTypes(String categoryJsonString, JsonElement experienceCategoryElement, 
-                                       JsonElement experienceTypesElement, String testContext) {
+    private String validateExperienceTypes(CategoryIndex categoryIndex, List<String> experienceCategoryElement, 
+                                       List<String> experienceTypesElement, String testContext) {
         try {
-            // Parse the category hierarchy - it's an array with one object containing all categories
-            JsonArray categoryArray = JsonParser.parseString(categoryJsonString).getAsJsonArray();
-            JsonObject categoryHierarchy = categoryArray.get(0).getAsJsonObject();
-            
-            // Get all valid experienceTypes for the generated experienceCategories
-            Set<String> validExperienceTypes = new HashSet<>();
-            for (JsonElement categoryElement : experienceCategoryElement.getAsJsonArray()) {
-                String category = categoryElement.getAsString();
-                if (categoryHierarchy.has(category)) {
-                    JsonObject categoryObject = categoryHierarchy.getAsJsonObject(category);
-                    for (String experienceType : categoryObject.keySet()) {
-                        validExperienceTypes.add(experienceType);
-                    }
-                }
-            }
+            // All valid experienceTypes for the generated experienceCategories
+            Set<String> validExperienceTypes = categoryIndex.typesOf(experienceCategoryElement);
             
             // Collect validation errors instead of failing immediately
             StringBuilder validationErrors = new StringBuilder();
             boolean hasErrors = false;
             
-            for (JsonElement experienceTypeElement : experienceTypesElement.getAsJsonArray()) {
-                String experienceType = experienceTypeElement.getAsString();
+            for (String experienceType : experienceTypesElement) {
                 
                 // Check if this is a main category name (which is invalid)
-                if (categoryHierarchy.has(experienceType)) {
+                if (categoryIndex.isCategory(experienceType)) {
                     hasErrors = true;
                     validationErrors.append(String.format(
                         "  ❌ '%s' is a main category, not a valid experienceType. Expected sub-categories like: %s%n",
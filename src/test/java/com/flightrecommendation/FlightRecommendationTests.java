@@ -6,6 +6,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Tag;
 
 import com.aiservices.ApiClient;
+import com.aiservices.model.FlightRecommendations;
 import com.utils.JsonFileReader;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -23,5 +24,7 @@ public class FlightRecommendationTests {
         var response = client.generateFlightRecommendation("/flight_recommendation/predict", jsonBody);
         System.out.println("API Response: " + response);
         assertNotNull(response, "API response should not be null");
+        FlightRecommendations recommendations = response.read(FlightRecommendations::read);
+        System.out.println("Recommendations: " + recommendations.results().size());
     }
 }
\ No newline at end of file